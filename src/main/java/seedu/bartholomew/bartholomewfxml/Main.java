@@ -1,6 +1,7 @@
 package seedu.bartholomew.bartholomewfxml;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
@@ -9,13 +10,142 @@ import javafx.scene.layout.AnchorPane;
 import javafx.stage.Stage;
 
 import seedu.bartholomew.bartholomewjava.Bartholomew;
+import seedu.bartholomew.exceptions.BartholomewExceptions;
+import seedu.bartholomew.storage.CompressionStats;
+import seedu.bartholomew.storage.Durability;
+import seedu.bartholomew.storage.FileWatcher;
+import seedu.bartholomew.storage.InMemoryStorage;
+import seedu.bartholomew.storage.LazyTaskList;
+import seedu.bartholomew.storage.Storage;
+import seedu.bartholomew.storage.StorageBackend;
+import seedu.bartholomew.storage.StorageFormat;
+import seedu.bartholomew.storage.StorageMode;
+import seedu.bartholomew.tasks.DescriptionPool;
 
 /**
  * A GUI for Bartholomew using FXML.
  */
 public class Main extends Application {
+    private static final String DATA_FILE = "data/bartholomew.txt";
 
-    private Bartholomew bartholomew = new Bartholomew("data/bartholomew.txt");
+    private final StorageBackend storage = createStorage();
+    private Bartholomew bartholomew = createBartholomew(storage);
+    private FileWatcher fileWatcher;
+
+    /**
+     * Creates the Bartholomew instance using the persistence settings given as system properties.
+     * Write-behind saving is enabled with -Dbartholomew.writeBehindMs=MILLIS, the longest a change may stay unsaved.
+     * If the task file is compressed, the compression ratio and codec time of loading it are printed.
+     * How much memory sharing repeated descriptions saved while loading is printed with
+     * -Dbartholomew.poolReport=true.
+     *
+     * @param storage The storage backend to load from and save to, or null if it could not be created
+     */
+    private static Bartholomew createBartholomew(StorageBackend storage) {
+        Bartholomew bartholomew = new Bartholomew(storage);
+        if (storage instanceof Storage) {
+            CompressionStats stats = ((Storage) storage).getCompressionStats();
+            if (stats != null) {
+                System.out.println("Compressed storage " + stats);
+            }
+        }
+        if (Boolean.getBoolean("bartholomew.poolReport")) {
+            System.out.println("Description pool: " + DescriptionPool.shared().getReport());
+        }
+        long writeBehindMillis = Long.getLong("bartholomew.writeBehindMs", 0L);
+        if (writeBehindMillis > 0) {
+            bartholomew.enableWriteBehind(writeBehindMillis);
+        }
+        return bartholomew;
+    }
+
+    /**
+     * Creates the storage backend using the persistence settings given as system properties.
+     * The backend is chosen with -Dbartholomew.storage=text|journal|binary|memory.
+     * The durability is set with -Dbartholomew.durability=none|sync|group|group:MILLIS:RECORDS.
+     * The file format is set with -Dbartholomew.format=text|binary, and GZIP compression with
+     * -Dbartholomew.compress=true|false, converting the existing file if needed.
+     * Tasks are built from the file on demand with -Dbartholomew.lazy=true.
+     * Loaded tasks are kept in compact columns with -Dbartholomew.columnar=true, and their descriptions
+     * outside the heap with -Dbartholomew.offHeap=true, which implies columnar storage.
+     * Otherwise they are kept in a tree that deletes anywhere in O(log n) with -Dbartholomew.tree=true.
+     * Tasks appended to the file by other programs are picked up with -Dbartholomew.watch=true,
+     * which only applies to uncompressed text files in text mode.
+     */
+    private static StorageBackend createStorage() {
+        StorageMode mode = getStorageMode();
+        if (mode == StorageMode.MEMORY) {
+            return new InMemoryStorage();
+        }
+
+        try {
+            Storage storage = new Storage(DATA_FILE, mode);
+            Durability durability = Durability.fromString(System.getProperty("bartholomew.durability", "none"));
+            if (durability != null) {
+                storage.setDurability(durability);
+            }
+            String formatName = System.getProperty("bartholomew.format");
+            StorageFormat format = formatName != null ? StorageFormat.fromString(formatName) : null;
+            if (format == null) {
+                format = storage.getFormat();
+            }
+            String compressName = System.getProperty("bartholomew.compress");
+            boolean shouldCompress = compressName != null ? Boolean.parseBoolean(compressName) : storage.isCompressed();
+            if (format != storage.getFormat() || shouldCompress != storage.isCompressed()) {
+                try {
+                    storage.convertTo(format, shouldCompress);
+                } catch (BartholomewExceptions.FileException e) {
+                    System.err.println("Could not convert tasks: " + e.getMessage());
+                }
+            }
+            if (Boolean.getBoolean("bartholomew.lazy")) {
+                storage.setLazyLoading(LazyTaskList.DEFAULT_CACHE_CAPACITY);
+            }
+            boolean isOffHeap = Boolean.getBoolean("bartholomew.offHeap");
+            storage.setColumnar(isOffHeap || Boolean.getBoolean("bartholomew.columnar"));
+            storage.setOffHeapDescriptions(isOffHeap);
+            storage.setTreeBacked(Boolean.getBoolean("bartholomew.tree"));
+            if (isWatched(mode, storage)) {
+                storage.setWatching(true);
+            }
+            return storage;
+        } catch (BartholomewExceptions.StorageException e) {
+            System.err.println("Could not initialize storage: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Checks if -Dbartholomew.watch=true was given and the task file can be watched.
+     */
+    private static boolean isWatched(StorageMode mode, Storage storage) {
+        return Boolean.getBoolean("bartholomew.watch") && mode == StorageMode.TEXT
+                && storage.getFormat() == StorageFormat.TEXT && !storage.isCompressed();
+    }
+
+    /**
+     * Starts merging tasks appended to the task file by other programs, if watching was asked for.
+     */
+    private void startWatching() {
+        if (!(storage instanceof Storage) || !isWatched(getStorageMode(), (Storage) storage)) {
+            return;
+        }
+        try {
+            fileWatcher = new FileWatcher(Paths.get(DATA_FILE), bartholomew::syncExternalChanges);
+        } catch (IOException e) {
+            System.err.println("Could not watch " + DATA_FILE + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the storage mode from the "bartholomew.storage" system property, e.g. -Dbartholomew.storage=journal.
+     * Falls back to the plain text mode if the property is missing or not recognised.
+     */
+    private static StorageMode getStorageMode() {
+        String name = System.getProperty("bartholomew.storage", "text");
+        StorageMode mode = StorageMode.fromString(name);
+        return mode != null ? mode : StorageMode.TEXT;
+    }
 
     @Override
     public void start(Stage stage) {
@@ -32,10 +162,19 @@ public class Main extends Application {
             
             MainWindow mainWindow = fxmlLoader.getController();
             mainWindow.setBartholomew(bartholomew);
+            startWatching();
             
             stage.show();
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
+
+    @Override
+    public void stop() {
+        if (fileWatcher != null) {
+            fileWatcher.close();
+        }
+        bartholomew.close();
+    }
 }
\ No newline at end of file
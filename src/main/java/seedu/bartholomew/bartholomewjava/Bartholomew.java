@@ -2,12 +2,21 @@ package seedu.bartholomew.bartholomewjava;
 
 import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.function.Supplier;
 
 import seedu.bartholomew.command.CommandType;
 import seedu.bartholomew.exceptions.BartholomewExceptions;
 import seedu.bartholomew.parser.Parser;
+import seedu.bartholomew.storage.InMemoryStorage;
+import seedu.bartholomew.storage.LazyTaskList;
+import seedu.bartholomew.storage.Mutation;
 import seedu.bartholomew.storage.Storage;
+import seedu.bartholomew.storage.StorageBackend;
+import seedu.bartholomew.storage.StorageMode;
+import seedu.bartholomew.storage.WriteBehindSaver;
+import seedu.bartholomew.tasks.QueryCache;
 import seedu.bartholomew.tasks.Task;
+import seedu.bartholomew.tasks.TaskFilter;
 import seedu.bartholomew.tasks.TaskList;
 import seedu.bartholomew.ui.Ui;
 
@@ -16,10 +25,21 @@ import seedu.bartholomew.ui.Ui;
  * This class coordinates the components of the application and handles the main program loop.
  */
 public class Bartholomew {
-    private Storage storage;
+    /** Number of tasks shown on each page of the list command. */
+    private static final int LIST_PAGE_SIZE = 100;
+
+    /** Number of list and find responses kept for when the same command is repeated. */
+    private static final int RESPONSE_CACHE_CAPACITY = 64;
+
+    /** Number of characters kept in all cached responses together, so huge lists are not kept many times. */
+    private static final int RESPONSE_CACHE_CHARS = 1 << 20;
+
+    private StorageBackend storage;
     private TaskList tasks;
     private Ui ui;
     private Parser parser;
+    private WriteBehindSaver writeBehindSaver;
+    private final QueryCache<String> responseCache = new QueryCache<>(RESPONSE_CACHE_CAPACITY, RESPONSE_CACHE_CHARS, String::length);
     private boolean shouldExit = false;
 
     /**
@@ -29,33 +49,180 @@ public class Bartholomew {
      * @param filePath Path to the file used for task persistence
      */
     public Bartholomew(String filePath) {
+        this(filePath, StorageMode.TEXT);
+    }
+
+    /**
+     * Constructs a new Bartholomew application that persists tasks at the specified path using the given mode.
+     *
+     * @param filePath Path to the file used for task persistence
+     * @param storageMode How changes to the task list are persisted
+     */
+    public Bartholomew(String filePath, StorageMode storageMode) {
+        this(filePath, storageMode, false);
+    }
+
+    /**
+     * Constructs a new Bartholomew application that persists tasks at the specified path using the given mode.
+     * If loading lazily, tasks are only built from the file when a command needs them,
+     * which suits very large files best in journal mode, where the file is rarely rewritten.
+     *
+     * @param filePath Path to the file used for task persistence
+     * @param storageMode How changes to the task list are persisted
+     * @param isLazy Whether tasks should be built from the file on demand
+     */
+    public Bartholomew(String filePath, StorageMode storageMode, boolean isLazy) {
+        this(openStorage(filePath, storageMode, isLazy));
+    }
+
+    /**
+     * Constructs a new Bartholomew application that persists tasks with the given storage backend.
+     * Initializes UI, task list, and parser components, and attempts to load task data from the backend.
+     *
+     * @param storage The backend used for task persistence, or null to keep tasks in memory without saving them
+     */
+    public Bartholomew(StorageBackend storage) {
         this.ui = new Ui();
         this.tasks = new TaskList();
         this.parser = new Parser();
-        
-        try {
-            this.storage = new Storage(filePath);
-            
+        this.storage = storage;
+
+        if (storage != null) {
             try {
-                this.tasks = new TaskList(storage.load());
+                this.tasks = TaskList.backedBy(storage.load());
             } catch (BartholomewExceptions.FileReadException e) {
                 // Log error or show notification that existing tasks couldn't be loaded
                 System.err.println("Could not load tasks: " + e.getMessage());
             }
+        }
+    }
+
+    /**
+     * Creates the storage backend for the given mode, which keeps tasks at the specified path
+     * unless the mode is {@link StorageMode#MEMORY}.
+     *
+     * @param filePath Path to the file used for task persistence
+     * @param storageMode How changes to the task list are persisted
+     * @param isLazy Whether tasks should be built from the file on demand
+     * @return The storage backend, or null if the file could not be set up
+     */
+    private static StorageBackend openStorage(String filePath, StorageMode storageMode, boolean isLazy) {
+        if (storageMode == StorageMode.MEMORY) {
+            return new InMemoryStorage();
+        }
+        try {
+            Storage storage = new Storage(filePath, storageMode);
+            if (isLazy) {
+                storage.setLazyLoading(LazyTaskList.DEFAULT_CACHE_CAPACITY);
+            }
+            return storage;
         } catch (BartholomewExceptions.StorageException e) {
             // Log error or show notification that storage couldn't be initialized
             System.err.println("Could not initialize storage: " + e.getMessage());
+            return null;
         }
     }
 
     /**
-     * Saves the current task list to persistent storage.
+     * Switches to write-behind persistence, where changes are saved on a background thread
+     * at most the given number of milliseconds after they are made, instead of after every command.
+     * Unsaved changes are flushed on the bye command and when {@link #close()} is called.
      * If storage is not available, this operation is silently skipped.
+     *
+     * @param maxStalenessMillis The longest time a change may wait before it is saved
+     */
+    public void enableWriteBehind(long maxStalenessMillis) {
+        if (storage != null && writeBehindSaver == null) {
+            writeBehindSaver = new WriteBehindSaver(storage, this::snapshotTasks, maxStalenessMillis);
+        }
+    }
+
+    /**
+     * Returns a copy of the task list for the write-behind saver.
+     * Synchronized with {@link #respond(String)} so the copy never sees a half-applied command.
+     *
+     * @return A copy of the current list of tasks
      */
-    private void saveToStorage() {
+    private synchronized List<Task> snapshotTasks() {
+        return tasks.snapshot();
+    }
+
+    /**
+     * Flushes any unsaved changes and releases the storage.
+     * Safe to call more than once.
+     */
+    public void close() {
+        if (writeBehindSaver != null) {
+            writeBehindSaver.close();
+        }
         if (storage != null) {
             try {
-                storage.save(tasks.getTasks());
+                storage.flush();
+            } catch (BartholomewExceptions.FileWriteException e) {
+                System.err.println("Could not save tasks: " + e.getMessage());
+            }
+            storage.close();
+        }
+    }
+
+    /**
+     * Adds any tasks that other programs appended to the storage since it was last read or written
+     * to the end of the task list. If the storage was rewritten instead, an error is printed and
+     * the storage keeps refusing to overwrite it.
+     * If storage is not available, this operation is silently skipped.
+     * With write-behind enabled, the tasks are merged between saves and the task list is marked as changed,
+     * so a save never replaces the file with a snapshot taken before the merge.
+     *
+     * @return The number of tasks added
+     */
+    public int syncExternalChanges() {
+        if (writeBehindSaver != null) {
+            return writeBehindSaver.callBetweenSaves(this::mergeExternalChanges);
+        }
+        return mergeExternalChanges();
+    }
+
+    private synchronized int mergeExternalChanges() {
+        if (storage == null) {
+            return 0;
+        }
+        try {
+            List<Task> appended = storage.readExternalAppends();
+            for (Task task : appended) {
+                tasks.addTask(task);
+            }
+            if (!appended.isEmpty()) {
+                responseCache.clear();
+                if (writeBehindSaver != null) {
+                    writeBehindSaver.markDirty();
+                }
+            }
+            return appended.size();
+        } catch (BartholomewExceptions.FileConflictException e) {
+            System.err.println("Could not load external changes: " + e.getMessage());
+        } catch (BartholomewExceptions.FileReadException e) {
+            System.err.println("Could not load external changes: " + e.getMessage());
+        }
+        return 0;
+    }
+
+    /**
+     * Persists a change made to the task list, and drops the responses cached before it.
+     * With write-behind enabled, the task list is only marked as changed;
+     * otherwise tasks appended to the storage by other programs are merged first,
+     * so that saving does not overwrite them, and the change is passed to the storage backend.
+     * If storage is not available, this operation is silently skipped.
+     *
+     * @param mutation The change that was made to the task list
+     */
+    private void saveToStorage(Mutation mutation) {
+        responseCache.clear();
+        if (writeBehindSaver != null) {
+            writeBehindSaver.markDirty();
+        } else if (storage != null) {
+            mergeExternalChanges();
+            try {
+                storage.append(mutation, tasks);
             } catch (BartholomewExceptions.FileWriteException e) {
                 // Log error or notify user that tasks couldn't be saved
                 System.err.println("Could not save tasks: " + e.getMessage());
@@ -65,11 +232,21 @@ public class Bartholomew {
 
     /**
      * Generates a response for the user's chat message.
+     * After the bye command, unsaved changes are flushed once the command has been handled,
+     * since the write-behind saver needs to take a snapshot of the task list to save them.
      * 
      * @param input The user's input text
      * @return A formatted response string
      */
     public String getResponse(String input) {
+        String response = respond(input);
+        if (shouldExit) {
+            close();
+        }
+        return response;
+    }
+
+    private synchronized String respond(String input) {
         try {
             CommandType commandType = parser.parseCommandType(input);
             
@@ -81,7 +258,7 @@ public class Bartholomew {
             case BYE:
                 return handleByeCommand();
             case LIST:
-                return handleListCommand();
+                return handleListCommand(input);
             case TODO:
                 // fallthrough
             case DEADLINE:
@@ -121,11 +298,44 @@ public class Bartholomew {
     
     /**
      * Handle the list command.
+     * "list" shows every task, while "list PAGE" only builds and shows one page of tasks.
+     * Repeating a list command before the task list changes shows the same response without rebuilding it.
      * 
+     * @param input The user input
      * @return A formatted list of tasks
+     * @throws BartholomewExceptions If the page number is invalid
      */
-    private String handleListCommand() {
-        return ui.showTaskList(tasks.getTasks());
+    private String handleListCommand(String input) throws BartholomewExceptions {
+        if (input.substring(4).isBlank()) {
+            return respondCached("list", () -> ui.showTaskList(tasks.getTasks()));
+        }
+
+        int totalPages = Math.max(1, (tasks.size() + LIST_PAGE_SIZE - 1) / LIST_PAGE_SIZE);
+        int page = parser.parsePageNumber(input, totalPages);
+        if (tasks.isEmpty()) {
+            return ui.showTaskList(tasks.getTasks());
+        }
+        int first = (page - 1) * LIST_PAGE_SIZE + 1;
+        int last = Math.min(tasks.size(), page * LIST_PAGE_SIZE);
+        List<Task> pageTasks = tasks.getTasks(first, last);
+        return respondCached("list " + page, () -> ui.showTaskPage(pageTasks, first, page, totalPages));
+    }
+
+    /**
+     * Gets the response to a query from the response cache, or builds the response and caches it
+     * if it is not there for the current version of the task list.
+     *
+     * @param query The normalized command, which tells apart every command that can have a different response
+     * @param respond Builds the response
+     * @return The response
+     */
+    private String respondCached(String query, Supplier<String> respond) {
+        String response = responseCache.get(query, tasks.getVersion());
+        if (response == null) {
+            response = respond.get();
+            responseCache.put(query, tasks.getVersion(), response);
+        }
+        return response;
     }
     
     /**
@@ -139,70 +349,156 @@ public class Bartholomew {
     private String handleAddTaskCommand(String input) throws BartholomewExceptions, DateTimeParseException {
         Task task = parser.parseTask(input);
         tasks.addTask(task);
-        saveToStorage();
+        saveToStorage(Mutation.add(task));
         return ui.showTaskAdded(task, tasks.size());
     }
     
     /**
-     * Handle the mark command.
+     * Parses the task a mark, unmark or delete command refers to, either by its position in the list
+     * or by its id, as in "mark #1234", which is found through the task list's id index.
+     *
+     * @param input The user input
+     * @param command The command type
+     * @return The one-based index of the task
+     * @throws BartholomewExceptions If the task number or id is invalid or no task has the id
+     */
+    private int parseTaskReference(String input, CommandType command) throws BartholomewExceptions {
+        if (parser.isTaskIdReference(input, command)) {
+            return tasks.getTaskNumber(parser.parseTaskId(input, command));
+        }
+        return parser.parseTaskNumber(input, command, tasks.size());
+    }
+
+    /**
+     * Handle the mark command, as in "mark 3" or "mark #1234", or one of the bulk forms
+     * handled by {@link #handleBulkMarkCommand(String, CommandType, boolean)}.
      * 
      * @param input The user input
      * @return A message confirming the task was marked
      * @throws BartholomewExceptions If there is an error with the task number
      */
     private String handleMarkCommand(String input) throws BartholomewExceptions {
-        int taskNo = parser.parseTaskNumber(input, CommandType.MARK, tasks.size());
+        if (parser.isTaskSelection(input, CommandType.MARK)) {
+            return handleBulkMarkCommand(input, CommandType.MARK, true);
+        }
+        int taskNo = parseTaskReference(input, CommandType.MARK);
         Task markedTask = tasks.markTaskAsDone(taskNo);
-        saveToStorage();
+        saveToStorage(Mutation.mark(taskNo));
         return ui.showTaskMarked(markedTask);
     }
     
     /**
-     * Handle the unmark command.
+     * Handle the unmark command, as in "unmark 3" or "unmark #1234", or one of the bulk forms
+     * handled by {@link #handleBulkMarkCommand(String, CommandType, boolean)}.
      * 
      * @param input The user input
      * @return A message confirming the task was unmarked
      * @throws BartholomewExceptions If there is an error with the task number
      */
     private String handleUnmarkCommand(String input) throws BartholomewExceptions {
-        int taskNo = parser.parseTaskNumber(input, CommandType.UNMARK, tasks.size());
+        if (parser.isTaskSelection(input, CommandType.UNMARK)) {
+            return handleBulkMarkCommand(input, CommandType.UNMARK, false);
+        }
+        int taskNo = parseTaskReference(input, CommandType.UNMARK);
         Task unmarkedTask = tasks.markTaskAsNotDone(taskNo);
-        saveToStorage();
+        saveToStorage(Mutation.unmark(taskNo));
         return ui.showTaskUnmarked(unmarkedTask);
     }
     
     /**
-     * Handle the delete command.
+     * Handle a mark or unmark command that refers to several tasks, as in "mark 1-500", "mark 3,7,9",
+     * "mark find:report" or "unmark all". The tasks are changed in one batch, which is saved once
+     * and reported as a count.
+     *
+     * @param input The user input
+     * @param command The command type (MARK or UNMARK)
+     * @param isDone Whether to mark the tasks as done
+     * @return A message counting the tasks that changed
+     * @throws BartholomewExceptions If there is an error with the task numbers or search term
+     */
+    private String handleBulkMarkCommand(String input, CommandType command, boolean isDone)
+            throws BartholomewExceptions {
+        TaskFilter filter = parser.parseSelectionFilter(input, command);
+        int changedCount;
+        Mutation mutation;
+        if (filter != null) {
+            changedCount = tasks.markMatchingTasks(filter, isDone);
+            mutation = Mutation.setDoneMatching(filter, isDone);
+        } else if (parser.isTaskRange(input, command)) {
+            int[] range = parser.parseTaskRange(input, command, tasks.size());
+            changedCount = tasks.markTaskRange(range[0], range[1], isDone);
+            mutation = Mutation.setDoneInRange(range[0], range[1], isDone);
+        } else {
+            List<Integer> taskNumbers = parser.parseMultipleTaskNumbers(input, command, tasks.size());
+            changedCount = tasks.markTasks(taskNumbers, isDone);
+            mutation = Mutation.setDone(taskNumbers, isDone);
+        }
+        if (changedCount > 0) {
+            saveToStorage(mutation);
+        }
+        return ui.showTasksMarkedCount(changedCount, isDone);
+    }
+
+    /**
+     * Handle the delete command, as in "delete 3", "delete 3, 5" or "delete #1234".
+     * "delete 100-5000", "delete done" and "delete before 1/1/2024" delete many tasks at once
+     * in a single pass over the list, which is saved once and reported as a count.
      * 
      * @param input The user input
      * @return A message confirming the task was deleted
      * @throws BartholomewExceptions If there is an error with the task number
      */
     private String handleDeleteCommand(String input) throws BartholomewExceptions {
+        TaskFilter filter = parser.parseDeleteFilter(input);
+        if (filter != null) {
+            int removedCount = tasks.deleteMatchingTasks(filter);
+            if (removedCount > 0) {
+                saveToStorage(Mutation.deleteMatching(filter));
+            }
+            return ui.showTasksDeletedCount(removedCount, tasks.size());
+        }
+        if (parser.isTaskRange(input, CommandType.DELETE)) {
+            int[] range = parser.parseTaskRange(input, CommandType.DELETE, tasks.size());
+            int removedCount = tasks.deleteTaskRange(range[0], range[1]);
+            saveToStorage(Mutation.deleteRange(range[0], range[1]));
+            return ui.showTasksDeletedCount(removedCount, tasks.size());
+        }
         if (input.substring(6).trim().contains(",")) {
             List<Integer> taskNumbers = parser.parseMultipleTaskNumbers(input, CommandType.DELETE, tasks.size());
             List<Task> deletedTasks = tasks.deleteMultipleTasks(taskNumbers);
-            saveToStorage();
+            saveToStorage(Mutation.delete(taskNumbers));
             return ui.showMultipleTasksDeleted(deletedTasks, tasks.size());
         } else {
-            int taskNo = parser.parseTaskNumber(input, CommandType.DELETE, tasks.size());
+            int taskNo = parseTaskReference(input, CommandType.DELETE);
             Task deletedTask = tasks.deleteTask(taskNo);
-            saveToStorage();
+            saveToStorage(Mutation.delete(taskNo));
             return ui.showTaskDeleted(deletedTask, tasks.size());
         }
     }
     
     /**
      * Handle the find command.
+     * "find w/WORDS" searches for whole words and word prefixes through the task list's word index,
+     * and "find~[TYPOS] WORDS" for words with up to TYPOS typos.
+     * Repeating a find command before the task list changes shows the same response without searching again.
      * 
      * @param input The user input
      * @return A message showing the search results
      * @throws BartholomewExceptions If there is an error parsing the search term
      */
     private String handleFindCommand(String input) throws BartholomewExceptions {
+        if (parser.isFuzzySearch(input)) {
+            int maxEdits = parser.parseFuzzyEdits(input);
+            String words = parser.parseFuzzySearchTerm(input);
+            return respondCached("find~" + maxEdits + " " + words,
+                () -> ui.showSearchResults(tasks.findTasksFuzzy(words, maxEdits), words));
+        }
+        if (parser.isWordSearch(input)) {
+            String words = parser.parseWordSearchTerm(input);
+            return respondCached("find w/" + words, () -> ui.showSearchResults(tasks.findTasksByWords(words), words));
+        }
         String searchTerm = parser.parseSearchTerm(input);
-        List<Task> matchingTasks = tasks.findTasks(searchTerm);
-        return ui.showSearchResults(matchingTasks, searchTerm);
+        return respondCached("find " + searchTerm, () -> ui.showSearchResults(tasks.findTasks(searchTerm), searchTerm));
     }
     
     /**
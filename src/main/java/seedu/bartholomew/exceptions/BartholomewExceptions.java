@@ -48,6 +48,29 @@ public class BartholomewExceptions extends Exception {
         }
     }
     
+    /**
+     * Exception thrown when no task in the list has the given id.
+     */
+    public static class UnknownTaskIdException extends BartholomewExceptions {
+        public UnknownTaskIdException(long taskId) {
+            super("Task #" + taskId + " does not exist in the list.\n");
+        }
+    }
+    
+    /**
+     * Exception thrown when a page number of the list command is invalid.
+     */
+    public static class InvalidPageNumberException extends BartholomewExceptions {
+        public InvalidPageNumberException(int page, int totalPages) {
+            super("Page " + page + " does not exist. There "
+                    + (totalPages == 1 ? "is 1 page" : "are " + totalPages + " pages") + ".\n");
+        }
+
+        public InvalidPageNumberException(String invalidInput) {
+            super("\"" + invalidInput + "\" is not a valid page number.\n");
+        }
+    }
+    
     /**
      * Exception thrown when an unknown command is entered.
      */
@@ -118,6 +141,20 @@ public class BartholomewExceptions extends Exception {
         }
     }
 
+    /**
+     * Exception thrown when a file was changed by another program since it was last read,
+     * so writing it would overwrite those changes.
+     */
+    public static class FileConflictException extends FileWriteException {
+        public FileConflictException(String filePath, String message) {
+            super(filePath, "It was changed by another program.\n" + message);
+        }
+
+        public FileConflictException(String filePath) {
+            super(filePath, "It was changed by another program since it was last read.");
+        }
+    }
+
     /**
      * Exception thrown when there's an issue parsing a task from storage.
      */
@@ -132,6 +169,16 @@ public class BartholomewExceptions extends Exception {
         }
     }
 
+    /**
+     * Exception thrown when the number of typos of a fuzzy find command is invalid.
+     */
+    public static class InvalidEditCountException extends BartholomewExceptions {
+        public InvalidEditCountException(String invalidInput, int maxEdits) {
+            super("\"" + invalidInput + "\" is not a valid number of typos.\n"
+                    + "Please use a number from 0 to " + maxEdits + ", as in: find~2 <search words>\n");
+        }
+    }
+
     /**
      * Exception thrown when a search term is empty.
      */
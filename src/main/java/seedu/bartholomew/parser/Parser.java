@@ -6,13 +6,20 @@ import java.util.List;
 
 import seedu.bartholomew.command.CommandType;
 import seedu.bartholomew.tasks.Deadline;
+import seedu.bartholomew.tasks.DescriptionPool;
+import seedu.bartholomew.tasks.EpochMinutes;
 import seedu.bartholomew.tasks.Event;
 import seedu.bartholomew.tasks.Task;
+import seedu.bartholomew.tasks.TaskFilter;
 import seedu.bartholomew.tasks.ToDo;
 
 import seedu.bartholomew.exceptions.BartholomewExceptions;
 
 public class Parser {
+    /** Starts a find command that tolerates typos, as in "find~ meetng". */
+    private static final String FUZZY_FIND = "find~";
+    private static final int DEFAULT_FUZZY_EDITS = 1;
+    private static final int MAX_FUZZY_EDITS = 3;
 
     public CommandType parseCommandType(String input) {
         return CommandType.fromString(input);
@@ -20,19 +27,7 @@ public class Parser {
 
     public int parseTaskNumber(String input, CommandType command, int totalTasks) 
             throws BartholomewExceptions.InvalidTaskNumberException {
-        int prefixLen = 0;
-        switch (command) {
-        case MARK:
-            prefixLen = 4;
-            break;
-        case UNMARK:
-        case DELETE:
-            prefixLen = 6;
-            break;
-        default:
-            throw new IllegalArgumentException(
-                    command.name() + " cannot be used with parseTaskNumber");
-        }
+        int prefixLen = getTaskArgumentStart(command);
 
         try {
             String numberPart = input.substring(prefixLen).trim();
@@ -55,25 +50,64 @@ public class Parser {
     }
 
     /**
-     * Parses multiple task numbers from the user input for deletion.
+     * Checks if a mark, unmark or delete command refers to its task by id, as in "mark #1234".
+     *
+     * @param input The user input string
+     * @param command The command type
+     * @return true if the argument of the command starts with "#", false otherwise
+     */
+    public boolean isTaskIdReference(String input, CommandType command) {
+        return input.substring(getTaskArgumentStart(command)).trim().startsWith("#");
+    }
+
+    /**
+     * Parses the task id from a command that refers to its task by id, as in "delete #1234".
+     *
+     * @param input The user input string
+     * @param command The command type (MARK, UNMARK or DELETE)
+     * @return The task id
+     * @throws BartholomewExceptions.InvalidTaskNumberException If the id is not a positive number
+     */
+    public long parseTaskId(String input, CommandType command)
+            throws BartholomewExceptions.InvalidTaskNumberException {
+        String idPart = input.substring(getTaskArgumentStart(command)).trim();
+        try {
+            long id = Long.parseLong(idPart.substring(1));
+            if (id <= 0) {
+                throw new BartholomewExceptions.InvalidTaskNumberException(idPart);
+            }
+            return id;
+        } catch (NumberFormatException e) {
+            throw new BartholomewExceptions.InvalidTaskNumberException(idPart);
+        }
+    }
+
+    private static int getTaskArgumentStart(CommandType command) {
+        switch (command) {
+        case MARK:
+            return 4;
+        case UNMARK:
+        case DELETE:
+            return 6;
+        default:
+            throw new IllegalArgumentException(
+                    command.name() + " cannot be used with parseTaskNumber");
+        }
+    }
+
+    /**
+     * Parses multiple task numbers from the user input for deletion, marking or unmarking.
      * Supports formats: "delete 1" or "delete 1, 2, 3"
      *
      * @param input The user input string
-     * @param command The command type (DELETE)
+     * @param command The command type (MARK, UNMARK or DELETE)
      * @param totalTasks The maximum valid task number
      * @return List of parsed task numbers
      * @throws BartholomewExceptions.InvalidTaskNumberException If format is wrong or numbers are invalid
      */
     public List<Integer> parseMultipleTaskNumbers(String input, CommandType command, int totalTasks)
             throws BartholomewExceptions.InvalidTaskNumberException {
-        
-        int prefixLen = 0;
-        if (command == CommandType.DELETE) {
-            prefixLen = 6;
-        } else {
-            throw new IllegalArgumentException(
-                    command.name() + " cannot be used with parseMultipleTaskNumbers");
-        }
+        int prefixLen = getTaskArgumentStart(command);
 
         String numbersPart = input.substring(prefixLen).trim();
         
@@ -116,6 +150,110 @@ public class Parser {
         return taskNumbers;
     }
 
+    /**
+     * Checks if a mark, unmark or delete command refers to a range of tasks, as in "delete 100-5000".
+     *
+     * @param input The user input string
+     * @param command The command type
+     * @return true if the argument of the command is two numbers separated by "-", false otherwise
+     */
+    public boolean isTaskRange(String input, CommandType command) {
+        return input.substring(getTaskArgumentStart(command)).trim().matches("\\d+\\s*-\\s*\\d+");
+    }
+
+    /**
+     * Parses a range of task numbers, as in "delete 100-5000".
+     *
+     * @param input The user input string
+     * @param command The command type (MARK, UNMARK or DELETE)
+     * @param totalTasks The maximum valid task number
+     * @return The one-based indices of the first and last task in the range
+     * @throws BartholomewExceptions.InvalidTaskNumberException If either number is invalid or the range is backwards
+     */
+    public int[] parseTaskRange(String input, CommandType command, int totalTasks)
+            throws BartholomewExceptions.InvalidTaskNumberException {
+        String rangePart = input.substring(getTaskArgumentStart(command)).trim();
+        String[] bounds = rangePart.split("-");
+        try {
+            int from = Integer.parseInt(bounds[0].trim());
+            int to = Integer.parseInt(bounds[1].trim());
+            if (from <= 0 || from > totalTasks) {
+                throw new BartholomewExceptions.InvalidTaskNumberException(from);
+            }
+            if (to > totalTasks) {
+                throw new BartholomewExceptions.InvalidTaskNumberException(to);
+            }
+            if (to < from) {
+                throw new BartholomewExceptions.InvalidTaskNumberException(rangePart);
+            }
+            return new int[] {from, to};
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new BartholomewExceptions.InvalidTaskNumberException(rangePart);
+        }
+    }
+
+    /**
+     * Checks if a mark or unmark command refers to several tasks at once,
+     * as in "mark 1-500", "mark 3,7,9", "mark find:report" or "unmark all".
+     *
+     * @param input The user input string
+     * @param command The command type (MARK or UNMARK)
+     * @return true if the command refers to several tasks, false if it refers to one task
+     */
+    public boolean isTaskSelection(String input, CommandType command) {
+        String argument = input.substring(getTaskArgumentStart(command)).trim();
+        return argument.equals("all") || argument.startsWith("find:") || argument.contains(",")
+                || isTaskRange(input, command);
+    }
+
+    /**
+     * Parses the filter of a mark or unmark command that selects tasks by their state rather than their position,
+     * as in "mark find:report", which selects the tasks "find report" shows, or "unmark all".
+     *
+     * @param input The user input string
+     * @param command The command type (MARK or UNMARK)
+     * @return The filter, or null if the command selects tasks by their position
+     * @throws BartholomewExceptions.EmptySearchTermException If nothing follows "find:"
+     */
+    public TaskFilter parseSelectionFilter(String input, CommandType command)
+            throws BartholomewExceptions.EmptySearchTermException {
+        String argument = input.substring(getTaskArgumentStart(command)).trim();
+        if (argument.equals("all")) {
+            return TaskFilter.all();
+        }
+        if (argument.startsWith("find:")) {
+            String searchTerm = argument.substring(5).strip();
+            if (searchTerm.isEmpty()) {
+                throw new BartholomewExceptions.EmptySearchTermException();
+            }
+            return TaskFilter.containing(searchTerm);
+        }
+        return null;
+    }
+
+    /**
+     * Parses the filter of a delete command that selects tasks by their state,
+     * as in "delete done" or "delete before 1/1/2024". A date without a time means the start of that day.
+     *
+     * @param input The user input string
+     * @return The filter, or null if the command does not select tasks by their state
+     * @throws DateTimeParseException If the date after "before" is not in the input format
+     */
+    public TaskFilter parseDeleteFilter(String input) throws DateTimeParseException {
+        String filterPart = input.substring(6).trim();
+        if (filterPart.equals("done")) {
+            return TaskFilter.done();
+        }
+        if (filterPart.startsWith("before ")) {
+            String date = filterPart.substring(7).trim();
+            if (!date.contains(" ")) {
+                date = date + " 0000";
+            }
+            return TaskFilter.before(EpochMinutes.parse(date));
+        }
+        return null;
+    }
+
     public Task parseTask(String input) 
             throws BartholomewExceptions, DateTimeParseException {
         if (input.startsWith("todo")) {
@@ -134,7 +272,7 @@ public class Parser {
         if (desc.isEmpty()) {
             throw new BartholomewExceptions.EmptyDescriptionException("todo");
         }
-        return new ToDo(desc);
+        return new ToDo(DescriptionPool.shared().intern(desc));
     }
 
     private Task parseDeadline(String input) 
@@ -161,7 +299,7 @@ public class Parser {
             throw new BartholomewExceptions.MissingDeadlineException();
         }
         
-        return new Deadline(desc, dueDate);
+        return new Deadline(DescriptionPool.shared().intern(desc), dueDate);
     }
 
     private Task parseEvent(String input) 
@@ -191,7 +329,115 @@ public class Parser {
             throw new BartholomewExceptions.MissingEventTimeException();
         }
         
-        return new Event(desc, startTime, endTime);
+        return new Event(DescriptionPool.shared().intern(desc), startTime, endTime);
+    }
+
+    /**
+     * Parses the page number from a "list PAGE" command.
+     *
+     * @param input The user input string
+     * @param totalPages The number of pages available
+     * @return The one-based page number
+     * @throws BartholomewExceptions.InvalidPageNumberException If the page number is not a number or out of range
+     */
+    public int parsePageNumber(String input, int totalPages)
+            throws BartholomewExceptions.InvalidPageNumberException {
+        String pagePart = input.substring(4).trim();
+        try {
+            int page = Integer.parseInt(pagePart);
+            if (page <= 0 || page > totalPages) {
+                throw new BartholomewExceptions.InvalidPageNumberException(page, totalPages);
+            }
+            return page;
+        } catch (NumberFormatException e) {
+            throw new BartholomewExceptions.InvalidPageNumberException(pagePart);
+        }
+    }
+
+    /**
+     * Checks if a find command searches for whole words, as in "find w/team meet*".
+     *
+     * @param input The user input string
+     * @return true if the search term starts with "w/", false otherwise
+     */
+    public boolean isWordSearch(String input) {
+        return input.substring(4).strip().startsWith("w/");
+    }
+
+    /**
+     * Parses the words of a find command that searches for whole words, as in "find w/team meet*".
+     *
+     * @param input The user input string
+     * @return The words to search for
+     * @throws BartholomewExceptions.EmptySearchTermException If no words follow "w/"
+     */
+    public String parseWordSearchTerm(String input) throws BartholomewExceptions.EmptySearchTermException {
+        String words = input.substring(4).strip().substring(2).strip();
+        if (words.isEmpty()) {
+            throw new BartholomewExceptions.EmptySearchTermException();
+        }
+        return words;
+    }
+
+    /**
+     * Checks if a find command tolerates typos, as in "find~ meetng" or "find~2 meetng".
+     *
+     * @param input The user input string
+     * @return true if the command starts with "find~", false otherwise
+     */
+    public boolean isFuzzySearch(String input) {
+        return input.startsWith(FUZZY_FIND);
+    }
+
+    /**
+     * Parses the number of typos allowed in each word of a fuzzy find command, as in "find~2 meetng".
+     * Without a number, as in "find~ meetng", one typo is allowed.
+     *
+     * @param input The user input string
+     * @return The number of typos allowed in each word
+     * @throws BartholomewExceptions.InvalidEditCountException If the number is larger than 3
+     */
+    public int parseFuzzyEdits(String input) throws BartholomewExceptions.InvalidEditCountException {
+        String editPart = getFuzzyEditPart(input);
+        if (editPart == null) {
+            return DEFAULT_FUZZY_EDITS;
+        }
+        try {
+            int edits = Integer.parseInt(editPart);
+            if (edits > MAX_FUZZY_EDITS) {
+                throw new BartholomewExceptions.InvalidEditCountException(editPart, MAX_FUZZY_EDITS);
+            }
+            return edits;
+        } catch (NumberFormatException e) {
+            throw new BartholomewExceptions.InvalidEditCountException(editPart, MAX_FUZZY_EDITS);
+        }
+    }
+
+    /**
+     * Parses the words of a fuzzy find command, as in "find~2 team meetng".
+     *
+     * @param input The user input string
+     * @return The words to search for
+     * @throws BartholomewExceptions.EmptySearchTermException If no words follow the number of typos
+     */
+    public String parseFuzzySearchTerm(String input) throws BartholomewExceptions.EmptySearchTermException {
+        String arguments = input.substring(FUZZY_FIND.length());
+        String editPart = getFuzzyEditPart(input);
+        String words = (editPart == null ? arguments : arguments.substring(editPart.length())).strip();
+        if (words.isEmpty()) {
+            throw new BartholomewExceptions.EmptySearchTermException();
+        }
+        return words;
+    }
+
+    /**
+     * Gets the number of typos written right after "find~", if there is one.
+     *
+     * @return The digits of the number, or null if the command has none
+     */
+    private static String getFuzzyEditPart(String input) {
+        String firstPart = input.substring(FUZZY_FIND.length()).split("\\s", 2)[0];
+        return firstPart.matches("\\d+") ? firstPart : null;
     }
 
     public String parseSearchTerm(String input) 
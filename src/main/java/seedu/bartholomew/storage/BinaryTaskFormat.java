@@ -0,0 +1,270 @@
+package seedu.bartholomew.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import seedu.bartholomew.tasks.Deadline;
+import seedu.bartholomew.tasks.DescriptionPool;
+import seedu.bartholomew.tasks.Event;
+import seedu.bartholomew.tasks.Task;
+import seedu.bartholomew.tasks.ToDo;
+
+import seedu.bartholomew.exceptions.BartholomewExceptions;
+
+/**
+ * Reads and writes task files in a compact binary format.
+ * <p>
+ * The file starts with a header: the magic bytes "BRTH", a version byte, the snapshot generation
+ * as an int and the number of tasks as an int. Each task is then written as a type byte,
+ * a done flag byte, the task id as a long (0 if it has none), one epoch-minute long for a Deadline
+ * or two for an Event, and the description as an int length followed by that many bytes of UTF-8.
+ * Version 1 files, written before tasks had ids, have no id long and are still read.
+ */
+public class BinaryTaskFormat {
+    /** Bytes at the start of every binary task file, used to tell it apart from the text format. */
+    private static final byte[] MAGIC = {'B', 'R', 'T', 'H'};
+
+    /** Largest number of tasks to make room for up front, however many the header claims. */
+    private static final int MAX_INITIAL_CAPACITY = 1 << 16;
+
+    /** Version of the format written by this class. */
+    private static final byte VERSION = 2;
+
+    /** Oldest version of the format that can still be read. */
+    private static final byte VERSION_WITHOUT_IDS = 1;
+
+    /** Number of bytes in the header before the task count: magic, version and generation. */
+    static final int HEADER_BYTES = MAGIC.length + 1 + Integer.BYTES;
+
+    private static final byte TYPE_TODO = 0;
+    private static final byte TYPE_DEADLINE = 1;
+    private static final byte TYPE_EVENT = 2;
+
+    /**
+     * Checks if the given file starts with the binary format's magic bytes.
+     *
+     * @param file The file to check
+     * @return true if the file is in the binary format, false otherwise
+     */
+    public static boolean isBinary(File file) {
+        if (file.length() < MAGIC.length) {
+            return false;
+        }
+        try (FileInputStream input = new FileInputStream(file)) {
+            return Arrays.equals(MAGIC, input.readNBytes(MAGIC.length));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Reads the snapshot generation from the header of a binary task file.
+     *
+     * @param file The file to read
+     * @return The generation in the header
+     * @throws BartholomewExceptions.FileReadException If the header cannot be read
+     */
+    public static int readGeneration(File file) throws BartholomewExceptions.FileReadException {
+        try (DataInputStream input = new DataInputStream(new FileInputStream(file))) {
+            return readGeneration(input);
+        } catch (IOException e) {
+            throw new BartholomewExceptions.FileReadException(file.getPath(), e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the snapshot generation from a binary header at the start of the given stream.
+     * Reads only the header, so a stream that supports marks can be reset and read again.
+     *
+     * @param input The stream to read
+     * @return The generation in the header
+     * @throws IOException If the header cannot be read
+     */
+    static int readGeneration(InputStream input) throws IOException {
+        DataInputStream data = new DataInputStream(input);
+        readHeaderVersion(data);
+        return data.readInt();
+    }
+
+    /**
+     * Checks if the given stream starts with the binary format's magic bytes, without consuming them.
+     *
+     * @param input The stream to check, which must support marks
+     * @return true if the stream is in the binary format, false otherwise
+     * @throws IOException If the stream cannot be read
+     */
+    static boolean isBinary(InputStream input) throws IOException {
+        assert input.markSupported() : "Stream must support marks";
+        input.mark(MAGIC.length);
+        byte[] start = input.readNBytes(MAGIC.length);
+        input.reset();
+        return Arrays.equals(MAGIC, start);
+    }
+
+    /**
+     * Reads every task in a binary task file.
+     *
+     * @param file The file to read
+     * @return The tasks in the file, in file order
+     * @throws BartholomewExceptions.FileReadException If the file cannot be read or is corrupted
+     */
+    public static List<Task> read(File file) throws BartholomewExceptions.FileReadException {
+        try (InputStream input = new FileInputStream(file)) {
+            return read(input, file.getPath());
+        } catch (IOException e) {
+            throw new BartholomewExceptions.FileReadException(file.getPath(), e.getMessage());
+        }
+    }
+
+    /**
+     * Reads every task in the binary format from the given stream, which is left open.
+     *
+     * @param input The stream to read, positioned at the start of the binary header
+     * @param path The path of the file being read, for error messages
+     * @return The tasks in the stream, in stream order
+     * @throws BartholomewExceptions.FileReadException If the stream cannot be read or is corrupted
+     */
+    public static List<Task> read(InputStream input, String path) throws BartholomewExceptions.FileReadException {
+        try {
+            DataInputStream data = new DataInputStream(new BufferedInputStream(input));
+            boolean hasIds = readHeaderVersion(data) >= VERSION;
+            data.readInt();
+            int count = data.readInt();
+            if (count < 0) {
+                throw new IOException("Invalid task count " + count + ".");
+            }
+
+            // The header is not trusted to size the list; a corrupted count fails at the end of the stream instead
+            List<Task> tasks = new ArrayList<>(Math.min(count, MAX_INITIAL_CAPACITY));
+            for (int i = 0; i < count; i++) {
+                tasks.add(readTask(data, i + 1, hasIds));
+            }
+            return tasks;
+        } catch (EOFException e) {
+            throw new BartholomewExceptions.FileReadException(path, "File ends in the middle of a task.");
+        } catch (IOException e) {
+            throw new BartholomewExceptions.FileReadException(path, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the tasks in the binary format to the given stream.
+     * Tasks of unsupported types are skipped. The tasks are only gone through once, so lists that build tasks
+     * on demand build each task once; the records are kept in memory until the task count in the header is known.
+     * The stream is flushed but not closed.
+     *
+     * @param output The stream to write to
+     * @param tasks The tasks to write
+     * @param generation The snapshot generation to record in the header
+     * @throws IOException If the tasks cannot be written
+     */
+    public static void write(OutputStream output, List<Task> tasks, int generation) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(output));
+        data.write(MAGIC);
+        data.writeByte(VERSION);
+        data.writeInt(generation);
+
+        ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+        DataOutputStream records = new DataOutputStream(recordBytes);
+        int count = 0;
+        for (Task task : tasks) {
+            if (task instanceof ToDo) {
+                writeTaskStart(records, TYPE_TODO, task);
+            } else if (task instanceof Deadline) {
+                writeTaskStart(records, TYPE_DEADLINE, task);
+                records.writeLong(((Deadline) task).getDueEpochMinute());
+            } else if (task instanceof Event) {
+                Event event = (Event) task;
+                writeTaskStart(records, TYPE_EVENT, task);
+                records.writeLong(event.getFromEpochMinute());
+                records.writeLong(event.getToEpochMinute());
+            } else {
+                continue;
+            }
+            byte[] desc = task.getDescription().getBytes(StandardCharsets.UTF_8);
+            records.writeInt(desc.length);
+            records.write(desc);
+            count++;
+        }
+        data.writeInt(count);
+        recordBytes.writeTo(data);
+        data.flush();
+    }
+
+    private static void writeTaskStart(DataOutputStream data, byte type, Task task) throws IOException {
+        data.writeByte(type);
+        data.writeByte(task.isDone() ? 1 : 0);
+        data.writeLong(task.getId());
+    }
+
+    private static byte readHeaderVersion(DataInputStream input) throws IOException {
+        byte[] magic = input.readNBytes(MAGIC.length);
+        if (!Arrays.equals(MAGIC, magic)) {
+            throw new IOException("Not a binary task file.");
+        }
+        byte version = input.readByte();
+        if (version != VERSION && version != VERSION_WITHOUT_IDS) {
+            throw new IOException("Unsupported binary format version " + version + ".");
+        }
+        return version;
+    }
+
+    private static Task readTask(DataInputStream input, int recordNumber, boolean hasIds) throws IOException {
+        byte type = input.readByte();
+        boolean isDone = input.readByte() != 0;
+        long id = hasIds ? input.readLong() : 0;
+
+        Task task;
+        switch (type) {
+        case TYPE_TODO:
+            task = new ToDo(readDescription(input, recordNumber));
+            break;
+        case TYPE_DEADLINE:
+            long dueDate = input.readLong();
+            task = new Deadline(readDescription(input, recordNumber), dueDate);
+            break;
+        case TYPE_EVENT:
+            long from = input.readLong();
+            long to = input.readLong();
+            task = new Event(readDescription(input, recordNumber), from, to);
+            break;
+        default:
+            throw new IOException("Unknown task type " + type + " in task " + recordNumber + ".");
+        }
+
+        if (isDone) {
+            task.markTask();
+        }
+        if (id > 0) {
+            task.setId(id);
+        } else if (id < 0) {
+            throw new IOException("Invalid id in task " + recordNumber + ".");
+        }
+        return task;
+    }
+
+    private static String readDescription(DataInputStream input, int recordNumber) throws IOException {
+        int length = input.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid description length in task " + recordNumber + ".");
+        }
+        byte[] desc = input.readNBytes(length);
+        if (desc.length < length) {
+            throw new EOFException();
+        }
+        return DescriptionPool.shared().intern(new String(desc, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,59 @@
+package seedu.bartholomew.storage;
+
+/**
+ * Records how well a compressed save or load went: how many bytes went through the codec,
+ * how many bytes it produced or consumed on disk, and how long the codec itself took.
+ * Time spent reading or writing the file is not counted as codec time.
+ */
+public class CompressionStats {
+    private final String operation;
+    private final long uncompressedBytes;
+    private final long compressedBytes;
+    private final long codecNanos;
+
+    /**
+     * Creates the statistics of one compressed save or load.
+     *
+     * @param operation What was done, such as "save" or "load"
+     * @param uncompressedBytes The number of bytes before compression or after decompression
+     * @param compressedBytes The number of bytes in the file
+     * @param codecNanos The time spent compressing or decompressing, in nanoseconds
+     */
+    public CompressionStats(String operation, long uncompressedBytes, long compressedBytes, long codecNanos) {
+        this.operation = operation;
+        this.uncompressedBytes = uncompressedBytes;
+        this.compressedBytes = compressedBytes;
+        this.codecNanos = codecNanos;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public long getUncompressedBytes() {
+        return uncompressedBytes;
+    }
+
+    public long getCompressedBytes() {
+        return compressedBytes;
+    }
+
+    public long getCodecNanos() {
+        return codecNanos;
+    }
+
+    /**
+     * Gets how many times smaller the file is than the data it holds.
+     *
+     * @return The compression ratio, or 0 if nothing was written
+     */
+    public double getRatio() {
+        return compressedBytes == 0 ? 0 : (double) uncompressedBytes / compressedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %,d bytes <-> %,d bytes compressed (%.1fx), %.1f ms in codec",
+                operation, uncompressedBytes, compressedBytes, getRatio(), codecNanos / 1e6);
+    }
+}
@@ -0,0 +1,126 @@
+package seedu.bartholomew.storage;
+
+/**
+ * Describes how hard Storage tries to make written changes survive a crash or power loss.
+ * Changes are forced to the disk with {@code FileChannel.force}, which is slow, so the levels trade
+ * throughput against how many recent changes may be lost.
+ */
+public class Durability {
+    /**
+     * The ways in which written changes can be forced to the disk.
+     */
+    public enum Level {
+        /** Changes are left to the operating system, which writes them out whenever it likes. */
+        NONE,
+        /**
+         * Journal records are forced in groups, once enough records or enough time has built up.
+         * Only journal mode writes changes as records; every full save of the task file is still forced.
+         */
+        GROUP_COMMIT,
+        /** Every change is forced before the command that made it returns. */
+        PER_COMMAND
+    }
+
+    /** Group commit window used when none is given. */
+    private static final long DEFAULT_GROUP_COMMIT_MILLIS = 50;
+
+    /** Group commit size used when none is given. */
+    private static final int DEFAULT_GROUP_COMMIT_RECORDS = 64;
+
+    private final Level level;
+    private final long groupCommitMillis;
+    private final int groupCommitRecords;
+
+    private Durability(Level level, long groupCommitMillis, int groupCommitRecords) {
+        this.level = level;
+        this.groupCommitMillis = groupCommitMillis;
+        this.groupCommitRecords = groupCommitRecords;
+    }
+
+    /**
+     * Returns a durability that never forces changes to the disk.
+     *
+     * @return The durability
+     */
+    public static Durability none() {
+        return new Durability(Level.NONE, 0, 0);
+    }
+
+    /**
+     * Returns a durability that forces every change to the disk as soon as it is written.
+     *
+     * @return The durability
+     */
+    public static Durability perCommand() {
+        return new Durability(Level.PER_COMMAND, 0, 1);
+    }
+
+    /**
+     * Returns a durability that forces changes to the disk once the given number of records is waiting,
+     * or at most the given number of milliseconds after the first of them was written.
+     *
+     * @param maxMillis The longest time a written change may wait to be forced
+     * @param maxRecords The number of waiting records that triggers a force
+     * @return The durability
+     */
+    public static Durability groupCommit(long maxMillis, int maxRecords) {
+        assert maxMillis > 0 && maxRecords > 0 : "Group commit limits must be positive";
+        return new Durability(Level.GROUP_COMMIT, maxMillis, maxRecords);
+    }
+
+    /**
+     * Parses a durability setting.
+     * Accepted formats are "none", "sync", "group" and "group:MILLIS:RECORDS", e.g. "group:100:32".
+     *
+     * @param input The setting to parse
+     * @return The matching durability, or null if the setting is not recognised
+     */
+    public static Durability fromString(String input) {
+        String[] parts = input.trim().toLowerCase().split(":");
+        switch (parts[0]) {
+        case "none":
+            return none();
+        case "sync":
+            return perCommand();
+        case "group":
+            if (parts.length == 1) {
+                return groupCommit(DEFAULT_GROUP_COMMIT_MILLIS, DEFAULT_GROUP_COMMIT_RECORDS);
+            }
+            if (parts.length != 3) {
+                return null;
+            }
+            try {
+                long millis = Long.parseLong(parts[1]);
+                int records = Integer.parseInt(parts[2]);
+                return millis > 0 && records > 0 ? groupCommit(millis, records) : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        default:
+            return null;
+        }
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    public long getGroupCommitMillis() {
+        return groupCommitMillis;
+    }
+
+    public int getGroupCommitRecords() {
+        return groupCommitRecords;
+    }
+
+    /**
+     * Checks if full snapshots of the task file should be forced to the disk before they replace the old file,
+     * and the rename that replaces it forced afterwards. Group commit does not apply to full saves, which
+     * write the whole task list at once, so they are forced whenever changes are forced at all.
+     *
+     * @return true unless changes are never forced
+     */
+    public boolean shouldForceSnapshots() {
+        return level != Level.NONE;
+    }
+}
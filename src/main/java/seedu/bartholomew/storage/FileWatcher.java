@@ -0,0 +1,69 @@
+package seedu.bartholomew.storage;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+/**
+ * Watches a single file with a {@link WatchService} and runs a callback on a background thread
+ * whenever the file is created, replaced or modified.
+ * Bursts of events are not coalesced, so the callback should be cheap when nothing has changed.
+ */
+public class FileWatcher {
+    private final Path file;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    /**
+     * Starts watching the given file.
+     *
+     * @param file The file to watch
+     * @param onChange What to run after the file changes
+     * @throws IOException If the directory of the file cannot be watched
+     */
+    public FileWatcher(Path file, Runnable onChange) throws IOException {
+        this.file = file.toAbsolutePath();
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.file.getParent().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        this.thread = new Thread(() -> watch(onChange), "storage-file-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void watch(Runnable onChange) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean isChanged = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    Object context = event.context();
+                    isChanged |= event.kind() == StandardWatchEventKinds.OVERFLOW
+                            || file.getFileName().equals(context);
+                }
+                key.reset();
+                if (isChanged) {
+                    onChange.run();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Stopped by close()
+        }
+    }
+
+    /**
+     * Stops watching the file.
+     */
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            System.err.println("Could not stop watching " + file + ": " + e.getMessage());
+        }
+    }
+}
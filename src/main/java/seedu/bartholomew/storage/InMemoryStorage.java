@@ -0,0 +1,73 @@
+package seedu.bartholomew.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import seedu.bartholomew.tasks.Task;
+import seedu.bartholomew.tasks.TaskList;
+
+/**
+ * Keeps the task list in memory only, so nothing survives a restart.
+ * Useful for tests and for measuring command handling without any storage cost.
+ */
+public class InMemoryStorage implements StorageBackend {
+    private List<Task> saved;
+    private TaskList live;
+    private int appendCount;
+
+    /**
+     * Creates an empty in-memory storage.
+     */
+    public InMemoryStorage() {
+        this(new ArrayList<>());
+    }
+
+    /**
+     * Creates an in-memory storage that starts out holding the given tasks.
+     *
+     * @param initialTasks The tasks returned by the first load
+     */
+    public InMemoryStorage(List<Task> initialTasks) {
+        this.saved = new ArrayList<>(initialTasks);
+    }
+
+    @Override
+    public List<Task> load() {
+        return live != null ? live.getTasks() : new ArrayList<>(saved);
+    }
+
+    @Override
+    public void save(List<Task> tasks) {
+        saved = new ArrayList<>(tasks);
+        live = null;
+    }
+
+    /**
+     * Remembers the task list instead of copying it, so appending costs the same however many tasks there are.
+     * A later {@link #load()} copies the remembered list.
+     */
+    @Override
+    public void append(Mutation mutation, TaskList tasks) {
+        live = tasks;
+        appendCount++;
+    }
+
+    @Override
+    public void flush() {
+        // Nothing is buffered
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release
+    }
+
+    /**
+     * Gets the number of mutations appended so far.
+     *
+     * @return The number of appended mutations
+     */
+    public int getAppendCount() {
+        return appendCount;
+    }
+}
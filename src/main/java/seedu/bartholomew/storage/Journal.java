@@ -0,0 +1,513 @@
+package seedu.bartholomew.storage;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import seedu.bartholomew.tasks.Task;
+import seedu.bartholomew.tasks.TaskFilter;
+
+import seedu.bartholomew.exceptions.BartholomewExceptions;
+
+/**
+ * An append-only log of mutations made to the task list since it was last saved in full.
+ * Each mutation is written as one short line, so recording a change costs the same
+ * no matter how many tasks are in the list.
+ * <p>
+ * The record formats are:
+ * "A | TASK_LINE" to add a task, "M | INDEX[,INDEX...]" to mark, "U | INDEX[,INDEX...]" to unmark
+ * and "X | INDEX[,INDEX...]" to delete, where indices are one-based.
+ * Mark and unmark records may also hold a range "FROM-TO" or a {@link TaskFilter} instead of indices.
+ * "R | FROM-TO" deletes a range of tasks and "W | FILTER" deletes the tasks matching a {@link TaskFilter},
+ * each in a single pass over the list.
+ * <p>
+ * A journal starts with a "# generation N" header naming the snapshot of the task file
+ * it applies to. Journals without a header apply to generation 0.
+ * <p>
+ * How often appended records are forced to the disk is set by a {@link Durability}.
+ */
+public class Journal {
+    /** Prefix of the header line recording which snapshot generation the journal applies to. */
+    static final String GENERATION_HEADER = "# generation ";
+
+    private final File file;
+    private FileChannel channel;
+    private Durability durability = Durability.none();
+    private ScheduledExecutorService groupCommitTimer;
+    private int unforcedRecords;
+    private long firstUnforcedNanos;
+    private int generation;
+    private int recordCount;
+
+    /**
+     * Creates a journal backed by the given file.
+     * The file is only created once the first mutation is appended.
+     *
+     * @param file The journal file
+     */
+    public Journal(File file) {
+        this.file = file;
+        this.generation = readGeneration(file);
+    }
+
+    /**
+     * Sets how often appended records are forced to the disk.
+     *
+     * @param durability The durability to use for later appends
+     */
+    public synchronized void setDurability(Durability durability) {
+        this.durability = durability;
+    }
+
+    /**
+     * Appends a mutation to the end of the journal and writes it to the file.
+     * Whether the record is also forced to the disk before returning depends on the durability.
+     *
+     * @param mutation The mutation to record
+     * @throws BartholomewExceptions.FileWriteException If the record cannot be written
+     */
+    public synchronized void append(Mutation mutation) throws BartholomewExceptions.FileWriteException {
+        try {
+            if (channel == null) {
+                boolean isNew = file.length() == 0;
+                channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                if (isNew) {
+                    write(GENERATION_HEADER + generation + "\n");
+                }
+            }
+            write(formatMutation(mutation) + "\n");
+            recordCount++;
+            commit();
+        } catch (IOException e) {
+            throw new BartholomewExceptions.FileWriteException(file.getPath(), e.getMessage());
+        }
+    }
+
+    private void write(String text) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(Charset.defaultCharset()));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Forces the record just written to the disk if the durability asks for it.
+     * With group commit, records are forced together once enough of them are waiting
+     * or the oldest has waited long enough; a timer forces a group that stops growing.
+     */
+    private void commit() throws IOException {
+        switch (durability.getLevel()) {
+        case PER_COMMAND:
+            channel.force(false);
+            break;
+        case GROUP_COMMIT:
+            if (unforcedRecords == 0) {
+                firstUnforcedNanos = System.nanoTime();
+                scheduleGroupCommit();
+            }
+            unforcedRecords++;
+            long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - firstUnforcedNanos);
+            if (unforcedRecords >= durability.getGroupCommitRecords()
+                    || waitedMillis >= durability.getGroupCommitMillis()) {
+                forceUnforcedRecords();
+            }
+            break;
+        default:
+            break;
+        }
+    }
+
+    private void scheduleGroupCommit() {
+        if (groupCommitTimer == null) {
+            groupCommitTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "journal-group-commit");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        groupCommitTimer.schedule(() -> {
+            synchronized (this) {
+                try {
+                    forceUnforcedRecords();
+                } catch (IOException e) {
+                    System.err.println("Could not sync journal: " + e.getMessage());
+                }
+            }
+        }, durability.getGroupCommitMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Forces any records still waiting for a group commit to the disk right away.
+     *
+     * @throws BartholomewExceptions.FileWriteException If the journal cannot be forced
+     */
+    public synchronized void flush() throws BartholomewExceptions.FileWriteException {
+        try {
+            forceUnforcedRecords();
+        } catch (IOException e) {
+            throw new BartholomewExceptions.FileWriteException(file.getPath(), e.getMessage());
+        }
+    }
+
+    private void forceUnforcedRecords() throws IOException {
+        if (channel != null && unforcedRecords > 0) {
+            channel.force(false);
+        }
+        unforcedRecords = 0;
+    }
+
+    /**
+     * Replays every mutation in the journal onto the given list of tasks, in order.
+     * Records that cannot be parsed or applied are skipped with a warning message.
+     *
+     * @param tasks The tasks loaded from the base file, which are modified in place
+     * @throws BartholomewExceptions.FileReadException If an error occurs while reading the journal
+     */
+    public void replay(List<Task> tasks) throws BartholomewExceptions.FileReadException {
+        if (!file.exists()) {
+            return;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            int lineNumber = 0;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.startsWith("#")) {
+                    continue;
+                }
+                recordCount++;
+                try {
+                    applyRecord(line, tasks);
+                } catch (BartholomewExceptions.TaskParseException e) {
+                    System.out.println("Warning at journal line " + lineNumber + ": " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new BartholomewExceptions.FileReadException(file.getPath(), e.getMessage());
+        }
+    }
+
+    /**
+     * Discards every record in the journal and starts it afresh on top of the given snapshot generation.
+     * Called once the task file holds all the changes the journal recorded.
+     *
+     * @param newGeneration The generation of the snapshot that now holds every recorded change
+     * @throws BartholomewExceptions.FileWriteException If the journal cannot be truncated
+     */
+    public synchronized void clear(int newGeneration) throws BartholomewExceptions.FileWriteException {
+        close();
+        try {
+            Files.newOutputStream(file.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING).close();
+        } catch (IOException e) {
+            throw new BartholomewExceptions.FileWriteException(file.getPath(), e.getMessage());
+        }
+        generation = newGeneration;
+        recordCount = 0;
+    }
+
+    /**
+     * Moves every record in the journal to another file and starts this journal afresh on top of
+     * the given snapshot generation. The moved records can then be folded into a snapshot while new
+     * mutations keep being appended here.
+     *
+     * @param target The file to move the records to
+     * @param newGeneration The generation of the snapshot the moved records will be folded into
+     * @return A journal backed by the target file
+     * @throws BartholomewExceptions.FileWriteException If the journal cannot be moved
+     */
+    public synchronized Journal rollTo(File target, int newGeneration) throws BartholomewExceptions.FileWriteException {
+        close();
+        try {
+            if (file.exists()) {
+                Files.move(file.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new BartholomewExceptions.FileWriteException(file.getPath(), e.getMessage());
+        }
+        Journal rolled = new Journal(target);
+        rolled.recordCount = recordCount;
+        generation = newGeneration;
+        recordCount = 0;
+        return rolled;
+    }
+
+    /**
+     * Deletes the journal file.
+     */
+    public void delete() {
+        close();
+        if (file.exists() && !file.delete()) {
+            System.err.println("Could not delete journal: " + file.getPath());
+        }
+    }
+
+    /**
+     * Checks if the journal file exists on disk.
+     *
+     * @return true if the file exists, false otherwise
+     */
+    public boolean exists() {
+        return file.exists();
+    }
+
+    /**
+     * Gets the generation of the snapshot this journal applies to.
+     *
+     * @return The snapshot generation
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Sets the generation written into the header when a new journal file is started.
+     * Has no effect on records already on disk.
+     *
+     * @param generation The snapshot generation
+     */
+    public void setGeneration(int generation) {
+        if (!file.exists() || file.length() == 0) {
+            this.generation = generation;
+        }
+    }
+
+    /**
+     * Gets the number of records in the journal that were replayed or appended through this object.
+     *
+     * @return The number of records
+     */
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Gets the size of the journal file.
+     *
+     * @return The size in bytes, or 0 if the file does not exist
+     */
+    public long getSize() {
+        return file.length();
+    }
+
+    /**
+     * Forces any records still waiting for a group commit and releases the journal file.
+     * A later append reopens it.
+     */
+    public synchronized void close() {
+        if (groupCommitTimer != null) {
+            groupCommitTimer.shutdownNow();
+            groupCommitTimer = null;
+        }
+        if (channel == null) {
+            return;
+        }
+        try {
+            forceUnforcedRecords();
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Could not close journal: " + e.getMessage());
+        }
+        channel = null;
+    }
+
+    /**
+     * Reads the generation from the header of a journal or snapshot file.
+     *
+     * @param file The file to read
+     * @return The generation in the header, or 0 if the file is missing or has no header
+     */
+    static int readGeneration(File file) {
+        if (!file.exists()) {
+            return 0;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            return parseGeneration(reader.readLine());
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Parses a "# generation N" header line.
+     *
+     * @param line The first line of a file, possibly null
+     * @return The generation in the header, or 0 if the line is not a header
+     */
+    static int parseGeneration(String line) {
+        if (line == null || !line.startsWith(GENERATION_HEADER)) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(line.substring(GENERATION_HEADER.length()).trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String formatMutation(Mutation mutation) {
+        switch (mutation.getType()) {
+        case ADD:
+            return "A | " + Storage.formatTask(mutation.getTask());
+        case MARK:
+            return "M | " + formatTaskNumbers(mutation.getTaskNumbers());
+        case UNMARK:
+            return "U | " + formatTaskNumbers(mutation.getTaskNumbers());
+        case MARK_RANGE:
+            return "M | " + formatRange(mutation.getTaskNumbers());
+        case UNMARK_RANGE:
+            return "U | " + formatRange(mutation.getTaskNumbers());
+        case MARK_MATCHING:
+            return "M | " + mutation.getFilter();
+        case UNMARK_MATCHING:
+            return "U | " + mutation.getFilter();
+        case DELETE:
+            return "X | " + formatTaskNumbers(mutation.getTaskNumbers());
+        case DELETE_RANGE:
+            return "R | " + formatRange(mutation.getTaskNumbers());
+        case DELETE_MATCHING:
+            return "W | " + mutation.getFilter();
+        default:
+            throw new IllegalArgumentException("Unknown mutation type: " + mutation.getType());
+        }
+    }
+
+    private static String formatTaskNumbers(List<Integer> taskNumbers) {
+        StringBuilder record = new StringBuilder();
+        for (int i = 0; i < taskNumbers.size(); i++) {
+            if (i > 0) {
+                record.append(',');
+            }
+            record.append(taskNumbers.get(i));
+        }
+        return record.toString();
+    }
+
+    private static String formatRange(List<Integer> bounds) {
+        return bounds.get(0) + "-" + bounds.get(1);
+    }
+
+    private static void applyRecord(String line, List<Task> tasks) throws BartholomewExceptions.TaskParseException {
+        if (line.length() < 4 || !line.startsWith(" | ", 1)) {
+            throw new BartholomewExceptions.TaskParseException(line, "Invalid journal record.");
+        }
+
+        String payload = line.substring(4);
+        switch (line.charAt(0)) {
+        case 'A':
+            tasks.add(Storage.parseTaskFromLine(payload));
+            break;
+        case 'M':
+            setDone(line, payload, tasks, true);
+            break;
+        case 'U':
+            setDone(line, payload, tasks, false);
+            break;
+        case 'X':
+            List<Integer> taskNumbers = new ArrayList<>();
+            for (String part : payload.split(",")) {
+                taskNumbers.add(parseTaskNumber(line, part, tasks.size()));
+            }
+            // Mirrors TaskList.deleteMultipleTasks, which removes from the back
+            Collections.sort(taskNumbers, Collections.reverseOrder());
+            for (int taskNo : taskNumbers) {
+                tasks.remove(taskNo - 1);
+            }
+            break;
+        case 'R':
+            int[] range = parseRange(line, payload, tasks.size());
+            tasks.subList(range[0] - 1, range[1]).clear();
+            break;
+        case 'W':
+            TaskFilter filter = TaskFilter.fromString(payload);
+            if (filter == null) {
+                throw new BartholomewExceptions.TaskParseException(line, "Invalid task filter.");
+            }
+            tasks.removeIf(filter);
+            break;
+        default:
+            throw new BartholomewExceptions.TaskParseException(line, "Unknown journal record type.");
+        }
+    }
+
+    /**
+     * Replays a mark or unmark record, whose payload is a list of task numbers, a range of them or a filter.
+     */
+    private static void setDone(String line, String payload, List<Task> tasks, boolean isDone)
+            throws BartholomewExceptions.TaskParseException {
+        if (payload.isEmpty() || !Character.isDigit(payload.charAt(0))) {
+            TaskFilter filter = TaskFilter.fromString(payload);
+            if (filter == null) {
+                throw new BartholomewExceptions.TaskParseException(line, "Invalid task filter.");
+            }
+            for (int i = 0; i < tasks.size(); i++) {
+                if (filter.test(tasks.get(i))) {
+                    setDone(tasks, i, isDone);
+                }
+            }
+        } else if (payload.contains("-")) {
+            int[] range = parseRange(line, payload, tasks.size());
+            for (int taskNo = range[0]; taskNo <= range[1]; taskNo++) {
+                setDone(tasks, taskNo - 1, isDone);
+            }
+        } else {
+            for (String part : payload.split(",")) {
+                setDone(tasks, parseTaskNumber(line, part, tasks.size()) - 1, isDone);
+            }
+        }
+    }
+
+    private static void setDone(List<Task> tasks, int index, boolean isDone) {
+        Task task = tasks.get(index);
+        if (isDone) {
+            task.markTask();
+        } else {
+            task.unmarkTask();
+        }
+        // Write the change back in case the list does not hold on to the task it handed out
+        tasks.set(index, task);
+    }
+
+    private static int[] parseRange(String line, String payload, int totalTasks)
+            throws BartholomewExceptions.TaskParseException {
+        String[] bounds = payload.split("-");
+        if (bounds.length != 2) {
+            throw new BartholomewExceptions.TaskParseException(line, "Invalid task range.");
+        }
+        int from = parseTaskNumber(line, bounds[0], totalTasks);
+        int to = parseTaskNumber(line, bounds[1], totalTasks);
+        if (to < from) {
+            throw new BartholomewExceptions.TaskParseException(line, "Invalid task range.");
+        }
+        return new int[] {from, to};
+    }
+
+    private static int parseTaskNumber(String line, String part, int totalTasks)
+            throws BartholomewExceptions.TaskParseException {
+        try {
+            int taskNo = Integer.parseInt(part.trim());
+            if (taskNo <= 0 || taskNo > totalTasks) {
+                throw new BartholomewExceptions.TaskParseException(line, "Task " + taskNo + " does not exist.");
+            }
+            return taskNo;
+        } catch (NumberFormatException e) {
+            throw new BartholomewExceptions.TaskParseException(line, "Invalid task number: " + part);
+        }
+    }
+}
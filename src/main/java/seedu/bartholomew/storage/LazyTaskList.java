@@ -0,0 +1,369 @@
+package seedu.bartholomew.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+import seedu.bartholomew.tasks.Snapshottable;
+import seedu.bartholomew.tasks.Task;
+
+import seedu.bartholomew.exceptions.BartholomewExceptions;
+
+/**
+ * A list of tasks backed by a text task file that only builds a Task object when it is asked for.
+ * Opening the list just records where each line of the file starts. Tasks are parsed from the file
+ * on demand and kept in a bounded least-recently-used cache, so a session that only touches a few
+ * tasks of a huge file never builds the rest.
+ * <p>
+ * Tasks that are added, or changed through {@link #set(int, Task)}, are kept in memory for as long as
+ * they are in the list, since the file no longer describes them.
+ * <p>
+ * The file is held open while the list is in use. Saves replace the task file by renaming a new file
+ * over it, which leaves the file this list reads from untouched.
+ */
+public class LazyTaskList extends AbstractList<Task> implements RandomAccess, Snapshottable {
+    /** Number of parsed tasks kept in the cache when no capacity is given. */
+    public static final int DEFAULT_CACHE_CAPACITY = 10_000;
+
+    private final File file;
+    private final FileChannel channel;
+    private final Charset charset = Charset.defaultCharset();
+    private final Map<Long, Task> cache;
+    private final Map<Long, Task> pinned = new HashMap<>();
+    private long[] keys;
+    private int size;
+    private long nextMemoryKey = -1;
+    private boolean hasOrderedFileIds = true;
+    private long lastFileId;
+    private ByteBuffer readBuffer = ByteBuffer.allocate(256);
+
+    private LazyTaskList(File file, FileChannel channel, long[] keys, int size, int cacheCapacity) {
+        this.file = file;
+        this.channel = channel;
+        this.keys = keys;
+        this.size = size;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Task> eldest) {
+                return size() > cacheCapacity;
+            }
+        };
+    }
+
+    /**
+     * Opens a task file and indexes where each of its tasks starts.
+     * Lines that are not valid tasks are skipped with the same warning {@link Storage#load()} prints.
+     * Lines starting with "#" are headers and are skipped.
+     *
+     * @param file The text task file to open
+     * @param cacheCapacity The number of parsed tasks to keep in memory
+     * @return A list of the tasks in the file
+     * @throws BartholomewExceptions.FileReadException If an error occurs while reading the file
+     */
+    public static LazyTaskList open(File file, int cacheCapacity) throws BartholomewExceptions.FileReadException {
+        assert cacheCapacity > 0 : "Cache capacity must be positive";
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            LazyTaskList tasks = new LazyTaskList(file, channel, new long[1024], 0, cacheCapacity);
+            tasks.buildIndex();
+            return tasks;
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw new BartholomewExceptions.FileReadException(file.getPath(), e.getMessage());
+        }
+    }
+
+    /**
+     * Scans the file once, recording the offset of every line that holds a valid task.
+     * Every line is checked the same way {@link Storage#load()} parses it, so both number the tasks alike,
+     * but none of the tasks built to check the lines are kept.
+     */
+    private void buildIndex() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        byte[] line = new byte[256];
+        long lineStart = 0;
+        int lineLength = 0;
+        int lineNumber = 0;
+        long position = 0;
+
+        while (channel.read(buffer, position) > 0) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get();
+                if (b == '\n') {
+                    lineNumber++;
+                    indexLine(lineStart, line, lineLength, lineNumber);
+                    lineStart = position + buffer.position();
+                    lineLength = 0;
+                } else {
+                    if (lineLength == line.length) {
+                        line = Arrays.copyOf(line, line.length * 2);
+                    }
+                    line[lineLength++] = b;
+                }
+            }
+            position += buffer.limit();
+            buffer.clear();
+        }
+
+        if (lineStart < position) {
+            indexLine(lineStart, line, lineLength, lineNumber + 1);
+        }
+    }
+
+    private void indexLine(long offset, byte[] line, int length, int lineNumber) {
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        if (length > 0 && line[0] == '#') {
+            return;
+        }
+
+        long id;
+        try {
+            id = Storage.checkTaskLine(new String(line, 0, length, charset));
+        } catch (BartholomewExceptions.TaskParseException e) {
+            System.out.println("Warning at line " + lineNumber + ": " + e.getMessage());
+            return;
+        }
+        hasOrderedFileIds &= id > lastFileId;
+        lastFileId = Math.max(lastFileId, id);
+
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, keys.length * 2);
+        }
+        keys[size++] = offset;
+    }
+
+    /**
+     * Copies where each task starts, and the tasks kept in memory, without building any task from the file.
+     * The copy reads the same file through its own buffer and a cache of one task, so it can be read in order
+     * on another thread, but not after this list is closed.
+     *
+     * @return An unmodifiable copy of the list
+     */
+    @Override
+    public List<Task> snapshot() {
+        LazyTaskList copy = new LazyTaskList(file, channel, Arrays.copyOf(keys, Math.max(size, 1)), size, 1);
+        copy.pinned.putAll(pinned);
+        return Collections.unmodifiableList(copy);
+    }
+
+    @Override
+    public Task get(int index) {
+        long key = keys[checkIndex(index)];
+        Task task = pinned.get(key);
+        if (task != null) {
+            return task;
+        }
+        task = cache.get(key);
+        if (task == null) {
+            task = materialize(key);
+            cache.put(key, task);
+        }
+        return task;
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        assert task != null : "Cannot store a null task";
+        Task previous = get(index);
+        long key = keys[index];
+        cache.remove(key);
+        pinned.put(key, task);
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        assert task != null : "Cannot add a null task";
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, keys.length * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        long key = nextMemoryKey--;
+        keys[index] = key;
+        pinned.put(key, task);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        long key = keys[index];
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        size--;
+        pinned.remove(key);
+        cache.remove(key);
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            pinned.remove(keys[i]);
+            cache.remove(keys[i]);
+        }
+        System.arraycopy(keys, toIndex, keys, fromIndex, size - toIndex);
+        size -= toIndex - fromIndex;
+        modCount++;
+    }
+
+    /**
+     * Removes every task that matches the filter in one pass over the keys.
+     * Every task has to be built to test it, but the keys are only moved once.
+     */
+    @Override
+    public boolean removeIf(Predicate<? super Task> filter) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            long key = keys[i];
+            if (filter.test(get(i))) {
+                pinned.remove(key);
+                cache.remove(key);
+            } else {
+                keys[kept++] = key;
+            }
+        }
+        if (kept == size) {
+            return false;
+        }
+        size = kept;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of tasks currently built and held in memory.
+     *
+     * @return The number of cached and pinned tasks
+     */
+    public int getMaterializedCount() {
+        return cache.size() + pinned.size();
+    }
+
+    /**
+     * Checks if every task has a positive id that is larger than the id of the task before it.
+     * The ids of the lines in the file were checked when it was indexed, and lines keep their order,
+     * so only the tasks held in memory and the lines next to them are built.
+     *
+     * @return true if the ids are positive and increasing, false otherwise
+     */
+    public boolean hasOrderedIds() {
+        if (!hasOrderedFileIds) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (!isInMemory(i) && (i == 0 || !isInMemory(i - 1))) {
+                continue;
+            }
+            long id = get(i).getId();
+            if (id <= 0 || i > 0 && id <= get(i - 1).getId()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isInMemory(int index) {
+        long key = keys[index];
+        return key < 0 || pinned.containsKey(key);
+    }
+
+    /**
+     * Releases the task file. The list must not be used afterwards.
+     */
+    public void close() {
+        closeQuietly(channel);
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return index;
+    }
+
+    /**
+     * Parses the task on the line starting at the given offset, which was checked when the file was indexed.
+     */
+    private Task materialize(long offset) {
+        String line;
+        try {
+            line = readLine(offset);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read " + file.getPath() + ": " + e.getMessage(), e);
+        }
+
+        try {
+            return Storage.parseTaskFromLine(line);
+        } catch (BartholomewExceptions.TaskParseException e) {
+            throw new IllegalStateException("Could not parse " + file.getPath() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private String readLine(long offset) throws IOException {
+        int length = 0;
+        readBuffer.clear();
+        while (true) {
+            int read = channel.read(readBuffer, offset + length);
+            int end = readBuffer.position();
+            for (int i = length; i < end; i++) {
+                if (readBuffer.get(i) == '\n') {
+                    return decode(i);
+                }
+            }
+            length = end;
+            if (read <= 0) {
+                return decode(length);
+            }
+            if (!readBuffer.hasRemaining()) {
+                ByteBuffer larger = ByteBuffer.allocate(readBuffer.capacity() * 2);
+                readBuffer.flip();
+                larger.put(readBuffer);
+                readBuffer = larger;
+            }
+        }
+    }
+
+    private String decode(int length) {
+        if (length > 0 && readBuffer.get(length - 1) == '\r') {
+            length--;
+        }
+        return new String(readBuffer.array(), 0, length, charset);
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Could not close task file: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package seedu.bartholomew.storage;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Decompresses a GZIP file as it is read, while measuring the bytes in and out
+ * and the time spent in the decompressor.
+ */
+class MeteredGzipInputStream extends InputStream {
+    private static final int GZIP_MAGIC_FIRST = 0x1f;
+    private static final int GZIP_MAGIC_SECOND = 0x8b;
+
+    private final TimedInputStream source;
+    private final GZIPInputStream gzip;
+    private long uncompressedBytes;
+    private long totalNanos;
+
+    /**
+     * Opens the given GZIP file for reading.
+     *
+     * @param file The compressed file
+     * @throws IOException If the file cannot be opened or does not start with a GZIP header
+     */
+    MeteredGzipInputStream(File file) throws IOException {
+        this.source = new TimedInputStream(new FileInputStream(file));
+        long start = System.nanoTime();
+        try {
+            this.gzip = new GZIPInputStream(source, MeteredGzipOutputStream.BUFFER_SIZE);
+        } catch (IOException e) {
+            source.close();
+            throw e;
+        }
+        totalNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * Checks if the given file starts with the GZIP magic bytes.
+     *
+     * @param file The file to check
+     * @return true if the file is GZIP compressed, false otherwise
+     */
+    static boolean isCompressed(File file) {
+        if (file.length() < 2) {
+            return false;
+        }
+        try (FileInputStream input = new FileInputStream(file)) {
+            return input.read() == GZIP_MAGIC_FIRST && input.read() == GZIP_MAGIC_SECOND;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        long start = System.nanoTime();
+        int read = gzip.read(b, off, len);
+        totalNanos += System.nanoTime() - start;
+        if (read > 0) {
+            uncompressedBytes += read;
+        }
+        return read;
+    }
+
+    @Override
+    public void close() throws IOException {
+        gzip.close();
+    }
+
+    /**
+     * Gets the statistics of everything read so far.
+     *
+     * @return The compression statistics of this load
+     */
+    CompressionStats getStats() {
+        return new CompressionStats("load", uncompressedBytes, source.bytes, totalNanos - source.nanos);
+    }
+
+    /**
+     * Counts the compressed bytes and the time spent reading them, so it can be left out of the codec time.
+     */
+    private static class TimedInputStream extends FilterInputStream {
+        private long bytes;
+        private long nanos;
+
+        TimedInputStream(InputStream input) {
+            super(input);
+        }
+
+        @Override
+        public int read() throws IOException {
+            long start = System.nanoTime();
+            int b = in.read();
+            nanos += System.nanoTime() - start;
+            if (b != -1) {
+                bytes++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            long start = System.nanoTime();
+            int read = in.read(b, off, len);
+            nanos += System.nanoTime() - start;
+            if (read > 0) {
+                bytes += read;
+            }
+            return read;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package seedu.bartholomew.storage;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses everything written to it in the GZIP format as it streams through,
+ * while measuring the bytes in and out and the time spent in the compressor.
+ */
+class MeteredGzipOutputStream extends OutputStream {
+    /** Size of the compressor's output buffer. */
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private final TimedOutputStream sink;
+    private final GZIPOutputStream gzip;
+    private long uncompressedBytes;
+    private long totalNanos;
+
+    /**
+     * Creates a stream that writes the compressed data to the given stream.
+     *
+     * @param output The stream the compressed data is written to
+     * @throws IOException If the GZIP header cannot be written
+     */
+    MeteredGzipOutputStream(OutputStream output) throws IOException {
+        this.sink = new TimedOutputStream(output);
+        long start = System.nanoTime();
+        this.gzip = new GZIPOutputStream(sink, BUFFER_SIZE);
+        totalNanos += System.nanoTime() - start;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        long start = System.nanoTime();
+        gzip.write(b, off, len);
+        totalNanos += System.nanoTime() - start;
+        uncompressedBytes += len;
+    }
+
+    /**
+     * Compresses whatever is still buffered and writes the GZIP trailer, without closing the underlying stream.
+     *
+     * @throws IOException If the remaining data cannot be written
+     */
+    void finish() throws IOException {
+        long start = System.nanoTime();
+        gzip.finish();
+        totalNanos += System.nanoTime() - start;
+        sink.flush();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        sink.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+        gzip.close();
+    }
+
+    /**
+     * Gets the statistics of everything written so far.
+     *
+     * @return The compression statistics of this save
+     */
+    CompressionStats getStats() {
+        return new CompressionStats("save", uncompressedBytes, sink.bytes, totalNanos - sink.nanos);
+    }
+
+    /**
+     * Counts the compressed bytes and the time spent writing them, so it can be left out of the codec time.
+     */
+    private static class TimedOutputStream extends FilterOutputStream {
+        private long bytes;
+        private long nanos;
+
+        TimedOutputStream(OutputStream output) {
+            super(output);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            long start = System.nanoTime();
+            out.write(b);
+            nanos += System.nanoTime() - start;
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            long start = System.nanoTime();
+            out.write(b, off, len);
+            nanos += System.nanoTime() - start;
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package seedu.bartholomew.storage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import seedu.bartholomew.tasks.Task;
+import seedu.bartholomew.tasks.TaskFilter;
+
+/**
+ * Represents a single change made to the task list by a command.
+ * Mutations are what a journaled Storage appends to disk instead of rewriting every task.
+ */
+public class Mutation {
+    /**
+     * The kinds of changes that can be made to the task list.
+     */
+    public enum Type {
+        ADD,
+        MARK,
+        UNMARK,
+        MARK_RANGE,
+        UNMARK_RANGE,
+        MARK_MATCHING,
+        UNMARK_MATCHING,
+        DELETE,
+        DELETE_RANGE,
+        DELETE_MATCHING
+    }
+
+    private final Type type;
+    private final Task task;
+    private final List<Integer> taskNumbers;
+    private final TaskFilter filter;
+
+    private Mutation(Type type, Task task, List<Integer> taskNumbers) {
+        this(type, task, taskNumbers, null);
+    }
+
+    private Mutation(Type type, Task task, List<Integer> taskNumbers, TaskFilter filter) {
+        this.type = type;
+        this.task = task;
+        this.taskNumbers = taskNumbers;
+        this.filter = filter;
+    }
+
+    /**
+     * Creates a mutation that appends a task to the end of the list.
+     *
+     * @param task The task that was added
+     * @return The mutation
+     */
+    public static Mutation add(Task task) {
+        assert task != null : "Cannot record adding a null task";
+        return new Mutation(Type.ADD, task, Collections.emptyList());
+    }
+
+    /**
+     * Creates a mutation that marks a task as done.
+     *
+     * @param taskNo The one-based index of the task
+     * @return The mutation
+     */
+    public static Mutation mark(int taskNo) {
+        return new Mutation(Type.MARK, null, List.of(taskNo));
+    }
+
+    /**
+     * Creates a mutation that marks a task as not done.
+     *
+     * @param taskNo The one-based index of the task
+     * @return The mutation
+     */
+    public static Mutation unmark(int taskNo) {
+        return new Mutation(Type.UNMARK, null, List.of(taskNo));
+    }
+
+    /**
+     * Creates a mutation that marks several tasks as done or not done.
+     *
+     * @param taskNumbers The one-based indices of the tasks
+     * @param isDone Whether the tasks were marked as done
+     * @return The mutation
+     */
+    public static Mutation setDone(List<Integer> taskNumbers, boolean isDone) {
+        assert !taskNumbers.isEmpty() : "Cannot record marking no tasks";
+        return new Mutation(isDone ? Type.MARK : Type.UNMARK, null,
+                Collections.unmodifiableList(new ArrayList<>(taskNumbers)));
+    }
+
+    /**
+     * Creates a mutation that marks every task in a range of positions as done or not done.
+     *
+     * @param from The one-based index of the first task
+     * @param to The one-based index of the last task
+     * @param isDone Whether the tasks were marked as done
+     * @return The mutation
+     */
+    public static Mutation setDoneInRange(int from, int to, boolean isDone) {
+        assert from >= 1 && from <= to : "Cannot record marking an empty range";
+        return new Mutation(isDone ? Type.MARK_RANGE : Type.UNMARK_RANGE, null, List.of(from, to));
+    }
+
+    /**
+     * Creates a mutation that marks every task matching a filter as done or not done.
+     *
+     * @param filter The filter selecting the tasks
+     * @param isDone Whether the tasks were marked as done
+     * @return The mutation
+     */
+    public static Mutation setDoneMatching(TaskFilter filter, boolean isDone) {
+        assert filter != null : "Cannot record marking with a null filter";
+        return new Mutation(isDone ? Type.MARK_MATCHING : Type.UNMARK_MATCHING, null,
+                Collections.emptyList(), filter);
+    }
+
+    /**
+     * Creates a mutation that deletes a single task.
+     *
+     * @param taskNo The one-based index of the task
+     * @return The mutation
+     */
+    public static Mutation delete(int taskNo) {
+        return new Mutation(Type.DELETE, null, List.of(taskNo));
+    }
+
+    /**
+     * Creates a mutation that deletes several tasks at once.
+     * The indices refer to positions in the list before any of them were removed.
+     *
+     * @param taskNumbers The one-based indices of the tasks
+     * @return The mutation
+     */
+    public static Mutation delete(List<Integer> taskNumbers) {
+        assert !taskNumbers.isEmpty() : "Cannot record deleting no tasks";
+        return new Mutation(Type.DELETE, null, Collections.unmodifiableList(new ArrayList<>(taskNumbers)));
+    }
+
+    /**
+     * Creates a mutation that deletes every task in a range of positions.
+     *
+     * @param from The one-based index of the first task
+     * @param to The one-based index of the last task
+     * @return The mutation
+     */
+    public static Mutation deleteRange(int from, int to) {
+        assert from >= 1 && from <= to : "Cannot record deleting an empty range";
+        return new Mutation(Type.DELETE_RANGE, null, List.of(from, to));
+    }
+
+    /**
+     * Creates a mutation that deletes every task matching a filter.
+     *
+     * @param filter The filter selecting the tasks
+     * @return The mutation
+     */
+    public static Mutation deleteMatching(TaskFilter filter) {
+        assert filter != null : "Cannot record deleting with a null filter";
+        return new Mutation(Type.DELETE_MATCHING, null, Collections.emptyList(), filter);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    public List<Integer> getTaskNumbers() {
+        return taskNumbers;
+    }
+
+    public TaskFilter getFilter() {
+        return filter;
+    }
+}
@@ -0,0 +1,242 @@
+package seedu.bartholomew.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import seedu.bartholomew.tasks.Task;
+
+import seedu.bartholomew.exceptions.BartholomewExceptions;
+
+/**
+ * Loads large task files by parsing newline-aligned chunks in parallel.
+ * The tasks from each chunk are stitched back together in file order, and warnings for lines that
+ * cannot be parsed are printed in line order afterwards, exactly as {@link Storage#load()} prints them.
+ * <p>
+ * Chunks are read with positional reads into heap buffers rather than memory-mapped, since a mapping
+ * is only released when it is garbage collected and, on Windows, keeps the file from being replaced
+ * by the next save until then.
+ */
+public class ParallelTaskLoader {
+    /** Smallest chunk handed to one worker, so small files are not split into needless tasks. */
+    private static final long MIN_CHUNK_BYTES = 1024 * 1024;
+
+    /** Number of chunks per worker thread, so uneven chunks still keep every worker busy. */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /** Number of bytes each worker reads from its chunk at a time. */
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+
+    private final ForkJoinPool pool;
+    private final Charset charset;
+
+    /**
+     * Creates a loader that parses chunks on the common fork-join pool.
+     */
+    public ParallelTaskLoader() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a loader that parses chunks on the given fork-join pool.
+     *
+     * @param pool The pool to parse chunks on
+     */
+    public ParallelTaskLoader(ForkJoinPool pool) {
+        this.pool = pool;
+        this.charset = Charset.defaultCharset();
+    }
+
+    /**
+     * Loads every task in the given file.
+     * Lines starting with "#" are headers and are skipped.
+     *
+     * @param file The task file to load
+     * @return The tasks in the file, in file order
+     * @throws BartholomewExceptions.FileReadException If an error occurs while reading the file
+     */
+    public List<Task> load(File file) throws BartholomewExceptions.FileReadException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            List<Long> boundaries = findChunkBoundaries(channel);
+            List<ChunkParser> parsers = new ArrayList<>();
+            for (int i = 0; i + 1 < boundaries.size(); i++) {
+                parsers.add(new ChunkParser(channel, boundaries.get(i), boundaries.get(i + 1)));
+            }
+
+            pool.invoke(new RecursiveTask<Void>() {
+                @Override
+                protected Void compute() {
+                    invokeAll(parsers);
+                    return null;
+                }
+            });
+
+            return stitch(parsers, file);
+        } catch (IOException e) {
+            throw new BartholomewExceptions.FileReadException(file.getPath(), e.getMessage());
+        } catch (RuntimeException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new BartholomewExceptions.FileReadException(file.getPath(), cause.getMessage());
+        }
+    }
+
+    /**
+     * Splits the file into chunks of roughly equal size that each end just after a newline.
+     *
+     * @return The start offset of every chunk, followed by the size of the file
+     */
+    private List<Long> findChunkBoundaries(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long targetChunkBytes = Math.max(MIN_CHUNK_BYTES,
+                size / ((long) pool.getParallelism() * CHUNKS_PER_THREAD));
+
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        long position = targetChunkBytes;
+
+        while (position < size) {
+            long newlineEnd = findLineEnd(channel, position, probe);
+            if (newlineEnd >= size) {
+                break;
+            }
+            boundaries.add(newlineEnd);
+            position = newlineEnd + targetChunkBytes;
+        }
+        boundaries.add(size);
+        return boundaries;
+    }
+
+    /**
+     * Finds the offset just after the first newline at or after the given position.
+     *
+     * @return The offset after the newline, or the size of the file if there is none
+     */
+    private static long findLineEnd(FileChannel channel, long position, ByteBuffer probe) throws IOException {
+        long offset = position;
+        while (true) {
+            probe.clear();
+            int read = channel.read(probe, offset);
+            if (read <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+    }
+
+    /**
+     * Joins the tasks parsed from each chunk in file order and prints the warnings of each chunk,
+     * numbering lines across the whole file.
+     */
+    private static List<Task> stitch(List<ChunkParser> parsers, File file) {
+        int total = 0;
+        for (ChunkParser parser : parsers) {
+            total += parser.tasks.size();
+        }
+
+        List<Task> tasks = new ArrayList<>(total);
+        int firstLineNumber = 0;
+        for (ChunkParser parser : parsers) {
+            tasks.addAll(parser.tasks);
+            for (int i = 0; i < parser.warningLines.size(); i++) {
+                System.out.println("Warning at line " + (firstLineNumber + parser.warningLines.get(i))
+                        + ": " + parser.warningMessages.get(i));
+            }
+            firstLineNumber += parser.lineCount;
+        }
+        return tasks;
+    }
+
+    /**
+     * Parses the lines of one chunk of the file.
+     * Line numbers in warnings are relative to the start of the chunk.
+     */
+    private class ChunkParser extends RecursiveTask<Void> {
+        private final FileChannel channel;
+        private final long start;
+        private final long end;
+        private final List<Task> tasks = new ArrayList<>();
+        private final List<Integer> warningLines = new ArrayList<>();
+        private final List<String> warningMessages = new ArrayList<>();
+        private int lineCount;
+        private byte[] line = new byte[256];
+
+        ChunkParser(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Void compute() {
+            try {
+                ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(READ_BUFFER_BYTES, end - start));
+                byte[] bytes = buffer.array();
+                long position = start;
+                int length = 0;
+
+                while (position < end) {
+                    buffer.clear();
+                    buffer.limit((int) Math.min(buffer.capacity(), end - position));
+                    int read = channel.read(buffer, position);
+                    if (read <= 0) {
+                        break;
+                    }
+                    position += read;
+                    for (int i = 0; i < read; i++) {
+                        if (bytes[i] == '\n') {
+                            endLine(length);
+                            length = 0;
+                            continue;
+                        }
+                        if (length == line.length) {
+                            byte[] larger = new byte[line.length * 2];
+                            System.arraycopy(line, 0, larger, 0, length);
+                            line = larger;
+                        }
+                        line[length++] = bytes[i];
+                    }
+                }
+                if (length > 0) {
+                    // The last line of the file need not end with a newline
+                    endLine(length);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return null;
+        }
+
+        private void endLine(int length) {
+            if (length > 0 && line[length - 1] == '\r') {
+                length--;
+            }
+            lineCount++;
+            parseLine(new String(line, 0, length, charset));
+        }
+
+        private void parseLine(String line) {
+            if (line.startsWith("#")) {
+                return;
+            }
+            try {
+                tasks.add(Storage.parseTaskFromLine(line));
+            } catch (BartholomewExceptions.TaskParseException e) {
+                warningLines.add(lineCount);
+                warningMessages.add(e.getMessage());
+            }
+        }
+    }
+}
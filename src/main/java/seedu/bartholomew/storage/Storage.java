@@ -1,27 +1,80 @@
 package seedu.bartholomew.storage;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.format.DateTimeParseException;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import seedu.bartholomew.tasks.ColumnarTaskStore;
+import seedu.bartholomew.tasks.IndexedTaskTree;
 import seedu.bartholomew.tasks.Deadline;
+import seedu.bartholomew.tasks.DescriptionPool;
+import seedu.bartholomew.tasks.EpochMinutes;
 import seedu.bartholomew.tasks.Event;
 import seedu.bartholomew.tasks.Task;
+import seedu.bartholomew.tasks.TaskList;
 import seedu.bartholomew.tasks.ToDo;
 
 import seedu.bartholomew.exceptions.BartholomewExceptions;
 
 /**
  * Manages persistent storage of tasks in the Bartholomew task management system.
- * Handles reading tasks from and writing tasks to a file on disk.
+ * Handles reading tasks from and writing tasks to a file on disk, in either the text format
+ * or the {@link BinaryTaskFormat}.
  */
-public class Storage {
+public class Storage implements StorageBackend {
+    /** Number of journal records after which the journal should be compacted. */
+    private static final int DEFAULT_COMPACTION_RECORDS = 10_000;
+
+    /** Journal size in bytes after which the journal should be compacted. */
+    private static final long DEFAULT_COMPACTION_BYTES = 1024 * 1024;
+
+    /** Prefix of the last field of a task line, which holds the task's stable id. */
+    static final String ID_PREFIX = "#";
+
+    /** File size in bytes from which the file is loaded in parallel rather than line by line. */
+    private static final long PARALLEL_LOAD_BYTES = 4 * 1024 * 1024;
+
     private final File file;
+    private final StorageMode mode;
+    private final Journal journal;
+    private final File compactingJournalFile;
+    private int generation;
+    private int compactionRecords = DEFAULT_COMPACTION_RECORDS;
+    private long compactionBytes = DEFAULT_COMPACTION_BYTES;
+    private Durability durability = Durability.none();
+    private StorageFormat format = StorageFormat.TEXT;
+    private boolean isCompressed;
+    private volatile CompressionStats compressionStats;
+    private int lazyCacheCapacity;
+    private LazyTaskList lazyTasks;
+    private boolean isColumnar;
+    private boolean isOffHeap;
+    private boolean isTreeBacked;
+    private TailFollower follower;
+    private ExecutorService compactor;
+    private Future<?> compaction;
 
     /**
      * Creates a new Storage object to manage task persistence at the specified file path.
@@ -34,7 +87,29 @@ public class Storage {
     public Storage(String filePath) 
             throws BartholomewExceptions.FileException, 
             BartholomewExceptions.DirectoryException {
+        this(filePath, StorageMode.TEXT);
+    }
+
+    /**
+     * Creates a new Storage object that persists tasks at the specified file path using the given mode.
+     * In journal mode, mutations are appended to a journal file next to the task file
+     * ("FILE_PATH.journal") and only folded into the task file on a full save or a compaction.
+     * In binary mode, every save is written in the {@link BinaryTaskFormat}; otherwise saves keep the format
+     * the existing file is in.
+     *
+     * @param filePath The path where tasks should be saved
+     * @param mode How changes to the task list are persisted
+     * @throws BartholomewExceptions.FileException If the file cannot be created
+     * @throws BartholomewExceptions.DirectoryException If the directory structure cannot be created
+     */
+    public Storage(String filePath, StorageMode mode)
+            throws BartholomewExceptions.FileException,
+            BartholomewExceptions.DirectoryException {
+        assert mode != StorageMode.MEMORY : "In-memory storage does not use a file";
         this.file = new File(filePath);
+        this.mode = mode;
+        this.journal = mode == StorageMode.JOURNAL ? new Journal(new File(filePath + ".journal")) : null;
+        this.compactingJournalFile = new File(filePath + ".journal.compacting");
         
         File directory = file.getParentFile();
         if (directory != null && !directory.exists()) {
@@ -55,69 +130,488 @@ public class Storage {
                 throw new BartholomewExceptions.FileException(file.getPath(), e.getMessage());
             }
         }
+
+        if (mode == StorageMode.BINARY || BinaryTaskFormat.isBinary(file)) {
+            format = StorageFormat.BINARY;
+        }
+        isCompressed = MeteredGzipInputStream.isCompressed(file);
+    }
+
+    /**
+     * Checks if this storage records mutations in a journal instead of rewriting the file.
+     *
+     * @return true if mutations should be passed to {@link #append(Mutation)}, false otherwise
+     */
+    public boolean isJournaled() {
+        return journal != null;
     }
 
     /**
      * Loads tasks from the storage file.
      * Each line in the file represents one task.
      * Lines that cannot be parsed are skipped with a warning message.
+     * In journal mode, the mutations recorded in the journal are then replayed on top of the loaded tasks.
+     * Lines starting with "#" are headers written by journal mode and are not tasks.
+     * Large files are read and parsed in parallel chunks by a {@link ParallelTaskLoader}.
+     * Files in the binary format are detected automatically, and unless in binary mode,
+     * later saves keep the detected format.
+     * GZIP compressed files are also detected, and are decompressed as they are read;
+     * later saves are compressed too.
+     * If lazy loading is enabled, this loads as {@link #loadLazily(int)} does.
+     * If watching is enabled, the file is read in one pass that remembers where it ended,
+     * so that {@link #readExternalAppends()} can later read only what was appended.
+     * If columnar storage is enabled and lazy loading is not, the tasks are returned in a {@link ColumnarTaskStore}.
+     * Otherwise, if tree backing is enabled and lazy loading is not, they are returned in an {@link IndexedTaskTree}.
+     * Tasks of a file saved before tasks had ids, or edited by hand so that some tasks lack ids or are out of order,
+     * are numbered in order, and the ids are kept from the next save.
+     * Lists that build a new task object on every get cannot keep ids set on them, so for those the file is
+     * saved again with ids straight away and read back.
      *
      * @return A list of tasks loaded from the file
      * @throws BartholomewExceptions.FileReadException If an error occurs while reading the file
      */
+    @Override
     public List<Task> load() throws BartholomewExceptions.FileReadException {
-        List<Task> tasks = new ArrayList<>();
+        List<Task> tasks = loadConfigured();
+        if (hasOrderedIds(tasks)) {
+            return tasks;
+        }
+
+        long[] ids = numberTasks(tasks);
+        if (!(tasks instanceof LazyTaskList) && !(tasks instanceof ColumnarTaskStore)) {
+            // The list holds the loaded task objects, so they keep the ids set on them
+            int position = 0;
+            for (Task task : tasks) {
+                task.setId(ids[position++]);
+            }
+            return tasks;
+        }
+        try {
+            save(withIds(tasks, ids));
+        } catch (BartholomewExceptions.FileWriteException e) {
+            throw new BartholomewExceptions.FileReadException(file.getPath(), e.getMessage());
+        }
+        return loadConfigured();
+    }
+
+    /**
+     * Checks if every loaded task has a positive id that is larger than the id of the task before it.
+     * Lazy and columnar lists are checked without building their tasks.
+     *
+     * @param tasks The loaded tasks
+     * @return true if the ids can be kept as they are, false if the tasks have to be numbered again
+     */
+    private static boolean hasOrderedIds(List<Task> tasks) {
+        if (tasks instanceof LazyTaskList) {
+            return ((LazyTaskList) tasks).hasOrderedIds();
+        }
+        long previous = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            long id = tasks instanceof ColumnarTaskStore
+                    ? ((ColumnarTaskStore) tasks).getId(i)
+                    : tasks.get(i).getId();
+            if (id <= previous) {
+                return false;
+            }
+            previous = id;
+        }
+        return true;
+    }
+
+    /**
+     * Numbers tasks loaded from a file saved before tasks had ids in the same way a task list gives ids
+     * to added tasks, keeping every id that is larger than the ids before it.
+     *
+     * @param tasks The loaded tasks
+     * @return The id of each task
+     */
+    private static long[] numberTasks(List<Task> tasks) {
+        long[] ids = new long[tasks.size()];
+        long next = 1;
+        int position = 0;
+        for (Task task : tasks) {
+            ids[position] = Math.max(next, task.getId());
+            next = ids[position++] + 1;
+        }
+        return ids;
+    }
+
+    /**
+     * Gets a view of the tasks that sets each task's id as it is read, so that saving the view writes the ids
+     * without a list that builds tasks on demand having to keep every task.
+     *
+     * @param tasks The loaded tasks
+     * @param ids The id of each task
+     * @return A view of the tasks with ids
+     */
+    private static List<Task> withIds(List<Task> tasks, long[] ids) {
+        return new AbstractList<>() {
+            @Override
+            public Task get(int index) {
+                Task task = tasks.get(index);
+                task.setId(ids[index]);
+                return task;
+            }
+
+            @Override
+            public int size() {
+                return ids.length;
+            }
+        };
+    }
+
+    /**
+     * Loads tasks from the storage file into the kind of list the settings ask for.
+     *
+     * @return A list of tasks loaded from the file
+     * @throws BartholomewExceptions.FileReadException If an error occurs while reading the file
+     */
+    private List<Task> loadConfigured() throws BartholomewExceptions.FileReadException {
+        closeLazyTasks();
+        if (follower != null) {
+            follower.reset();
+            try {
+                return toConfiguredList(follower.readAppended());
+            } catch (BartholomewExceptions.FileConflictException e) {
+                throw new BartholomewExceptions.FileReadException(file.getPath(), e.getMessage());
+            }
+        }
+        if (lazyCacheCapacity > 0) {
+            return loadLazily(lazyCacheCapacity);
+        }
+        return toConfiguredList(loadFully());
+    }
+
+    private List<Task> toConfiguredList(List<Task> tasks) {
+        if (isColumnar) {
+            return tasks instanceof ColumnarTaskStore ? tasks : ColumnarTaskStore.copyOf(tasks, isOffHeap);
+        }
+        if (isTreeBacked) {
+            return new IndexedTaskTree(tasks);
+        }
+        return tasks;
+    }
+
+    /**
+     * Loads and builds every task in the storage file, then replays the journal in journal mode.
+     *
+     * @return A list of tasks loaded from the file
+     * @throws BartholomewExceptions.FileReadException If an error occurs while reading the file
+     */
+    private List<Task> loadFully() throws BartholomewExceptions.FileReadException {
+        List<Task> tasks;
+        if (MeteredGzipInputStream.isCompressed(file)) {
+            isCompressed = true;
+            tasks = loadCompressed();
+            if (journal != null) {
+                replayJournals(tasks);
+            }
+            return tasks;
+        }
+
+        if (file.length() > 0) {
+            isCompressed = false;
+        }
+        boolean isBinaryFile = BinaryTaskFormat.isBinary(file);
+        if (file.length() > 0 && mode != StorageMode.BINARY) {
+            format = isBinaryFile ? StorageFormat.BINARY : StorageFormat.TEXT;
+        }
+
+        if (isBinaryFile) {
+            generation = BinaryTaskFormat.readGeneration(file);
+            tasks = BinaryTaskFormat.read(file);
+        } else if (file.length() >= PARALLEL_LOAD_BYTES) {
+            generation = Journal.readGeneration(file);
+            tasks = new ParallelTaskLoader().load(file);
+        } else {
+            tasks = loadSequentially();
+        }
+
+        if (journal != null) {
+            replayJournals(tasks);
+        }
         
+        return tasks;
+    }
+
+    /**
+     * Loads tasks from the storage file without building them.
+     * Only an index of where each task starts is built; tasks are parsed on demand by the returned
+     * {@link LazyTaskList} and kept in a cache of the given size. In journal mode, the journal is replayed
+     * on top, which only builds the tasks it changes. Binary and compressed files are loaded in full.
+     * The returned list keeps the file open until the next load or until this storage is closed,
+     * and must not be used after either.
+     *
+     * @param cacheCapacity The number of parsed tasks to keep in memory
+     * @return A list of tasks backed by the storage file
+     * @throws BartholomewExceptions.FileReadException If an error occurs while reading the file
+     */
+    public List<Task> loadLazily(int cacheCapacity) throws BartholomewExceptions.FileReadException {
+        if (BinaryTaskFormat.isBinary(file) || MeteredGzipInputStream.isCompressed(file)) {
+            return loadFully();
+        }
+
+        if (file.length() > 0 && mode != StorageMode.BINARY) {
+            format = StorageFormat.TEXT;
+        }
+        generation = Journal.readGeneration(file);
+        closeLazyTasks();
+        lazyTasks = LazyTaskList.open(file, cacheCapacity);
+        List<Task> tasks = lazyTasks;
+        if (journal != null) {
+            replayJournals(tasks);
+        }
+        return tasks;
+    }
+
+    /**
+     * Makes later calls to {@link #load()} build tasks from the file on demand, keeping the given number
+     * of parsed tasks in memory. A capacity of zero turns lazy loading off again.
+     *
+     * @param cacheCapacity The number of parsed tasks to keep in memory, or zero to load every task up front
+     */
+    public void setLazyLoading(int cacheCapacity) {
+        assert cacheCapacity >= 0 : "Cache capacity cannot be negative";
+        this.lazyCacheCapacity = cacheCapacity;
+    }
+
+    /**
+     * Sets whether later calls to {@link #load()} return the tasks in a {@link ColumnarTaskStore},
+     * which takes a fraction of the memory of separate task objects for task lists with millions of tasks.
+     * Text files read line by line are parsed straight into the store; other files are loaded first
+     * and then copied into it. Has no effect while lazy loading is enabled.
+     *
+     * @param isColumnar Whether to keep loaded tasks in columns
+     */
+    public void setColumnar(boolean isColumnar) {
+        this.isColumnar = isColumnar;
+    }
+
+    /**
+     * Sets whether the descriptions of columnar tasks are kept in direct buffers outside the heap,
+     * which keeps the heap, and with it garbage collection pauses, small for tens of millions of tasks.
+     * Only takes effect while columnar storage is enabled.
+     *
+     * @param isOffHeap Whether to keep descriptions outside the heap
+     */
+    public void setOffHeapDescriptions(boolean isOffHeap) {
+        this.isOffHeap = isOffHeap;
+    }
+
+    /**
+     * Sets whether later calls to {@link #load()} return the tasks in an {@link IndexedTaskTree},
+     * which inserts and deletes tasks anywhere in the list in O(log n) time rather than shifting every
+     * task after them. Has no effect while lazy loading or columnar storage is enabled.
+     *
+     * @param isTreeBacked Whether to keep loaded tasks in a tree
+     */
+    public void setTreeBacked(boolean isTreeBacked) {
+        this.isTreeBacked = isTreeBacked;
+    }
+
+    /**
+     * Sets whether this storage follows the task file for tasks appended by other programs.
+     * While watching, {@link #readExternalAppends()} reads only the lines added since the file was last
+     * read or written, and saves refuse to overwrite a file that was changed by another program.
+     * Watching only works for uncompressed text files without a journal, and takes effect from the next load.
+     *
+     * @param isWatching Whether to follow the task file
+     */
+    public void setWatching(boolean isWatching) {
+        assert !isWatching || (journal == null && format == StorageFormat.TEXT && !isCompressed)
+                : "Only uncompressed text files without a journal can be watched";
+        this.follower = isWatching ? new TailFollower(file) : null;
+    }
+
+    /**
+     * Reads the tasks that other programs appended to the task file since it was last read or written.
+     * Returns no tasks unless watching is enabled.
+     *
+     * @return The appended tasks, in file order
+     * @throws BartholomewExceptions.FileConflictException If the file was rewritten rather than appended to
+     * @throws BartholomewExceptions.FileReadException If an error occurs while reading the file
+     */
+    @Override
+    public List<Task> readExternalAppends()
+            throws BartholomewExceptions.FileConflictException, BartholomewExceptions.FileReadException {
+        return follower != null ? follower.readAppended() : new ArrayList<>();
+    }
+
+    /**
+     * Loads tasks from the storage file one line at a time on the calling thread.
+     * Also reads the snapshot generation from the header, if there is one.
+     *
+     * @return A list of tasks loaded from the file
+     * @throws BartholomewExceptions.FileReadException If an error occurs while reading the file
+     */
+    private List<Task> loadSequentially() throws BartholomewExceptions.FileReadException {
         try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            int lineNumber = 0;
-            
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
-                try {
-                    Task task = parseTaskFromLine(line);
-                    if (task != null) {
-                        tasks.add(task);
-                    }
-                } catch (BartholomewExceptions.TaskParseException e) {
-                    System.out.println("Warning at line " + lineNumber + ": " + e.getMessage());
-                }
+            return readTextTasks(reader);
+        } catch (IOException e) {
+            throw new BartholomewExceptions.FileReadException(file.getPath(), e.getMessage());
+        }
+    }
+
+    /**
+     * Loads tasks from a GZIP compressed storage file, decompressing it as it is read
+     * so that the uncompressed file is never held in memory at once.
+     * The compressed data may hold either the text or the binary format.
+     * The compression statistics of the load are kept for {@link #getCompressionStats()}.
+     *
+     * @return A list of tasks loaded from the file
+     * @throws BartholomewExceptions.FileReadException If an error occurs while reading the file
+     */
+    private List<Task> loadCompressed() throws BartholomewExceptions.FileReadException {
+        List<Task> tasks;
+        try (MeteredGzipInputStream input = new MeteredGzipInputStream(file)) {
+            BufferedInputStream buffered = new BufferedInputStream(input, MeteredGzipOutputStream.BUFFER_SIZE);
+            boolean isBinaryData = BinaryTaskFormat.isBinary(buffered);
+            if (mode != StorageMode.BINARY) {
+                format = isBinaryData ? StorageFormat.BINARY : StorageFormat.TEXT;
+            }
+
+            if (isBinaryData) {
+                buffered.mark(BinaryTaskFormat.HEADER_BYTES);
+                generation = BinaryTaskFormat.readGeneration(buffered);
+                buffered.reset();
+                tasks = BinaryTaskFormat.read(buffered, file.getPath());
+            } else {
+                tasks = readTextTasks(new BufferedReader(new InputStreamReader(buffered, Charset.defaultCharset())));
             }
+            compressionStats = input.getStats();
         } catch (IOException e) {
             throw new BartholomewExceptions.FileReadException(file.getPath(), e.getMessage());
         }
-        
         return tasks;
     }
 
+    /**
+     * Reads tasks in the text format, one line at a time, from the given reader.
+     * Also reads the snapshot generation from the header, if there is one.
+     *
+     * @param reader The reader to read lines from
+     * @return A list of tasks read
+     * @throws IOException If an error occurs while reading
+     */
+    private List<Task> readTextTasks(BufferedReader reader) throws IOException {
+        List<Task> tasks = isColumnar ? new ColumnarTaskStore(isOffHeap) : new ArrayList<>();
+        generation = 0;
+        String line;
+        int lineNumber = 0;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.startsWith("#")) {
+                if (lineNumber == 1) {
+                    generation = Journal.parseGeneration(line);
+                }
+                continue;
+            }
+            try {
+                Task task = parseTaskFromLine(line);
+                if (task != null) {
+                    tasks.add(task);
+                }
+            } catch (BartholomewExceptions.TaskParseException e) {
+                System.out.println("Warning at line " + lineNumber + ": " + e.getMessage());
+            }
+        }
+
+        return tasks;
+    }
+
+    /**
+     * Replays the journals that apply to the loaded snapshot generation, in order.
+     * A journal left behind by an unfinished compaction is replayed first, and is then folded into
+     * the task file straight away so that the next compaction can start from a clean state.
+     * Journals from an older generation were already folded into the snapshot and are discarded.
+     *
+     * @param tasks The tasks loaded from the task file, which are modified in place
+     * @throws BartholomewExceptions.FileReadException If an error occurs while reading a journal
+     */
+    private void replayJournals(List<Task> tasks) throws BartholomewExceptions.FileReadException {
+        int current = generation;
+        Journal leftover = new Journal(compactingJournalFile);
+        boolean hasLeftover = false;
+
+        if (leftover.exists()) {
+            if (leftover.getGeneration() == current) {
+                leftover.replay(tasks);
+                current++;
+                hasLeftover = true;
+            } else {
+                leftover.delete();
+            }
+        }
+
+        try {
+            if (journal.exists() && journal.getGeneration() < current) {
+                journal.clear(current);
+            } else if (journal.exists()) {
+                if (journal.getGeneration() > current) {
+                    System.out.println("Warning: journal is newer than " + file.getPath()
+                            + ", some changes may be missing.");
+                }
+                journal.replay(tasks);
+            }
+            journal.setGeneration(current);
+            generation = current;
+
+            if (hasLeftover) {
+                save(tasks);
+            }
+        } catch (BartholomewExceptions.FileWriteException e) {
+            throw new BartholomewExceptions.FileReadException(file.getPath(), e.getMessage());
+        }
+    }
+
     /**
      * Parses a single line from the storage file into a Task object.
-     * The format is: "TYPE | IS_DONE | DESCRIPTION [| ADDITIONAL_DATA...]"
+     * The format is: "TYPE | IS_DONE | DESCRIPTION [| ADDITIONAL_DATA...] [| #ID]"
      * Where TYPE is "T" for ToDo, "D" for Deadline, or "E" for Event
      * IS_DONE is "1" for completed tasks or "0" for incomplete tasks
      * DESCRIPTION is the task description
      * ADDITIONAL_DATA contains due dates for Deadline tasks or start/end times for Event tasks
+     * ID is the stable id of the task, which files saved before tasks had ids do not have
      *
      * @param line The line to parse
      * @return A Task object representing the parsed line
      * @throws BartholomewExceptions.TaskParseException If the line cannot be parsed into a valid task
      */
-    private Task parseTaskFromLine(String line) throws BartholomewExceptions.TaskParseException {
+    static Task parseTaskFromLine(String line) throws BartholomewExceptions.TaskParseException {
+        return parseTask(line, true);
+    }
+
+    /**
+     * Checks that a line of the storage file holds a valid task, without keeping its description
+     * in the shared {@link DescriptionPool}.
+     *
+     * @param line The line to check
+     * @return The id of the task, or 0 if the line has none
+     * @throws BartholomewExceptions.TaskParseException If the line cannot be parsed into a valid task
+     */
+    static long checkTaskLine(String line) throws BartholomewExceptions.TaskParseException {
+        return parseTask(line, false).getId();
+    }
+
+    private static Task parseTask(String line, boolean isInterned) throws BartholomewExceptions.TaskParseException {
         try {
-            String[] parts = line.split(" \\| ");
+            String[] parts = splitFields(line);
             if (parts.length < 3) {
                 throw new BartholomewExceptions.TaskParseException(line, "Invalid format. \nExpected at least 3 parts.");
             }
             
             String type = parts[0];
             boolean isDone = parts[1].equals("1");
-            String description = parts[2];
+            String description = isInterned ? DescriptionPool.shared().intern(parts[2]) : parts[2];
             
             Task task;
+            int fieldCount;
             
             switch (type) {
                 case "T":
                     task = new ToDo(description);
+                    fieldCount = 3;
                     break;
                 case "D":
                     if (parts.length < 4) {
@@ -128,6 +622,7 @@ public class Storage {
                     } catch (DateTimeParseException e) {
                         throw new BartholomewExceptions.TaskParseException(line, "Invalid date format: " + e.getMessage());
                     }
+                    fieldCount = 4;
                     break;
                 case "E":
                     if (parts.length < 5) {
@@ -138,6 +633,7 @@ public class Storage {
                     } catch (DateTimeParseException e) {
                         throw new BartholomewExceptions.TaskParseException(line, "Invalid date format: " + e.getMessage());
                     }
+                    fieldCount = 5;
                     break;
                 default:
                     throw new BartholomewExceptions.TaskParseException(line, "Unknown task type: " + type);
@@ -146,6 +642,13 @@ public class Storage {
             if (isDone) {
                 task.markTask();
             }
+            if (parts.length > fieldCount && parts[fieldCount].startsWith(ID_PREFIX)) {
+                long id = Long.parseLong(parts[fieldCount].substring(ID_PREFIX.length()));
+                if (id <= 0) {
+                    throw new BartholomewExceptions.TaskParseException(line, "Task ids must be positive.");
+                }
+                task.setId(id);
+            }
             
             return task;
         } catch (Exception e) {
@@ -157,36 +660,456 @@ public class Storage {
         }
     }
 
+    /**
+     * Splits a line of the storage file into its " | " separated fields without using a regular expression.
+     * Like {@code String.split}, trailing empty fields are dropped.
+     *
+     * @param line The line to split
+     * @return The fields of the line
+     */
+    static String[] splitFields(String line) {
+        List<String> fields = new ArrayList<>(5);
+        int start = 0;
+        int separator;
+        while ((separator = line.indexOf(" | ", start)) != -1) {
+            fields.add(line.substring(start, separator));
+            start = separator + 3;
+        }
+        fields.add(line.substring(start));
+
+        int count = fields.size();
+        while (count > 1 && fields.get(count - 1).isEmpty()) {
+            count--;
+        }
+        return fields.subList(0, count).toArray(new String[0]);
+    }
+
     /**
      * Saves the provided list of tasks to the storage file.
      * Each task is serialized into a single line in the file.
+     * The file is replaced atomically, so a crash while saving leaves the previous file intact.
+     * In journal mode, the file is replaced atomically by a new snapshot and the journal is cleared
+     * afterwards since the file now holds every change.
      *
      * @param tasks The list of tasks to save
      * @throws BartholomewExceptions.FileWriteException If an error occurs while writing to the file
      */
+    @Override
     public void save(List<Task> tasks) throws BartholomewExceptions.FileWriteException {
-        try (FileWriter writer = new FileWriter(file)) {
-            for (Task task : tasks) {
-                String line;
-                String desc = task.getDescription();
-                boolean isDone = task.isDone();
-                
-                if (task instanceof ToDo) {
-                    line = "T | " + (isDone ? "1" : "0") + " | " + desc;
-                } else if (task instanceof Deadline) {
-                    Deadline deadline = (Deadline) task;
-                    line = "D | " + (isDone ? "1" : "0") + " | " + desc + " | " + deadline.getDueDate();
-                } else if (task instanceof Event) {
-                    Event event = (Event) task;
-                    line = "E | " + (isDone ? "1" : "0") + " | " + desc + " | " + event.getFrom() + " | " + event.getTo();
-                } else {
-                    continue;
-                }
-                
-                writer.write(line + "\n");
+        if (journal != null) {
+            waitForCompaction();
+            int next = generation + 1;
+            writeSnapshot(tasks, next);
+            generation = next;
+            journal.clear(next);
+            if (compactingJournalFile.exists()) {
+                new Journal(compactingJournalFile).delete();
+            }
+            return;
+        }
+
+        writeSnapshot(tasks, generation);
+    }
+
+    /**
+     * Writes a snapshot of the tasks to a temporary file and then moves it over the task file in one atomic
+     * step, so a crash leaves either the old or the new file and never a half-written one.
+     * Unless the durability is none, the temporary file is forced to the disk before it is moved, and the directory
+     * afterwards so that the move itself survives a crash. Group commit only batches journal records; every
+     * snapshot is forced in full.
+     * In journal mode, text snapshots start with a "# generation N" header; binary snapshots always
+     * record the generation in their header. If compression is on, the snapshot is GZIP compressed
+     * as it is written. If watching, the task file is not replaced if another program changed it. The check
+     * is made right before the move; other programs do not lock the file to append to it, so an append made
+     * between the check and the move is still overwritten.
+     *
+     * @param tasks The tasks to write
+     * @param snapshotGeneration The generation of the new snapshot
+     * @throws BartholomewExceptions.FileWriteException If the snapshot cannot be written or moved
+     */
+    private void writeSnapshot(List<Task> tasks, int snapshotGeneration)
+            throws BartholomewExceptions.FileWriteException {
+        File temp = new File(file.getPath() + ".tmp");
+        int lineCount = 0;
+        try (FileOutputStream output = new FileOutputStream(temp)) {
+            MeteredGzipOutputStream compressor = isCompressed ? new MeteredGzipOutputStream(output) : null;
+            OutputStream target = compressor != null ? compressor : output;
+            if (format == StorageFormat.BINARY) {
+                BinaryTaskFormat.write(target, tasks, snapshotGeneration);
+            } else {
+                lineCount = writeText(target, tasks,
+                        journal != null ? Journal.GENERATION_HEADER + snapshotGeneration : null);
+            }
+            if (compressor != null) {
+                compressor.finish();
+                compressionStats = compressor.getStats();
+            }
+            if (durability.shouldForceSnapshots()) {
+                output.getChannel().force(true);
+            }
+        } catch (IOException e) {
+            throw new BartholomewExceptions.FileWriteException(temp.getPath(), e.getMessage());
+        }
+
+        try {
+            if (follower != null) {
+                follower.prepareWritten(temp, lineCount);
+                // Checked right before the move, so that only an append in the moment between the two is lost
+                follower.checkUnchanged();
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            if (follower != null) {
+                follower.recordWritten();
             }
         } catch (IOException e) {
             throw new BartholomewExceptions.FileWriteException(file.getPath(), e.getMessage());
         }
+        if (durability.shouldForceSnapshots()) {
+            forceDirectory();
+        }
+    }
+
+    /**
+     * Forces the directory holding the task file to the disk, which makes a rename in it durable.
+     * Some platforms, such as Windows, cannot open a directory to force it; there the rename is left
+     * to the file system.
+     */
+    private void forceDirectory() {
+        Path directory = file.getAbsoluteFile().toPath().getParent();
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // The snapshot itself was forced before the move, so only the rename may be lost in a crash
+        }
+    }
+
+    /**
+     * Writes the tasks in the text format, one line per task, to the given stream.
+     *
+     * @param output The stream to write to
+     * @param tasks The tasks to write
+     * @param header A line to write before the tasks, or null for none
+     * @return The number of lines written
+     * @throws IOException If the tasks cannot be written
+     */
+    private static int writeText(OutputStream output, List<Task> tasks, String header) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, Charset.defaultCharset()));
+        int lineCount = 0;
+        if (header != null) {
+            writer.write(header + "\n");
+            lineCount++;
+        }
+        StringBuilder line = new StringBuilder(128);
+        char[] chars = new char[128];
+        for (Task task : tasks) {
+            line.setLength(0);
+            if (!appendTask(line, task)) {
+                continue;
+            }
+            line.append('\n');
+            if (chars.length < line.length()) {
+                chars = new char[line.capacity()];
+            }
+            line.getChars(0, line.length(), chars, 0);
+            writer.write(chars, 0, line.length());
+            lineCount++;
+        }
+        writer.flush();
+        return lineCount;
+    }
+
+    /**
+     * Gets the format that later saves are written in.
+     *
+     * @return The storage format
+     */
+    public StorageFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Sets the format that later saves are written in.
+     * Unless in binary mode, loading a non-empty file replaces this with the format the file is actually in.
+     *
+     * @param format The storage format
+     */
+    public void setFormat(StorageFormat format) {
+        this.format = format;
+    }
+
+    /**
+     * Checks if later saves are GZIP compressed.
+     *
+     * @return true if saves are compressed, false otherwise
+     */
+    public boolean isCompressed() {
+        return isCompressed;
+    }
+
+    /**
+     * Sets whether later saves are GZIP compressed.
+     * Compressed files are slower to save and load but take less space, and cannot be loaded lazily
+     * or in parallel. Loading a non-empty file replaces this with whether the file is actually compressed.
+     *
+     * @param isCompressed Whether saves should be compressed
+     */
+    public void setCompressed(boolean isCompressed) {
+        this.isCompressed = isCompressed;
+    }
+
+    /**
+     * Gets the statistics of the latest compressed save or load, to help choose between disk space and CPU.
+     *
+     * @return The compression statistics, or null if nothing has been compressed or decompressed yet
+     */
+    public CompressionStats getCompressionStats() {
+        return compressionStats;
+    }
+
+    /**
+     * Rewrites the task file, including any journaled changes, in the given format.
+     * Later loads detect the new format automatically.
+     *
+     * @param target The format to convert the task file to
+     * @throws BartholomewExceptions.FileReadException If the task file cannot be read
+     * @throws BartholomewExceptions.FileWriteException If the converted file cannot be written
+     */
+    public void convertTo(StorageFormat target)
+            throws BartholomewExceptions.FileReadException, BartholomewExceptions.FileWriteException {
+        convertTo(target, isCompressed);
+    }
+
+    /**
+     * Rewrites the task file, including any journaled changes, in the given format and compression.
+     * Later loads detect the new format and compression automatically.
+     *
+     * @param target The format to convert the task file to
+     * @param shouldCompress Whether the converted file should be GZIP compressed
+     * @throws BartholomewExceptions.FileReadException If the task file cannot be read
+     * @throws BartholomewExceptions.FileWriteException If the converted file cannot be written
+     */
+    public void convertTo(StorageFormat target, boolean shouldCompress)
+            throws BartholomewExceptions.FileReadException, BartholomewExceptions.FileWriteException {
+        List<Task> tasks = loadFully();
+        format = target;
+        isCompressed = shouldCompress;
+        save(tasks);
+    }
+
+    /**
+     * Sets how hard this storage tries to make saved changes survive a crash.
+     * Full saves always go through a temporary file; the durability decides whether it is forced
+     * to the disk first, and how often journal records are forced.
+     *
+     * @param durability The durability to use for later writes
+     */
+    public void setDurability(Durability durability) {
+        this.durability = durability;
+        if (journal != null) {
+            journal.setDurability(durability);
+        }
+    }
+
+    /**
+     * Sets how large the journal may grow before {@link #isCompactionDue()} reports that it should be compacted.
+     *
+     * @param maxRecords The number of records that triggers a compaction
+     * @param maxBytes The journal size in bytes that triggers a compaction
+     */
+    public void setCompactionThresholds(int maxRecords, long maxBytes) {
+        assert maxRecords > 0 && maxBytes > 0 : "Compaction thresholds must be positive";
+        this.compactionRecords = maxRecords;
+        this.compactionBytes = maxBytes;
+    }
+
+    /**
+     * Checks if the journal has grown past its compaction thresholds and no compaction is running.
+     *
+     * @return true if {@link #compactInBackground(List)} should be called, false otherwise
+     */
+    public boolean isCompactionDue() {
+        if (journal == null || isCompacting()) {
+            return false;
+        }
+        return journal.getRecordCount() >= compactionRecords || journal.getSize() >= compactionBytes;
+    }
+
+    /**
+     * Checks if a background compaction is still running.
+     *
+     * @return true if a compaction is running, false otherwise
+     */
+    public boolean isCompacting() {
+        return compaction != null && !compaction.isDone();
+    }
+
+    /**
+     * Folds the journal into a fresh snapshot of the task file on a background thread.
+     * The current journal is moved aside first, so new mutations can be appended while the snapshot is written.
+     * Once the snapshot has replaced the task file, the moved journal is deleted.
+     * <p>
+     * The given list must be a copy taken right after the last appended mutation, such as one from
+     * {@link TaskList#snapshot()}, which copies lazy and columnar lists without building their tasks.
+     * Tasks in it may still be marked or unmarked while the snapshot is written; this is harmless since
+     * replaying a mark or unmark record sets the same state again.
+     *
+     * @param snapshot A copy of the current list of tasks
+     * @throws BartholomewExceptions.FileWriteException If the journal cannot be moved aside
+     */
+    public void compactInBackground(List<Task> snapshot) throws BartholomewExceptions.FileWriteException {
+        if (journal == null || isCompacting()) {
+            return;
+        }
+        if (compactingJournalFile.exists()) {
+            // An earlier compaction failed; its journal is folded in by the next full save or load
+            return;
+        }
+
+        int next = generation + 1;
+        Journal rolled = journal.rollTo(compactingJournalFile, next);
+        generation = next;
+
+        if (compactor == null) {
+            compactor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "storage-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        compaction = compactor.submit(() -> {
+            try {
+                writeSnapshot(snapshot, next);
+                rolled.delete();
+            } catch (BartholomewExceptions.FileWriteException e) {
+                System.err.println("Could not compact journal: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Blocks until any running background compaction has finished.
+     */
+    private void waitForCompaction() {
+        if (compaction == null) {
+            return;
+        }
+        try {
+            compaction.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Could not compact journal: " + e.getCause().getMessage());
+        }
+        compaction = null;
+    }
+
+    /**
+     * Appends a single mutation to the journal without rewriting the storage file.
+     *
+     * @param mutation The change that was made to the task list
+     * @throws BartholomewExceptions.FileWriteException If the mutation cannot be written
+     */
+    public void append(Mutation mutation) throws BartholomewExceptions.FileWriteException {
+        assert journal != null : "Mutations can only be appended in journal mode";
+        journal.append(mutation);
+    }
+
+    /**
+     * Persists a change that has just been applied to the task list.
+     * In journal mode only the mutation is appended, and the journal is compacted in the background
+     * once it grows too large; otherwise the whole task list is saved.
+     *
+     * @param mutation The change that was made to the task list
+     * @param tasks The task list after the change
+     * @throws BartholomewExceptions.FileWriteException If the change cannot be written
+     */
+    @Override
+    public void append(Mutation mutation, TaskList tasks) throws BartholomewExceptions.FileWriteException {
+        if (journal == null) {
+            save(tasks.snapshot());
+            return;
+        }
+        append(mutation);
+        if (isCompactionDue()) {
+            compactInBackground(tasks.snapshot());
+        }
+    }
+
+    /**
+     * Forces any journal records still waiting for a group commit to the disk.
+     * Full saves are complete when they return, so there is nothing else to flush.
+     *
+     * @throws BartholomewExceptions.FileWriteException If the journal cannot be forced
+     */
+    @Override
+    public void flush() throws BartholomewExceptions.FileWriteException {
+        if (journal != null) {
+            journal.flush();
+        }
+    }
+
+    /**
+     * Waits for any running compaction and releases any files held open by this storage,
+     * including the task file read by the last lazily loaded list.
+     */
+    @Override
+    public void close() {
+        waitForCompaction();
+        if (compactor != null) {
+            compactor.shutdown();
+            compactor = null;
+        }
+        if (journal != null) {
+            journal.close();
+        }
+        closeLazyTasks();
+    }
+
+    private void closeLazyTasks() {
+        if (lazyTasks != null) {
+            lazyTasks.close();
+            lazyTasks = null;
+        }
+    }
+
+    /**
+     * Serializes a task into a single line of the storage file format.
+     *
+     * @param task The task to serialize
+     * @return The line representing the task, or null if the task type is not supported
+     */
+    static String formatTask(Task task) {
+        StringBuilder line = new StringBuilder(64);
+        return appendTask(line, task) ? line.toString() : null;
+    }
+
+    /**
+     * Appends a task as a line of the storage file format, without a line break, to the given builder.
+     * Dates are written straight from their epoch minutes without creating any date objects.
+     *
+     * @param line The builder to append to
+     * @param task The task to serialize
+     * @return true if the task was appended, false if the task type is not supported
+     */
+    static boolean appendTask(StringBuilder line, Task task) {
+        char isDone = task.isDone() ? '1' : '0';
+
+        if (task instanceof ToDo) {
+            line.append("T | ").append(isDone).append(" | ").append(task.getDescription());
+        } else if (task instanceof Deadline) {
+            line.append("D | ").append(isDone).append(" | ").append(task.getDescription()).append(" | ");
+            EpochMinutes.appendTo(line, ((Deadline) task).getDueEpochMinute());
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            line.append("E | ").append(isDone).append(" | ").append(task.getDescription()).append(" | ");
+            EpochMinutes.appendTo(line, event.getFromEpochMinute()).append(" | ");
+            EpochMinutes.appendTo(line, event.getToEpochMinute());
+        } else {
+            return false;
+        }
+        if (task.getId() > 0) {
+            line.append(" | ").append(ID_PREFIX).append(task.getId());
+        }
+        return true;
     }
 }
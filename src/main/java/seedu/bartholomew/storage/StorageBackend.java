@@ -0,0 +1,67 @@
+package seedu.bartholomew.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import seedu.bartholomew.tasks.Task;
+import seedu.bartholomew.tasks.TaskList;
+
+import seedu.bartholomew.exceptions.BartholomewExceptions;
+
+/**
+ * Represents somewhere the task list is persisted.
+ * Command handling only talks to this interface, so backends can be swapped or measured on their own.
+ */
+public interface StorageBackend {
+    /**
+     * Loads every persisted task.
+     *
+     * @return A new list of the loaded tasks, which the caller may keep and modify
+     * @throws BartholomewExceptions.FileReadException If the tasks cannot be read
+     */
+    List<Task> load() throws BartholomewExceptions.FileReadException;
+
+    /**
+     * Reads tasks that other programs added to the persisted task list since it was last loaded or saved.
+     * Backends that cannot be changed by other programs never return any.
+     *
+     * @return A new list of the added tasks, in order
+     * @throws BartholomewExceptions.FileConflictException If another program changed the tasks in a way
+     *         that cannot be merged, so they must not be overwritten
+     * @throws BartholomewExceptions.FileReadException If the added tasks cannot be read
+     */
+    default List<Task> readExternalAppends()
+            throws BartholomewExceptions.FileConflictException, BartholomewExceptions.FileReadException {
+        return new ArrayList<>();
+    }
+
+    /**
+     * Replaces everything persisted with the given tasks.
+     *
+     * @param tasks The tasks to save
+     * @throws BartholomewExceptions.FileWriteException If the tasks cannot be written
+     */
+    void save(List<Task> tasks) throws BartholomewExceptions.FileWriteException;
+
+    /**
+     * Persists a change that has just been applied to the task list.
+     * Backends may record only the mutation, or save the whole task list.
+     *
+     * @param mutation The change that was made
+     * @param tasks The task list after the change
+     * @throws BartholomewExceptions.FileWriteException If the change cannot be written
+     */
+    void append(Mutation mutation, TaskList tasks) throws BartholomewExceptions.FileWriteException;
+
+    /**
+     * Makes sure every change passed to {@link #append(Mutation, TaskList)} so far has reached the disk.
+     *
+     * @throws BartholomewExceptions.FileWriteException If the changes cannot be written
+     */
+    void flush() throws BartholomewExceptions.FileWriteException;
+
+    /**
+     * Releases anything held open by this backend. Safe to call more than once.
+     */
+    void close();
+}
@@ -0,0 +1,30 @@
+package seedu.bartholomew.storage;
+
+/**
+ * Represents the file formats that Storage can read and write task files in.
+ */
+public enum StorageFormat {
+    TEXT("text"),
+    BINARY("binary");
+
+    private final String name;
+
+    private StorageFormat(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the storage format with the given name, ignoring case.
+     *
+     * @param input The name of the storage format
+     * @return The matching storage format, or null if there is none
+     */
+    public static StorageFormat fromString(String input) {
+        for (StorageFormat format : StorageFormat.values()) {
+            if (format.name.equalsIgnoreCase(input.trim())) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
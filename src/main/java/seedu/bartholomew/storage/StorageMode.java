@@ -0,0 +1,34 @@
+package seedu.bartholomew.storage;
+
+/**
+ * Represents the ways in which changes to the task list can be persisted.
+ * TEXT and BINARY rewrite the whole file in that format on every change, JOURNAL appends each change
+ * to a journal next to the file, and MEMORY keeps tasks in an {@link InMemoryStorage} only.
+ */
+public enum StorageMode {
+    TEXT("text"),
+    JOURNAL("journal"),
+    BINARY("binary"),
+    MEMORY("memory");
+
+    private final String name;
+
+    private StorageMode(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the storage mode with the given name, ignoring case.
+     *
+     * @param input The name of the storage mode
+     * @return The matching storage mode, or null if there is none
+     */
+    public static StorageMode fromString(String input) {
+        for (StorageMode mode : StorageMode.values()) {
+            if (mode.name.equalsIgnoreCase(input.trim())) {
+                return mode;
+            }
+        }
+        return null;
+    }
+}
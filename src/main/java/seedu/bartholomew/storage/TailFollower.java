@@ -0,0 +1,208 @@
+package seedu.bartholomew.storage;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import seedu.bartholomew.tasks.Task;
+
+import seedu.bartholomew.exceptions.BartholomewExceptions;
+
+/**
+ * Follows a text task file that other programs may append to, reading only the bytes added since the last read.
+ * Remembers how long the file was, its last few bytes and its identity when it was last read or written,
+ * so that a file which was rewritten rather than appended to can be told apart and is never silently overwritten.
+ */
+class TailFollower {
+    /** Number of bytes at the end of the known part of the file that must be unchanged for it to count as appended. */
+    private static final int TAIL_BYTES = 256;
+
+    private final File file;
+    private long knownLength;
+    private byte[] knownTail = new byte[0];
+    private Object knownFileKey;
+    private int knownLines;
+    private long writtenLength;
+    private byte[] writtenTail;
+    private Object writtenFileKey;
+    private int writtenLines;
+
+    /**
+     * Creates a follower for the given file that has not read any of it yet.
+     *
+     * @param file The text task file to follow
+     */
+    TailFollower(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Forgets everything known about the file, so the next read starts from its beginning.
+     */
+    synchronized void reset() {
+        knownLength = 0;
+        knownTail = new byte[0];
+        knownFileKey = null;
+        knownLines = 0;
+    }
+
+    /**
+     * Reads the tasks on the complete lines added to the file since it was last read or written.
+     * A last line without a newline is left for a later read, since it may still be being written.
+     * Lines that cannot be parsed are skipped with a warning message.
+     *
+     * @return The appended tasks, in file order
+     * @throws BartholomewExceptions.FileConflictException If the file was rewritten rather than appended to
+     * @throws BartholomewExceptions.FileReadException If an error occurs while reading the file
+     */
+    synchronized List<Task> readAppended()
+            throws BartholomewExceptions.FileConflictException, BartholomewExceptions.FileReadException {
+        List<Task> tasks = new ArrayList<>();
+        try {
+            if (!hasOnlyGrown()) {
+                throw new BartholomewExceptions.FileConflictException(file.getPath(),
+                        "Restart Bartholomew to load the new file; changes made since will not be saved.");
+            }
+            if (file.length() == knownLength) {
+                return tasks;
+            }
+
+            long consumed = 0;
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                channel.position(knownLength);
+                InputStream input = new BufferedInputStream(Channels.newInputStream(channel));
+                ByteArrayOutputStream line = new ByteArrayOutputStream();
+                int b;
+                while ((b = input.read()) != -1) {
+                    if (b != '\n') {
+                        line.write(b);
+                        continue;
+                    }
+                    consumed += line.size() + 1;
+                    knownLines++;
+                    addTask(tasks, line.toString(Charset.defaultCharset()));
+                    line.reset();
+                }
+            }
+
+            if (consumed > 0) {
+                knownLength += consumed;
+                knownTail = readRange(Math.max(0, knownLength - TAIL_BYTES), knownLength);
+                knownFileKey = fileKey(file);
+            }
+        } catch (IOException e) {
+            throw new BartholomewExceptions.FileReadException(file.getPath(), e.getMessage());
+        }
+        return tasks;
+    }
+
+    /**
+     * Checks that the file has not changed at all since it was last read or written.
+     *
+     * @throws BartholomewExceptions.FileConflictException If the file was rewritten or has unread appended lines
+     * @throws BartholomewExceptions.FileWriteException If the file cannot be checked
+     */
+    synchronized void checkUnchanged() throws BartholomewExceptions.FileWriteException {
+        try {
+            if (!hasOnlyGrown()) {
+                throw new BartholomewExceptions.FileConflictException(file.getPath());
+            }
+            if (file.length() != knownLength) {
+                throw new BartholomewExceptions.FileConflictException(file.getPath(),
+                        "Tasks were appended that have not been loaded yet.");
+            }
+        } catch (IOException e) {
+            throw new BartholomewExceptions.FileWriteException(file.getPath(), e.getMessage());
+        }
+    }
+
+    /**
+     * Reads what needs to be known about a freshly written file that is about to be moved over the followed file.
+     * Reading it first leaves nothing to do between the last {@link #checkUnchanged()} and the move.
+     *
+     * @param written The written file, which keeps its identity when moved
+     * @param lineCount The number of lines in the written file
+     * @throws IOException If the written file cannot be read
+     */
+    synchronized void prepareWritten(File written, int lineCount) throws IOException {
+        writtenLength = written.length();
+        try (FileChannel channel = FileChannel.open(written.toPath(), StandardOpenOption.READ)) {
+            writtenTail = readRange(channel, Math.max(0, writtenLength - TAIL_BYTES), writtenLength);
+        }
+        writtenFileKey = fileKey(written);
+        writtenLines = lineCount;
+    }
+
+    /**
+     * Remembers the file last passed to {@link #prepareWritten(File, int)}, which has now been moved over
+     * the followed file, so that later appends are read from its end.
+     */
+    synchronized void recordWritten() {
+        assert writtenTail != null : "The written file must be prepared first";
+        knownLength = writtenLength;
+        knownTail = writtenTail;
+        knownFileKey = writtenFileKey;
+        knownLines = writtenLines;
+        writtenTail = null;
+    }
+
+    /**
+     * Checks if the file still starts with everything known about it, i.e. other programs have at most appended to it.
+     */
+    private boolean hasOnlyGrown() throws IOException {
+        if (file.length() < knownLength) {
+            return false;
+        }
+        Object fileKey = fileKey(file);
+        if (knownFileKey != null && fileKey != null && !knownFileKey.equals(fileKey)) {
+            return false;
+        }
+        return Arrays.equals(knownTail, readRange(knownLength - knownTail.length, knownLength));
+    }
+
+    private void addTask(List<Task> tasks, String line) {
+        if (line.endsWith("\r")) {
+            line = line.substring(0, line.length() - 1);
+        }
+        if (line.startsWith("#")) {
+            return;
+        }
+        try {
+            tasks.add(Storage.parseTaskFromLine(line));
+        } catch (BartholomewExceptions.TaskParseException e) {
+            System.out.println("Warning at line " + knownLines + ": " + e.getMessage());
+        }
+    }
+
+    private byte[] readRange(long from, long to) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return readRange(channel, from, to);
+        }
+    }
+
+    private static byte[] readRange(FileChannel channel, long from, long to) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) (to - from));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, from + buffer.position()) == -1) {
+                break;
+            }
+        }
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    private static Object fileKey(File file) throws IOException {
+        return Files.readAttributes(file.toPath(), BasicFileAttributes.class).fileKey();
+    }
+}
@@ -0,0 +1,145 @@
+package seedu.bartholomew.storage;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import seedu.bartholomew.tasks.Task;
+
+import seedu.bartholomew.exceptions.BartholomewExceptions;
+
+/**
+ * Saves the task list on a background thread some time after it changes, instead of on every command.
+ * All changes made within the staleness window are coalesced into a single {@link StorageBackend#save(List)},
+ * so a burst of commands costs one write and each command returns without touching the disk.
+ */
+public class WriteBehindSaver {
+    private final StorageBackend storage;
+    private final Supplier<List<Task>> snapshotSupplier;
+    private final long maxStalenessMillis;
+    private final ScheduledExecutorService writer;
+    private final Object saveLock = new Object();
+    private boolean isDirty;
+    private ScheduledFuture<?> pendingWrite;
+
+    /**
+     * Creates a saver that writes to the given storage.
+     * The supplier is called on the background thread and must return a copy of the task list
+     * that is safe to read while commands keep changing the live list.
+     *
+     * @param storage The storage to save to
+     * @param snapshotSupplier Supplies a copy of the current list of tasks
+     * @param maxStalenessMillis The longest time a change may wait before it is written
+     */
+    public WriteBehindSaver(StorageBackend storage, Supplier<List<Task>> snapshotSupplier, long maxStalenessMillis) {
+        assert maxStalenessMillis >= 0 : "Staleness window cannot be negative";
+        this.storage = storage;
+        this.snapshotSupplier = snapshotSupplier;
+        this.maxStalenessMillis = maxStalenessMillis;
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "storage-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Records that the task list has changed.
+     * Schedules a write at the end of the staleness window unless one is already scheduled.
+     */
+    public synchronized void markDirty() {
+        isDirty = true;
+        if (pendingWrite == null) {
+            pendingWrite = writer.schedule(this::writeIfDirty, maxStalenessMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Checks if there are changes that have not been written yet.
+     *
+     * @return true if the task list has unsaved changes, false otherwise
+     */
+    public synchronized boolean isDirty() {
+        return isDirty;
+    }
+
+    /**
+     * Runs an action while no snapshot is being taken or saved, so that the action cannot change the task list
+     * or the file between a snapshot being taken and it replacing the file. Changes to the task list made by
+     * the action should be recorded with {@link #markDirty()} before it returns.
+     *
+     * @param action The action to run
+     * @param <T> The type of the result of the action
+     * @return The result of the action
+     */
+    public <T> T callBetweenSaves(Supplier<T> action) {
+        synchronized (saveLock) {
+            return action.get();
+        }
+    }
+
+    /**
+     * Writes any unsaved changes right away and waits for the write to finish.
+     */
+    public void flush() {
+        synchronized (this) {
+            if (pendingWrite != null) {
+                pendingWrite.cancel(false);
+                pendingWrite = null;
+            }
+        }
+        try {
+            writer.submit(this::writeIfDirty).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Could not save tasks: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Flushes any unsaved changes and stops the background writer.
+     */
+    public void close() {
+        if (writer.isShutdown()) {
+            return;
+        }
+        flush();
+        writer.shutdown();
+    }
+
+    /**
+     * Saves a snapshot of the task list if it changed since the last save.
+     * Runs on the background writer thread only, so saves never overlap.
+     * The snapshot is taken and saved under the lock of {@link #callBetweenSaves(Supplier)}.
+     */
+    private void writeIfDirty() {
+        synchronized (saveLock) {
+            writeSnapshotIfDirty();
+        }
+    }
+
+    private void writeSnapshotIfDirty() {
+        synchronized (this) {
+            pendingWrite = null;
+            if (!isDirty) {
+                return;
+            }
+            isDirty = false;
+        }
+
+        try {
+            storage.save(snapshotSupplier.get());
+        } catch (BartholomewExceptions.FileWriteException e) {
+            System.err.println("Could not save tasks: " + e.getMessage());
+            synchronized (this) {
+                // Keep the changes pending so that the next write or flush retries them
+                isDirty = true;
+            }
+        }
+    }
+}
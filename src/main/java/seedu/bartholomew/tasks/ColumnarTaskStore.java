@@ -0,0 +1,437 @@
+package seedu.bartholomew.tasks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+/**
+ * Stores tasks column by column instead of as individual objects, for task lists with millions of tasks.
+ * Each task takes a type byte, a done bit, its id, two epoch-minute longs and the address and length of its UTF-8
+ * description in a shared {@link DescriptionArena}, instead of a task object, a description string and its
+ * backing array. The arena can be kept off the heap, so that the descriptions, which make up most of the
+ * memory of a large task list, are neither counted against the heap nor scanned by the garbage collector.
+ * <p>
+ * Tasks are handed out as new {@link Task} objects built on every call to {@link #get(int)}, so changes made to
+ * them must be written back with {@link #set(int, Task)}, as {@link TaskList} does when it is
+ * {@linkplain TaskList#backedBy(List) backed by} this store. Since the task objects are not kept, their rendered
+ * lines are not cached between listings either.
+ */
+public class ColumnarTaskStore extends AbstractList<Task> implements RandomAccess, Snapshottable {
+    private static final byte TYPE_TASK = 0;
+    private static final byte TYPE_TODO = 1;
+    private static final byte TYPE_DEADLINE = 2;
+    private static final byte TYPE_EVENT = 3;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int size;
+    private byte[] types;
+    private final BitSet done = new BitSet();
+    private long[] ids;
+    private long[] firstTimes;
+    private long[] secondTimes;
+    private long[] descriptionAddresses;
+    private int[] descriptionLengths;
+    private DescriptionArena descriptions;
+    private long unusedDescriptionBytes;
+
+    /**
+     * Creates an empty store that keeps descriptions on the heap.
+     */
+    public ColumnarTaskStore() {
+        this(false);
+    }
+
+    /**
+     * Creates an empty store.
+     *
+     * @param isOffHeap Whether to keep descriptions in direct buffers outside the heap
+     */
+    public ColumnarTaskStore(boolean isOffHeap) {
+        this(INITIAL_CAPACITY, isOffHeap);
+    }
+
+    /**
+     * Creates an empty store with room for the given number of tasks before it has to grow.
+     *
+     * @param capacity The number of tasks to make room for
+     * @param isOffHeap Whether to keep descriptions in direct buffers outside the heap
+     */
+    public ColumnarTaskStore(int capacity, boolean isOffHeap) {
+        int rows = Math.max(capacity, 1);
+        types = new byte[rows];
+        ids = new long[rows];
+        firstTimes = new long[rows];
+        secondTimes = new long[rows];
+        descriptionAddresses = new long[rows];
+        descriptionLengths = new int[rows];
+        descriptions = new DescriptionArena(isOffHeap);
+    }
+
+    /**
+     * Creates a store holding the given tasks, with descriptions on the heap.
+     *
+     * @param tasks The tasks to store, in order
+     * @return A new store holding the tasks
+     */
+    public static ColumnarTaskStore copyOf(Collection<Task> tasks) {
+        return copyOf(tasks, false);
+    }
+
+    /**
+     * Creates a store holding the given tasks.
+     *
+     * @param tasks The tasks to store, in order
+     * @param isOffHeap Whether to keep descriptions in direct buffers outside the heap
+     * @return A new store holding the tasks
+     */
+    public static ColumnarTaskStore copyOf(Collection<Task> tasks, boolean isOffHeap) {
+        ColumnarTaskStore store = new ColumnarTaskStore(tasks.size(), isOffHeap);
+        store.addAll(tasks);
+        return store;
+    }
+
+    /**
+     * Copies the columns of the store without building any task. The copy shares the descriptions,
+     * which are only ever appended to, or rewritten with the same bytes when a task is marked or unmarked,
+     * so the copy can be read on another thread while this store keeps changing.
+     * This still copies every column, which takes time in proportion to the number of tasks.
+     *
+     * @return An unmodifiable copy of the store
+     */
+    @Override
+    public List<Task> snapshot() {
+        ColumnarTaskStore copy = new ColumnarTaskStore(1, descriptions.isOffHeap());
+        copy.size = size;
+        copy.types = Arrays.copyOf(types, size);
+        copy.done.or(done);
+        copy.ids = Arrays.copyOf(ids, size);
+        copy.firstTimes = Arrays.copyOf(firstTimes, size);
+        copy.secondTimes = Arrays.copyOf(secondTimes, size);
+        copy.descriptionAddresses = Arrays.copyOf(descriptionAddresses, size);
+        copy.descriptionLengths = Arrays.copyOf(descriptionLengths, size);
+        copy.descriptions = descriptions.snapshot();
+        return Collections.unmodifiableList(copy);
+    }
+
+    @Override
+    public Task get(int index) {
+        checkIndex(index, size);
+        String description = getDescription(index);
+        Task task;
+        switch (types[index]) {
+        case TYPE_TODO:
+            task = new ToDo(description);
+            break;
+        case TYPE_DEADLINE:
+            task = new Deadline(description, firstTimes[index]);
+            break;
+        case TYPE_EVENT:
+            task = new Event(description, firstTimes[index], secondTimes[index]);
+            break;
+        default:
+            task = new Task(description);
+            break;
+        }
+        if (done.get(index)) {
+            task.markTask();
+        }
+        if (ids[index] > 0) {
+            task.setId(ids[index]);
+        }
+        return task;
+    }
+
+    /**
+     * Gets the description of a task without building the task.
+     *
+     * @param index The zero-based index of the task
+     * @return The description of the task
+     */
+    public String getDescription(int index) {
+        checkIndex(index, size);
+        return descriptions.get(descriptionAddresses[index], descriptionLengths[index]);
+    }
+
+    /**
+     * Finds the tasks whose description contains the given term, ignoring case, as
+     * {@link TaskList#findTasks(String)} does. Descriptions and terms in plain ASCII are compared
+     * byte by byte where they are stored; only other descriptions and the matching tasks are decoded.
+     *
+     * @param searchTerm The term to search for
+     * @return The matching tasks, in order
+     */
+    public List<Task> findTasks(String searchTerm) {
+        String searchTermLower = searchTerm.toLowerCase();
+        byte[] asciiTerm = isFoldedAsAscii(searchTermLower)
+                ? searchTermLower.getBytes(StandardCharsets.US_ASCII)
+                : null;
+        List<Task> found = new ArrayList<>();
+        byte[] scratch = new byte[64];
+        for (int i = 0; i < size; i++) {
+            int length = descriptionLengths[i];
+            if (length > scratch.length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            int match = asciiTerm != null
+                    ? descriptions.containsAsciiIgnoreCase(descriptionAddresses[i], length, asciiTerm, scratch)
+                    : -1;
+            if (match < 0) {
+                match = getDescription(i).toLowerCase().contains(searchTermLower) ? 1 : 0;
+            }
+            if (match > 0) {
+                found.add(get(i));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Checks if a lowercased term is plain ASCII and the default locale lowercases ASCII letters to ASCII letters,
+     * which is not the case in Turkish, so that comparing ASCII bytes matches {@link String#toLowerCase()}.
+     */
+    private static boolean isFoldedAsAscii(String term) {
+        for (int i = 0; i < term.length(); i++) {
+            if (term.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return "I".toLowerCase().equals("i");
+    }
+
+    /**
+     * Checks if the descriptions of this store are kept outside the heap.
+     *
+     * @return true if descriptions are kept in direct buffers, false if they are on the heap
+     */
+    public boolean isOffHeap() {
+        return descriptions.isOffHeap();
+    }
+
+    /**
+     * Gets the number of bytes reserved for descriptions, on or off the heap.
+     *
+     * @return The number of bytes reserved for descriptions
+     */
+    public long getDescriptionBytes() {
+        return descriptions.getAllocatedBytes();
+    }
+
+    /**
+     * Gets the id of a task without building the task.
+     *
+     * @param index The zero-based index of the task
+     * @return The id of the task, or 0 if it has none
+     */
+    public long getId(int index) {
+        checkIndex(index, size);
+        return ids[index];
+    }
+
+    /**
+     * Checks if a task is done without building the task.
+     *
+     * @param index The zero-based index of the task
+     * @return true if the task is done, false otherwise
+     */
+    public boolean isDone(int index) {
+        checkIndex(index, size);
+        return done.get(index);
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        checkIndex(index, size);
+        Task previous = get(index);
+        writeRow(index, task, true);
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        checkIndex(index, size + 1);
+        ensureCapacity(size + 1);
+        int moved = size - index;
+        if (moved > 0) {
+            System.arraycopy(types, index, types, index + 1, moved);
+            System.arraycopy(ids, index, ids, index + 1, moved);
+            System.arraycopy(firstTimes, index, firstTimes, index + 1, moved);
+            System.arraycopy(secondTimes, index, secondTimes, index + 1, moved);
+            System.arraycopy(descriptionAddresses, index, descriptionAddresses, index + 1, moved);
+            System.arraycopy(descriptionLengths, index, descriptionLengths, index + 1, moved);
+            shiftDone(index, size, 1);
+        }
+        size++;
+        modCount++;
+        writeRow(index, task, false);
+    }
+
+    @Override
+    public Task remove(int index) {
+        checkIndex(index, size);
+        Task removed = get(index);
+        removeRange(index, index + 1);
+        return removed;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex >= toIndex) {
+            return;
+        }
+        for (int i = fromIndex; i < toIndex; i++) {
+            unusedDescriptionBytes += descriptionLengths[i];
+        }
+        int moved = size - toIndex;
+        System.arraycopy(types, toIndex, types, fromIndex, moved);
+        System.arraycopy(ids, toIndex, ids, fromIndex, moved);
+        System.arraycopy(firstTimes, toIndex, firstTimes, fromIndex, moved);
+        System.arraycopy(secondTimes, toIndex, secondTimes, fromIndex, moved);
+        System.arraycopy(descriptionAddresses, toIndex, descriptionAddresses, fromIndex, moved);
+        System.arraycopy(descriptionLengths, toIndex, descriptionLengths, fromIndex, moved);
+        shiftDone(toIndex, size, fromIndex - toIndex);
+        size -= toIndex - fromIndex;
+        modCount++;
+        compactDescriptionsIfWasteful();
+    }
+
+    /**
+     * Removes every task that matches the filter in one pass, moving each kept row straight to its final place.
+     * Takes O(n) time however many tasks are removed, where removing them one by one would take O(n) each.
+     */
+    @Override
+    public boolean removeIf(Predicate<? super Task> filter) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (filter.test(get(i))) {
+                unusedDescriptionBytes += descriptionLengths[i];
+                continue;
+            }
+            if (kept != i) {
+                types[kept] = types[i];
+                ids[kept] = ids[i];
+                firstTimes[kept] = firstTimes[i];
+                secondTimes[kept] = secondTimes[i];
+                descriptionAddresses[kept] = descriptionAddresses[i];
+                descriptionLengths[kept] = descriptionLengths[i];
+                done.set(kept, done.get(i));
+            }
+            kept++;
+        }
+        if (kept == size) {
+            return false;
+        }
+        done.clear(kept, size);
+        size = kept;
+        modCount++;
+        compactDescriptionsIfWasteful();
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Stores a task's columns in the given row, which must already exist.
+     * When replacing a row, the old description is overwritten in place if the new one fits.
+     */
+    private void writeRow(int index, Task task, boolean isReplacing) {
+        assert task != null : "Cannot store null task";
+        byte type;
+        long first = 0;
+        long second = 0;
+        if (task instanceof ToDo) {
+            type = TYPE_TODO;
+        } else if (task instanceof Deadline) {
+            type = TYPE_DEADLINE;
+            first = ((Deadline) task).getDueEpochMinute();
+        } else if (task instanceof Event) {
+            type = TYPE_EVENT;
+            first = ((Event) task).getFromEpochMinute();
+            second = ((Event) task).getToEpochMinute();
+        } else {
+            type = TYPE_TASK;
+        }
+        types[index] = type;
+        ids[index] = task.getId();
+        firstTimes[index] = first;
+        secondTimes[index] = second;
+        done.set(index, task.isDone());
+
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        if (isReplacing && description.length <= descriptionLengths[index]) {
+            descriptions.overwrite(descriptionAddresses[index], description);
+            unusedDescriptionBytes += descriptionLengths[index] - description.length;
+            descriptionLengths[index] = description.length;
+            return;
+        }
+        if (isReplacing) {
+            unusedDescriptionBytes += descriptionLengths[index];
+        }
+        descriptionAddresses[index] = descriptions.add(description, description.length);
+        descriptionLengths[index] = description.length;
+        compactDescriptionsIfWasteful();
+    }
+
+    /**
+     * Copies the descriptions still in use into a new arena once the descriptions of removed or replaced tasks
+     * take up more than half of the current one. The old arena, and any direct buffers it holds,
+     * are freed when it is garbage collected.
+     */
+    private void compactDescriptionsIfWasteful() {
+        if (unusedDescriptionBytes * 2 <= descriptions.getUsedBytes()) {
+            return;
+        }
+        DescriptionArena compacted = new DescriptionArena(descriptions.isOffHeap());
+        byte[] scratch = new byte[64];
+        for (int i = 0; i < size; i++) {
+            int length = descriptionLengths[i];
+            if (length > scratch.length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            descriptions.read(descriptionAddresses[i], length, scratch);
+            descriptionAddresses[i] = compacted.add(scratch, length);
+        }
+        descriptions = compacted;
+        unusedDescriptionBytes = 0;
+    }
+
+    /**
+     * Moves the done bits of rows {@code from} to {@code to} (exclusive) by the given distance.
+     */
+    private void shiftDone(int from, int to, int distance) {
+        BitSet moved = done.get(from, to);
+        done.clear(Math.min(from, from + distance), Math.max(to, to + distance));
+        for (int bit = moved.nextSetBit(0); bit >= 0; bit = moved.nextSetBit(bit + 1)) {
+            done.set(from + distance + bit);
+        }
+    }
+
+    private void ensureCapacity(int rows) {
+        if (rows <= types.length) {
+            return;
+        }
+        int capacity = Math.max(rows, types.length + (types.length >> 1));
+        types = Arrays.copyOf(types, capacity);
+        ids = Arrays.copyOf(ids, capacity);
+        firstTimes = Arrays.copyOf(firstTimes, capacity);
+        secondTimes = Arrays.copyOf(secondTimes, capacity);
+        descriptionAddresses = Arrays.copyOf(descriptionAddresses, capacity);
+        descriptionLengths = Arrays.copyOf(descriptionLengths, capacity);
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + bound);
+        }
+    }
+}
@@ -1,23 +1,15 @@
 package seedu.bartholomew.tasks;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 
 /**
  * Represents a task with a deadline (due date and time).
  * Extends the base Task class.
+ * The due date is kept as an {@link EpochMinutes} value, so it is compared and formatted as a plain number.
  */
 public class Deadline extends Task {
-    private LocalDateTime dueDate;
-    
-    /** Format for parsing date and time input from the user. */
-    private static final DateTimeFormatter INPUT_FORMAT =
-            DateTimeFormatter.ofPattern("d/M/yyyy HHmm");
-
-    /** Format for displaying date and time to the user. */
-    private static final DateTimeFormatter DISPLAY_FORMATTER = 
-            DateTimeFormatter.ofPattern("d MMMM yyyy, h:mma");
+    private final long dueDate;
 
     /**
      * Creates a new deadline task with the given description and due date.
@@ -27,8 +19,28 @@ public class Deadline extends Task {
      * @throws DateTimeParseException If the due date format is invalid
      */
     public Deadline(String desc, String dueDate) throws DateTimeParseException {
+        this(desc, EpochMinutes.parse(dueDate));
+    }
+
+    /**
+     * Creates a new deadline task with the given description and an already parsed due date.
+     *
+     * @param desc The description of the deadline task
+     * @param dueDate The due date and time
+     */
+    public Deadline(String desc, LocalDateTime dueDate) {
+        this(desc, EpochMinutes.of(dueDate));
+    }
+
+    /**
+     * Creates a new deadline task with the given description and a due date in epoch minutes.
+     *
+     * @param desc The description of the deadline task
+     * @param dueEpochMinute The due date and time, in minutes since 1 January 1970, 00:00
+     */
+    public Deadline(String desc, long dueEpochMinute) {
         super(desc);
-        this.dueDate = LocalDateTime.parse(dueDate, INPUT_FORMAT);
+        this.dueDate = dueEpochMinute;
     }
 
     /**
@@ -39,8 +51,8 @@ public class Deadline extends Task {
      * @return The string representation of the deadline task
      */
     @Override
-    public String toString() {
-        return "[D]" + super.toString() + " (by: " + this.dueDate.format(DISPLAY_FORMATTER) + ")"; 
+    protected String render() {
+        return "[D]" + super.render() + " (by: " + EpochMinutes.formatForDisplay(this.dueDate) + ")";
     }
 
     /**
@@ -49,6 +61,24 @@ public class Deadline extends Task {
      * @return The due date as a string in the format "d/M/yyyy HHmm"
      */
     public String getDueDate() {
-        return this.dueDate.format(INPUT_FORMAT);
+        return EpochMinutes.format(this.dueDate);
+    }
+
+    /**
+     * Gets the due date of the deadline task.
+     *
+     * @return The due date and time
+     */
+    public LocalDateTime getDueDateTime() {
+        return EpochMinutes.toDateTime(this.dueDate);
+    }
+
+    /**
+     * Gets the due date of the deadline task as a number that orders the same way as the date.
+     *
+     * @return The due date and time, in minutes since 1 January 1970, 00:00
+     */
+    public long getDueEpochMinute() {
+        return this.dueDate;
     }
 }
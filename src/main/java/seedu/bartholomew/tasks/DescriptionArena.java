@@ -0,0 +1,197 @@
+package seedu.bartholomew.tasks;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds task descriptions as UTF-8 bytes in a growing list of chunks, either on the heap or in direct
+ * (off-heap) buffers. A description is identified by the address returned when it was added, which packs
+ * the chunk index into the upper 32 bits and the position in the chunk into the lower 32 bits, and by its length.
+ * Descriptions are never freed individually; a store drops descriptions by copying the live ones into a new arena.
+ */
+final class DescriptionArena {
+    /** Largest chunk the arena allocates, unless a single description needs more. */
+    static final int MAX_CHUNK_BYTES = 16 * 1024 * 1024;
+
+    private static final int MIN_CHUNK_BYTES = 1024;
+
+    private final boolean isOffHeap;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private ByteBuffer current;
+    private long allocatedBytes;
+    private long usedBytes;
+
+    /**
+     * Creates an empty arena.
+     *
+     * @param isOffHeap Whether to keep the descriptions in direct buffers outside the heap
+     */
+    DescriptionArena(boolean isOffHeap) {
+        this.isOffHeap = isOffHeap;
+    }
+
+    boolean isOffHeap() {
+        return isOffHeap;
+    }
+
+    /**
+     * Makes an arena that can read every description added so far, sharing their chunks with this arena.
+     * Descriptions added to either arena later are not seen by the other.
+     *
+     * @return The new arena
+     */
+    DescriptionArena snapshot() {
+        DescriptionArena copy = new DescriptionArena(isOffHeap);
+        copy.chunks.addAll(chunks);
+        copy.allocatedBytes = allocatedBytes;
+        copy.usedBytes = usedBytes;
+        return copy;
+    }
+
+    /**
+     * Copies the given description bytes into the arena.
+     *
+     * @param bytes The UTF-8 bytes of the description
+     * @param length The number of bytes to copy from the start of the array
+     * @return The address of the description
+     */
+    long add(byte[] bytes, int length) {
+        if (current == null || current.remaining() < length) {
+            // Chunks double in size up to the maximum, so small task lists stay small
+            long size = Math.min(MAX_CHUNK_BYTES, Math.max(MIN_CHUNK_BYTES, allocatedBytes));
+            current = allocate((int) Math.max(size, length));
+            chunks.add(current);
+            allocatedBytes += current.capacity();
+        }
+        long address = ((long) (chunks.size() - 1) << 32) | current.position();
+        current.put(bytes, 0, length);
+        usedBytes += length;
+        return address;
+    }
+
+    /**
+     * Overwrites the start of an existing description with the given bytes, which must not be longer than it.
+     *
+     * @param address The address of the existing description
+     * @param bytes The UTF-8 bytes to write
+     */
+    void overwrite(long address, byte[] bytes) {
+        ByteBuffer chunk = chunk(address).duplicate();
+        chunk.position(position(address));
+        chunk.put(bytes);
+    }
+
+    /**
+     * Copies the bytes of a description into the given array.
+     *
+     * @param address The address of the description
+     * @param length The length of the description in bytes
+     * @param destination The array to copy into, from its start
+     */
+    void read(long address, int length, byte[] destination) {
+        ByteBuffer chunk = chunk(address).duplicate();
+        chunk.position(position(address));
+        chunk.get(destination, 0, length);
+    }
+
+    /**
+     * Decodes a description.
+     *
+     * @param address The address of the description
+     * @param length The length of the description in bytes
+     * @return The description
+     */
+    String get(long address, int length) {
+        ByteBuffer chunk = chunk(address);
+        if (chunk.hasArray()) {
+            return new String(chunk.array(), chunk.arrayOffset() + position(address), length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        read(address, length, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Checks if a description contains the given lowercase ASCII term, ignoring the case of ASCII letters,
+     * without decoding the description.
+     *
+     * @param address The address of the description
+     * @param length The length of the description in bytes
+     * @param term The term to look for, in lowercase ASCII
+     * @param scratch An array of at least {@code length} bytes to copy off-heap descriptions into
+     * @return 1 if the description contains the term, 0 if it does not, or -1 if it does not contain the term
+     *         as ASCII bytes but is not plain ASCII, so has to be decoded to be compared exactly
+     */
+    int containsAsciiIgnoreCase(long address, int length, byte[] term, byte[] scratch) {
+        ByteBuffer chunk = chunk(address);
+        byte[] bytes;
+        int start;
+        if (chunk.hasArray()) {
+            bytes = chunk.array();
+            start = chunk.arrayOffset() + position(address);
+        } else {
+            read(address, length, scratch);
+            bytes = scratch;
+            start = 0;
+        }
+        if (term.length == 0) {
+            return 1;
+        }
+        // A match in the ASCII bytes is a match however the rest is lowercased, but a miss is only
+        // certain if there is nothing else that could lowercase to ASCII letters
+        boolean isAscii = true;
+        int end = start + length;
+        int lastStart = end - term.length;
+        byte first = term[0];
+        for (int i = start; i < end; i++) {
+            byte b = bytes[i];
+            if (b < 0) {
+                isAscii = false;
+            } else if (i <= lastStart && toLowerAscii(b) == first && matchesAt(bytes, i, term)) {
+                return 1;
+            }
+        }
+        return isAscii ? 0 : -1;
+    }
+
+    private static boolean matchesAt(byte[] bytes, int start, byte[] term) {
+        for (int i = 1; i < term.length; i++) {
+            if (toLowerAscii(bytes[start + i]) != term[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte toLowerAscii(byte b) {
+        return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+
+    /**
+     * Gets the number of bytes the arena has reserved for descriptions.
+     */
+    long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Gets the number of bytes written to the arena, including descriptions no longer in use.
+     */
+    long getUsedBytes() {
+        return usedBytes;
+    }
+
+    private ByteBuffer allocate(int size) {
+        return isOffHeap ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+    }
+
+    private ByteBuffer chunk(long address) {
+        return chunks.get((int) (address >>> 32));
+    }
+
+    private static int position(long address) {
+        return (int) address;
+    }
+}
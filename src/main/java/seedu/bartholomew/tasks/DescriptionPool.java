@@ -0,0 +1,170 @@
+package seedu.bartholomew.tasks;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shares one string between tasks with the same description, so that recurring descriptions such as
+ * "standup" or "pay rent" are kept in memory once rather than once per task.
+ * The pool only remembers the most recently used descriptions, up to a fixed number, so descriptions that
+ * never repeat do not pile up in it. It is split into segments by hash so that tasks parsed on several
+ * threads at once rarely wait for each other.
+ */
+public final class DescriptionPool {
+    /** Number of distinct descriptions the shared pool remembers. */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static final int SEGMENTS = 16;
+
+    private static final DescriptionPool SHARED = new DescriptionPool(DEFAULT_CAPACITY);
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    /**
+     * Creates a pool that remembers up to the given number of descriptions.
+     *
+     * @param capacity The number of distinct descriptions to remember, or zero to share nothing
+     */
+    public DescriptionPool(int capacity) {
+        assert capacity >= 0 : "Capacity cannot be negative";
+        int segmentCapacity = (capacity + SEGMENTS - 1) / SEGMENTS;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    /**
+     * Gets the pool shared by the parser and storage when they create tasks.
+     *
+     * @return The shared pool
+     */
+    public static DescriptionPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Gets the pooled string equal to the given description, remembering the description if there is none.
+     *
+     * @param description The description of a new task
+     * @return A string equal to the description, shared with earlier tasks where possible
+     */
+    public String intern(String description) {
+        int hash = description.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)].intern(description);
+    }
+
+    /**
+     * Gets how much sharing descriptions has saved so far.
+     *
+     * @return A snapshot of the pool's statistics
+     */
+    public Report getReport() {
+        long lookups = 0;
+        long hits = 0;
+        long savedBytes = 0;
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                lookups += segment.lookups;
+                hits += segment.hits;
+                savedBytes += segment.savedBytes;
+                size += segment.size();
+            }
+        }
+        return new Report(size, lookups, hits, savedBytes);
+    }
+
+    /**
+     * Estimates the heap taken by a separate copy of a string: the string object and its backing array,
+     * which holds one byte per character for Latin-1 text and two otherwise.
+     */
+    static long estimateBytes(String description) {
+        boolean isLatin1 = true;
+        for (int i = 0; i < description.length() && isLatin1; i++) {
+            isLatin1 = description.charAt(i) < 0x100;
+        }
+        long arrayBytes = 16 + (long) description.length() * (isLatin1 ? 1 : 2);
+        return 24 + ((arrayBytes + 7) & ~7L);
+    }
+
+    /**
+     * One least-recently-used part of the pool, guarded by its own lock.
+     */
+    private static final class Segment extends LinkedHashMap<String, String> {
+        private final int capacity;
+        private long lookups;
+        private long hits;
+        private long savedBytes;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        synchronized String intern(String description) {
+            lookups++;
+            if (capacity == 0) {
+                return description;
+            }
+            String pooled = get(description);
+            if (pooled == null) {
+                put(description, description);
+                return description;
+            }
+            if (pooled != description) {
+                hits++;
+                savedBytes += estimateBytes(description);
+            }
+            return pooled;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    /**
+     * How many descriptions the pool holds and how many bytes sharing them has saved.
+     */
+    public static final class Report {
+        private final int size;
+        private final long lookups;
+        private final long hits;
+        private final long savedBytes;
+
+        Report(int size, long lookups, long hits, long savedBytes) {
+            this.size = size;
+            this.lookups = lookups;
+            this.hits = hits;
+            this.savedBytes = savedBytes;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public long getLookups() {
+            return lookups;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        /**
+         * Gets the estimated heap no longer taken by duplicate descriptions, assuming the tasks are still alive.
+         *
+         * @return The estimated number of bytes saved
+         */
+        public long getSavedBytes() {
+            return savedBytes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d of %,d descriptions shared, about %,d bytes saved (%,d pooled)",
+                    hits, lookups, savedBytes, size);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package seedu.bartholomew.tasks;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Converts between dates and times and the number of minutes since 1 January 1970, 00:00.
+ * Tasks store their times as such epoch minutes, so each time is a single primitive that is
+ * compared with {@code <} and {@code >} and formatted without going through a {@link DateTimeFormatter}.
+ * Times have no time zone; they are read and written exactly as the user entered them.
+ */
+public final class EpochMinutes {
+    /** Format for parsing date and time input from the user. */
+    public static final DateTimeFormatter INPUT_FORMAT =
+            DateTimeFormatter.ofPattern("d/M/yyyy HHmm");
+
+    /** Format for displaying date and time to the user. */
+    public static final DateTimeFormatter DISPLAY_FORMATTER =
+            DateTimeFormatter.ofPattern("d MMMM yyyy, h:mma");
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    /** Returned by {@link #parseCommon(CharSequence)} when the input needs the full formatter. */
+    private static final long NOT_PARSED = Long.MIN_VALUE;
+
+    private static final int[] DAYS_IN_MONTH = {31, 29, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    private EpochMinutes() {
+    }
+
+    /**
+     * Parses a date and time in the input format "d/M/yyyy HHmm".
+     * Input in the common shape, a one or two digit day and month, a four digit year and a valid
+     * calendar date, is read digit by digit without creating any objects. Anything else falls back to
+     * {@link #INPUT_FORMAT}, so the results and errors are the same as parsing with the formatter.
+     *
+     * @param input The date and time, e.g. "25/12/2023 1430"
+     * @return The epoch minute of the date and time
+     * @throws DateTimeParseException If the input is not a valid date and time in the input format
+     */
+    public static long parse(CharSequence input) throws DateTimeParseException {
+        long epochMinute = parseCommon(input);
+        if (epochMinute != NOT_PARSED) {
+            return epochMinute;
+        }
+        return of(LocalDateTime.parse(input, INPUT_FORMAT));
+    }
+
+    /**
+     * Parses input in the common shape of the input format, checking the calendar rules by hand.
+     *
+     * @param input The date and time
+     * @return The epoch minute of the date and time, or {@link #NOT_PARSED} if the input is not in the common shape
+     *         or is not a valid date, in which case the formatter decides what it means
+     */
+    private static long parseCommon(CharSequence input) {
+        int length = input.length();
+        int pos = 0;
+
+        int day = digit(input, pos++);
+        if (day < 0) {
+            return NOT_PARSED;
+        }
+        if (pos < length && input.charAt(pos) != '/') {
+            int second = digit(input, pos++);
+            if (second < 0) {
+                return NOT_PARSED;
+            }
+            day = day * 10 + second;
+        }
+        if (pos >= length || input.charAt(pos++) != '/') {
+            return NOT_PARSED;
+        }
+
+        int month = digit(input, pos++);
+        if (month < 0) {
+            return NOT_PARSED;
+        }
+        if (pos < length && input.charAt(pos) != '/') {
+            int second = digit(input, pos++);
+            if (second < 0) {
+                return NOT_PARSED;
+            }
+            month = month * 10 + second;
+        }
+        if (pos >= length || input.charAt(pos++) != '/') {
+            return NOT_PARSED;
+        }
+
+        // The rest must be exactly "yyyy HHmm"
+        if (length - pos != 9 || input.charAt(pos + 4) != ' ') {
+            return NOT_PARSED;
+        }
+        int year = digits(input, pos, 4);
+        int hour = digits(input, pos + 5, 2);
+        int minute = digits(input, pos + 7, 2);
+        if (year < 0 || hour < 0 || minute < 0) {
+            return NOT_PARSED;
+        }
+
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)
+                || hour > 23 || minute > 59) {
+            // Out of range values are resolved or rejected by the formatter
+            return NOT_PARSED;
+        }
+        return epochDay(year, month, day) * MINUTES_PER_DAY + hour * 60 + minute;
+    }
+
+    private static int digit(CharSequence input, int pos) {
+        if (pos >= input.length()) {
+            return -1;
+        }
+        int value = input.charAt(pos) - '0';
+        return value >= 0 && value <= 9 ? value : -1;
+    }
+
+    private static int digits(CharSequence input, int pos, int count) {
+        int value = 0;
+        for (int i = pos; i < pos + count; i++) {
+            int digit = digit(input, i);
+            if (digit < 0) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        if (month == 2 && !(year % 4 == 0 && (year % 100 != 0 || year % 400 == 0))) {
+            return 28;
+        }
+        return DAYS_IN_MONTH[month - 1];
+    }
+
+    /**
+     * Counts the days from 1 January 1970 to the given date, after Howard Hinnant's days_from_civil.
+     */
+    private static long epochDay(int year, int month, int day) {
+        int shiftedYear = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(shiftedYear, 400);
+        int yearOfEra = shiftedYear - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - 719_468;
+    }
+
+    /**
+     * Converts a date and time to its epoch minute, dropping any seconds.
+     *
+     * @param dateTime The date and time
+     * @return The epoch minute of the date and time
+     */
+    public static long of(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    /**
+     * Converts an epoch minute back to a date and time.
+     *
+     * @param epochMinute The epoch minute
+     * @return The date and time
+     */
+    public static LocalDateTime toDateTime(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Formats an epoch minute for display to the user, e.g. "25 December 2023, 2:30PM".
+     *
+     * @param epochMinute The epoch minute
+     * @return The formatted date and time
+     */
+    public static String formatForDisplay(long epochMinute) {
+        return toDateTime(epochMinute).format(DISPLAY_FORMATTER);
+    }
+
+    /**
+     * Formats an epoch minute in the input format, e.g. "25/12/2023 1430".
+     * Gives the same result as {@link #INPUT_FORMAT} without creating any date objects.
+     *
+     * @param epochMinute The epoch minute
+     * @return The formatted date and time
+     */
+    public static String format(long epochMinute) {
+        return appendTo(new StringBuilder(16), epochMinute).toString();
+    }
+
+    /**
+     * Appends an epoch minute in the input format to the given builder.
+     *
+     * @param builder The builder to append to
+     * @param epochMinute The epoch minute
+     * @return The given builder
+     */
+    public static StringBuilder appendTo(StringBuilder builder, long epochMinute) {
+        long epochDay = Math.floorDiv(epochMinute, MINUTES_PER_DAY);
+        int minuteOfDay = Math.floorMod(epochMinute, MINUTES_PER_DAY);
+
+        // Civil date from a day count, after Howard Hinnant's days_from_civil inverse
+        long days = epochDay + 719_468;
+        long era = Math.floorDiv(days, 146_097);
+        long dayOfEra = days - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+        int month = (int) (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        builder.append(day).append('/').append(month).append('/');
+        if (year > 9999) {
+            builder.append('+');
+        }
+        appendPadded(builder, year, 4);
+        builder.append(' ');
+        appendPadded(builder, minuteOfDay / 60, 2);
+        appendPadded(builder, minuteOfDay % 60, 2);
+        return builder;
+    }
+
+    private static void appendPadded(StringBuilder builder, long value, int width) {
+        for (long limit = 10, digits = 1; digits < width; limit *= 10, digits++) {
+            if (value < limit) {
+                builder.append('0');
+            }
+        }
+        builder.append(value);
+    }
+}
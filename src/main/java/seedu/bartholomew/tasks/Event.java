@@ -1,24 +1,16 @@
 package seedu.bartholomew.tasks;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 
 /**
  * Represents an event with start and end times.
  * Extends the base Task class.
+ * The times are kept as {@link EpochMinutes}, so they are compared and formatted as plain numbers.
  */
 public class Event extends Task {
-    /** Format for parsing date and time input from the user. */
-    private static final DateTimeFormatter INPUT_FORMAT =
-            DateTimeFormatter.ofPattern("d/M/yyyy HHmm");
-
-    /** Format for displaying date and time to the user. */
-    private static final DateTimeFormatter DISPLAY_FORMATTER = 
-            DateTimeFormatter.ofPattern("d MMMM yyyy, h:mma");
-
-    private LocalDateTime from;
-    private LocalDateTime to;
+    private final long from;
+    private final long to;
     
     /**
      * Creates a new event task with the given description, start time, and end time.
@@ -29,9 +21,31 @@ public class Event extends Task {
      * @throws DateTimeParseException If either time format is invalid
      */
     public Event(String desc, String from, String to) throws DateTimeParseException {
+        this(desc, EpochMinutes.parse(from), EpochMinutes.parse(to));
+    }
+
+    /**
+     * Creates a new event task with the given description and already parsed start and end times.
+     *
+     * @param desc The description of the event
+     * @param from The start date and time
+     * @param to The end date and time
+     */
+    public Event(String desc, LocalDateTime from, LocalDateTime to) {
+        this(desc, EpochMinutes.of(from), EpochMinutes.of(to));
+    }
+
+    /**
+     * Creates a new event task with the given description and start and end times in epoch minutes.
+     *
+     * @param desc The description of the event
+     * @param fromEpochMinute The start time, in minutes since 1 January 1970, 00:00
+     * @param toEpochMinute The end time, in minutes since 1 January 1970, 00:00
+     */
+    public Event(String desc, long fromEpochMinute, long toEpochMinute) {
         super(desc);
-        this.from = LocalDateTime.parse(from, INPUT_FORMAT);
-        this.to = LocalDateTime.parse(to, INPUT_FORMAT);
+        this.from = fromEpochMinute;
+        this.to = toEpochMinute;
     }
 
     /**
@@ -42,9 +56,9 @@ public class Event extends Task {
      * @return The string representation of the event task
      */
     @Override
-    public String toString() {
-        return "[E]" + super.toString() + " (from: " + this.from.format(DISPLAY_FORMATTER) 
-                + " to: " + this.to.format(DISPLAY_FORMATTER) + ")";
+    protected String render() {
+        return "[E]" + super.render() + " (from: " + EpochMinutes.formatForDisplay(this.from)
+                + " to: " + EpochMinutes.formatForDisplay(this.to) + ")";
     }
 
     /**
@@ -53,7 +67,7 @@ public class Event extends Task {
      * @return The start time as a string in the format "d/M/yyyy HHmm"
      */
     public String getFrom() {
-        return this.from.format(INPUT_FORMAT);
+        return EpochMinutes.format(this.from);
     }
 
     /**
@@ -62,6 +76,42 @@ public class Event extends Task {
      * @return The end time as a string in the format "d/M/yyyy HHmm"
      */
     public String getTo() {
-        return this.to.format(INPUT_FORMAT);
+        return EpochMinutes.format(this.to);
+    }
+
+    /**
+     * Gets the start time of the event.
+     *
+     * @return The start date and time
+     */
+    public LocalDateTime getFromDateTime() {
+        return EpochMinutes.toDateTime(this.from);
+    }
+
+    /**
+     * Gets the end time of the event.
+     *
+     * @return The end date and time
+     */
+    public LocalDateTime getToDateTime() {
+        return EpochMinutes.toDateTime(this.to);
+    }
+
+    /**
+     * Gets the start time of the event as a number that orders the same way as the time.
+     *
+     * @return The start time, in minutes since 1 January 1970, 00:00
+     */
+    public long getFromEpochMinute() {
+        return this.from;
+    }
+
+    /**
+     * Gets the end time of the event as a number that orders the same way as the time.
+     *
+     * @return The end time, in minutes since 1 January 1970, 00:00
+     */
+    public long getToEpochMinute() {
+        return this.to;
     }
 }
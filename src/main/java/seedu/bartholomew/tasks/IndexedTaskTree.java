@@ -0,0 +1,296 @@
+package seedu.bartholomew.tasks;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * Holds tasks in a balanced binary tree ordered by position, where each node also records the size of its subtree.
+ * Getting, inserting and removing the task at any position walks one path down the tree, so each takes
+ * O(log n) time instead of the O(n) shift an array list needs to insert or remove anywhere but the end.
+ * Deleting k tasks from a list of n therefore costs O(k log n) rather than O(k n).
+ * <p>
+ * The tree is an AVL tree: the heights of the two subtrees of every node differ by at most one.
+ * Iterating goes through the tree in order in O(n) time; {@link #get(int)} in a loop would take O(n log n).
+ */
+public class IndexedTaskTree extends AbstractList<Task> {
+    private Node root;
+
+    /**
+     * Creates an empty tree.
+     */
+    public IndexedTaskTree() {
+    }
+
+    /**
+     * Creates a tree holding the given tasks, in order.
+     * The tree is built balanced in O(n) time.
+     *
+     * @param tasks The tasks to hold
+     */
+    public IndexedTaskTree(Collection<Task> tasks) {
+        root = build(tasks.toArray(new Task[0]), 0, tasks.size());
+    }
+
+    @Override
+    public Task get(int index) {
+        return nodeAt(index).task;
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Node node = nodeAt(index);
+        Task previous = node.task;
+        node.task = task;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        root = insert(root, index, task);
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = nodeAt(index).task;
+        root = delete(root, index);
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        modCount++;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (toIndex - fromIndex <= size() / 4) {
+            for (int i = fromIndex; i < toIndex; i++) {
+                root = delete(root, fromIndex);
+            }
+            modCount++;
+            return;
+        }
+        // Rebuilding in one pass beats many separate removals
+        Task[] kept = new Task[size() - (toIndex - fromIndex)];
+        int count = 0;
+        int index = 0;
+        for (Task task : this) {
+            if (index < fromIndex || index >= toIndex) {
+                kept[count++] = task;
+            }
+            index++;
+        }
+        root = build(kept, 0, count);
+        modCount++;
+    }
+
+    /**
+     * Removes every task that matches the filter in one pass, rebuilding the tree from the tasks that are kept.
+     * Takes O(n) time however many tasks are removed.
+     */
+    @Override
+    public boolean removeIf(Predicate<? super Task> filter) {
+        Task[] kept = new Task[size()];
+        int count = 0;
+        for (Task task : this) {
+            if (!filter.test(task)) {
+                kept[count++] = task;
+            }
+        }
+        if (count == size()) {
+            return false;
+        }
+        root = build(kept, 0, count);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return new InOrderIterator();
+    }
+
+    private Node nodeAt(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    private static Node build(Task[] tasks, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        Node node = new Node(tasks[middle]);
+        node.left = build(tasks, from, middle);
+        node.right = build(tasks, middle + 1, to);
+        node.update();
+        return node;
+    }
+
+    private static Node insert(Node node, int index, Task task) {
+        if (node == null) {
+            return new Node(task);
+        }
+        int leftSize = size(node.left);
+        if (index <= leftSize) {
+            node.left = insert(node.left, index, task);
+        } else {
+            node.right = insert(node.right, index - leftSize - 1, task);
+        }
+        return rebalance(node);
+    }
+
+    private static Node delete(Node node, int index) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            node.left = delete(node.left, index);
+        } else if (index > leftSize) {
+            node.right = delete(node.right, index - leftSize - 1);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            // Replace the task with the first one of the right subtree, then remove that one
+            node.task = leftmost(node.right).task;
+            node.right = delete(node.right, 0);
+        }
+        return rebalance(node);
+    }
+
+    private static Node leftmost(Node node) {
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node;
+    }
+
+    private static Node rebalance(Node node) {
+        node.update();
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        left.update();
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        right.update();
+        return right;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static final class Node {
+        private Task task;
+        private Node left;
+        private Node right;
+        private int size = 1;
+        private int height = 1;
+
+        Node(Task task) {
+            this.task = task;
+        }
+
+        void update() {
+            size = size(left) + size(right) + 1;
+            height = Math.max(height(left), height(right)) + 1;
+        }
+    }
+
+    /**
+     * Walks the tree in order with a stack of the nodes still to visit, which is at most the tree's height.
+     */
+    private final class InOrderIterator implements Iterator<Task> {
+        private final Deque<Node> path = new ArrayDeque<>();
+        private final int expectedModCount = modCount;
+
+        InOrderIterator() {
+            pushLeftEdge(root);
+        }
+
+        private void pushLeftEdge(Node node) {
+            for (; node != null; node = node.left) {
+                path.push(node);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !path.isEmpty();
+        }
+
+        @Override
+        public Task next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (path.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Node node = path.pop();
+            pushLeftEdge(node.right);
+            return node.task;
+        }
+    }
+}
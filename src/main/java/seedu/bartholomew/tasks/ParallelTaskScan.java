@@ -0,0 +1,118 @@
+package seedu.bartholomew.tasks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Finds the tasks whose description contains a term, ignoring case, by checking every task, split into chunks
+ * that are checked in parallel on a fork-join pool. The matches of each chunk are joined in list order, so the
+ * result is exactly that of checking the tasks one by one.
+ * <p>
+ * Each description is still checked with {@code toLowerCase().contains(...)}. Comparing characters while folding
+ * their case avoids lowercasing descriptions that hold capitals, but was measured to be slower overall, since
+ * lowercasing a description that is already lower case returns it as it is and {@code contains} is vectorised.
+ */
+public class ParallelTaskScan {
+    /** Smallest chunk handed to one worker, so small lists are not split into needless tasks. */
+    private static final int MIN_CHUNK_TASKS = 16 * 1024;
+
+    /** Number of chunks per worker thread, so uneven chunks still keep every worker busy. */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a scan that checks chunks on the common fork-join pool.
+     */
+    public ParallelTaskScan() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a scan that checks chunks on the given fork-join pool.
+     *
+     * @param pool The pool to check chunks on
+     */
+    public ParallelTaskScan(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Finds the tasks whose description contains the given term, ignoring case.
+     * Lists of fewer than two chunks, and lists to be checked on a pool with a single worker,
+     * are checked on the calling thread, where splitting them would only add work.
+     *
+     * @param tasks The tasks to check. Longer lists are copied once before the chunks are checked,
+     *     so the list itself is never read from more than one thread
+     * @param searchTerm The term to search for
+     * @return The matching tasks, in list order
+     */
+    public List<Task> findTasks(List<Task> tasks, String searchTerm) {
+        String searchTermLower = searchTerm.toLowerCase();
+        int chunkTasks = Math.max(MIN_CHUNK_TASKS, tasks.size() / (pool.getParallelism() * CHUNKS_PER_THREAD));
+        if (tasks.size() < 2 * chunkTasks || pool.getParallelism() < 2) {
+            List<Task> found = new ArrayList<>();
+            for (Task task : tasks) {
+                if (task.getDescription().toLowerCase().contains(searchTermLower)) {
+                    found.add(task);
+                }
+            }
+            return found;
+        }
+
+        Task[] snapshot = tasks.toArray(new Task[0]);
+        List<ChunkScanner> scanners = new ArrayList<>();
+        for (int from = 0; from < snapshot.length; from += chunkTasks) {
+            int to = Math.min(snapshot.length, from + chunkTasks);
+            scanners.add(new ChunkScanner(snapshot, from, to, searchTermLower));
+        }
+
+        pool.invoke(new RecursiveTask<Void>() {
+            @Override
+            protected Void compute() {
+                invokeAll(scanners);
+                return null;
+            }
+        });
+
+        int total = 0;
+        for (ChunkScanner scanner : scanners) {
+            total += scanner.found.size();
+        }
+        List<Task> found = new ArrayList<>(total);
+        for (ChunkScanner scanner : scanners) {
+            found.addAll(scanner.found);
+        }
+        return found;
+    }
+
+    /**
+     * Checks the tasks of one chunk of the list.
+     */
+    private static class ChunkScanner extends RecursiveTask<Void> {
+        private final Task[] tasks;
+        private final int from;
+        private final int to;
+        private final String searchTermLower;
+        private final List<Task> found = new ArrayList<>();
+
+        ChunkScanner(Task[] tasks, int from, int to, String searchTermLower) {
+            this.tasks = tasks;
+            this.from = from;
+            this.to = to;
+            this.searchTermLower = searchTermLower;
+        }
+
+        @Override
+        protected Void compute() {
+            for (int i = from; i < to; i++) {
+                if (tasks[i].getDescription().toLowerCase().contains(searchTermLower)) {
+                    found.add(tasks[i]);
+                }
+            }
+            return null;
+        }
+    }
+}
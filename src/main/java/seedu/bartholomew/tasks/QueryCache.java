@@ -0,0 +1,104 @@
+package seedu.bartholomew.tasks;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * A bounded least-recently-used cache of the answers to queries on a {@link TaskList}, such as search results
+ * or the responses shown for them. The cache holds answers for one {@linkplain TaskList#getVersion() version}
+ * of the task list at a time, and forgets every answer as soon as it is used with another version, so a change
+ * to the task list never lets an out of date answer through or keeps one in memory. Lookups take constant time.
+ * <p>
+ * The cache is bounded both by the number of answers and by their total size, as measured by a given function,
+ * so a few answers that hold most of a long task list cannot pile up.
+ *
+ * @param <V> The type of the cached answers
+ */
+public class QueryCache<V> {
+    private final Map<String, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final int capacity;
+    private final long maxTotalSize;
+    private final ToIntFunction<V> sizer;
+    private long totalSize;
+    private long version;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param capacity The number of answers to keep; the least recently used ones are dropped to make room
+     * @param maxTotalSize The largest total size of the answers kept; larger answers are never kept
+     * @param sizer Measures the size of an answer
+     */
+    public QueryCache(int capacity, long maxTotalSize, ToIntFunction<V> sizer) {
+        assert capacity > 0 && maxTotalSize > 0 : "Cache bounds must be positive";
+        this.capacity = capacity;
+        this.maxTotalSize = maxTotalSize;
+        this.sizer = sizer;
+    }
+
+    /**
+     * Gets the answer to a query, if it was computed from the given version of the task list.
+     * If the cache holds answers from another version, they are all dropped.
+     *
+     * @param query The normalized query
+     * @param version The current version of the task list
+     * @return The answer, or null if there is no answer for the current version
+     */
+    public V get(String query, long version) {
+        moveTo(version);
+        return entries.get(query);
+    }
+
+    /**
+     * Stores the answer to a query, unless it is larger than the total size allowed.
+     * If the cache holds answers from another version, they are all dropped first.
+     *
+     * @param query The normalized query
+     * @param version The version of the task list the answer was computed from
+     * @param value The answer
+     */
+    public void put(String query, long version, V value) {
+        moveTo(version);
+        int size = sizer.applyAsInt(value);
+        if (size > maxTotalSize) {
+            return;
+        }
+        V previous = entries.put(query, value);
+        if (previous != null) {
+            totalSize -= sizer.applyAsInt(previous);
+        }
+        totalSize += size;
+
+        Iterator<V> eldest = entries.values().iterator();
+        while (entries.size() > capacity || totalSize > maxTotalSize) {
+            totalSize -= sizer.applyAsInt(eldest.next());
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Drops every answer, such as when the task list has just changed.
+     */
+    public void clear() {
+        entries.clear();
+        totalSize = 0;
+    }
+
+    /**
+     * Gets the number of answers in the cache.
+     *
+     * @return The number of answers
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private void moveTo(long version) {
+        if (version != this.version) {
+            clear();
+            this.version = version;
+        }
+    }
+}
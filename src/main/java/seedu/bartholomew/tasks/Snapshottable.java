@@ -0,0 +1,17 @@
+package seedu.bartholomew.tasks;
+
+import java.util.List;
+
+/**
+ * Represents a list of tasks that can copy itself without building every task, such as a list that
+ * builds tasks on demand from a more compact form. {@link TaskList#snapshot()} copies such lists this way.
+ */
+public interface Snapshottable {
+    /**
+     * Copies the list, so that it can be read, for example to be saved on another thread,
+     * while this list keeps changing. Tasks held as objects may be shared with the copy.
+     *
+     * @return An unmodifiable copy of the list
+     */
+    List<Task> snapshot();
+}
@@ -8,6 +8,12 @@ public class Task {
     private String desc;
     private boolean completed;
 
+    /** The stable id of the task, or 0 until a task list assigns one. */
+    private long id;
+
+    /** The rendered line, kept until the task's completion status changes. */
+    private String rendered;
+
     /**
      * Creates a new task with the given description.
      * New tasks are initially marked as not completed.
@@ -21,13 +27,31 @@ public class Task {
 
     /**
      * Returns a string representation of the task.
+     * The string is built by {@link #render()} once and reused until the task is marked or unmarked,
+     * so listing the same tasks again does not format them again.
+     *
+     * @return The string representation of the task
+     */
+    @Override
+    public final String toString() {
+        String line = rendered;
+        if (line == null) {
+            line = render();
+            rendered = line;
+        }
+        return line;
+    }
+
+    /**
+     * Builds the string representation of the task.
      * Includes the completion status ([X] for completed, [ ] for not completed)
      * followed by the task description.
+     * Subclasses add their own details, and must only use state that changes through
+     * {@link #markTask()} or {@link #unmarkTask()}, or never changes.
      *
      * @return The string representation of the task
      */
-    @Override
-    public String toString() {
+    protected String render() {
         return "[" + (this.completed ? "X" : " ") + "] " + this.desc;
     }
 
@@ -35,14 +59,20 @@ public class Task {
      * Marks the task as completed.
      */
     public void markTask() {
-        this.completed = true;
+        if (!this.completed) {
+            this.completed = true;
+            this.rendered = null;
+        }
     }
 
     /**
      * Marks the task as not completed.
      */
     public void unmarkTask() {
-        this.completed = false;
+        if (this.completed) {
+            this.completed = false;
+            this.rendered = null;
+        }
     }
 
     /**
@@ -54,6 +84,26 @@ public class Task {
         return this.desc;
     }
 
+    /**
+     * Gets the stable id of the task, which stays the same while tasks before it are deleted.
+     *
+     * @return The id of the task, or 0 if it has not been assigned one yet
+     */
+    public long getId() {
+        return this.id;
+    }
+
+    /**
+     * Sets the stable id of the task.
+     * Ids are assigned by {@link TaskList} when a task is added, and restored by storage when a task is loaded.
+     *
+     * @param id The id of the task, which must be positive
+     */
+    public void setId(long id) {
+        assert id > 0 : "Task ids must be positive";
+        this.id = id;
+    }
+
     /**
      * Checks if the task is marked as completed.
      *
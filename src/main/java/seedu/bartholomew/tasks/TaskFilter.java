@@ -0,0 +1,147 @@
+package seedu.bartholomew.tasks;
+
+import java.util.function.Predicate;
+
+/**
+ * Selects tasks by their state rather than their position, as in "delete done", "delete before 1/1/2024",
+ * "mark find:report" or "unmark all".
+ * A filter is written to the journal as {@link #toString()} and read back with {@link #fromString(String)},
+ * so replaying it selects the same tasks it selected when the command ran.
+ */
+public final class TaskFilter implements Predicate<Task> {
+    private static final String ALL = "all";
+    private static final String DONE = "done";
+    private static final String BEFORE = "before ";
+    private static final String CONTAINING = "find ";
+
+    /**
+     * The ways in which a filter can select tasks.
+     */
+    private enum Kind {
+        ALL,
+        DONE,
+        BEFORE,
+        CONTAINING
+    }
+
+    private final Kind kind;
+
+    /** The epoch minute tasks must end before, for {@link Kind#BEFORE} filters. */
+    private final long beforeEpochMinute;
+
+    /** The lower case term descriptions must contain, for {@link Kind#CONTAINING} filters. */
+    private final String term;
+
+    private TaskFilter(Kind kind, long beforeEpochMinute, String term) {
+        this.kind = kind;
+        this.beforeEpochMinute = beforeEpochMinute;
+        this.term = term;
+    }
+
+    /**
+     * Returns a filter that selects every task.
+     *
+     * @return The filter
+     */
+    public static TaskFilter all() {
+        return new TaskFilter(Kind.ALL, 0, null);
+    }
+
+    /**
+     * Returns a filter that selects every task marked as done.
+     *
+     * @return The filter
+     */
+    public static TaskFilter done() {
+        return new TaskFilter(Kind.DONE, 0, null);
+    }
+
+    /**
+     * Returns a filter that selects deadlines due before the given time and events that end before it.
+     * Todos have no time, so they are never selected.
+     *
+     * @param epochMinute The time, in minutes since 1 January 1970, 00:00
+     * @return The filter
+     */
+    public static TaskFilter before(long epochMinute) {
+        return new TaskFilter(Kind.BEFORE, epochMinute, null);
+    }
+
+    /**
+     * Returns a filter that selects the tasks whose description contains the given term, ignoring case,
+     * which are the tasks the find command shows for it.
+     *
+     * @param term The term to look for, which must not be blank
+     * @return The filter
+     */
+    public static TaskFilter containing(String term) {
+        assert !term.isBlank() : "Search term cannot be blank";
+        return new TaskFilter(Kind.CONTAINING, 0, term.toLowerCase());
+    }
+
+    /**
+     * Parses a filter written by {@link #toString()}.
+     *
+     * @param input The filter to parse, "all", "done", "before EPOCH_MINUTE" or "find TERM"
+     * @return The filter, or null if the input is not recognised
+     */
+    public static TaskFilter fromString(String input) {
+        String trimmed = input.trim();
+        if (trimmed.equals(ALL)) {
+            return all();
+        }
+        if (trimmed.equals(DONE)) {
+            return done();
+        }
+        if (trimmed.startsWith(CONTAINING)) {
+            String searchTerm = trimmed.substring(CONTAINING.length());
+            return searchTerm.isBlank() ? null : containing(searchTerm);
+        }
+        if (trimmed.startsWith(BEFORE)) {
+            try {
+                return before(Long.parseLong(trimmed.substring(BEFORE.length()).trim()));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean test(Task task) {
+        switch (kind) {
+        case ALL:
+            return true;
+        case DONE:
+            return task.isDone();
+        case CONTAINING:
+            return task.getDescription().toLowerCase().contains(term);
+        case BEFORE:
+            if (task instanceof Deadline) {
+                return ((Deadline) task).getDueEpochMinute() < beforeEpochMinute;
+            }
+            if (task instanceof Event) {
+                return ((Event) task).getToEpochMinute() < beforeEpochMinute;
+            }
+            return false;
+        default:
+            throw new IllegalStateException("Unknown filter kind: " + kind);
+        }
+    }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+        case ALL:
+            return ALL;
+        case DONE:
+            return DONE;
+        case CONTAINING:
+            return CONTAINING + term;
+        case BEFORE:
+            return BEFORE + beforeEpochMinute;
+        default:
+            throw new IllegalStateException("Unknown filter kind: " + kind);
+        }
+    }
+}
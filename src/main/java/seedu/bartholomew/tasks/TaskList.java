@@ -1,18 +1,80 @@
 package seedu.bartholomew.tasks;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import seedu.bartholomew.exceptions.BartholomewExceptions;
 
 /**
  * Manages a collection of tasks with operations to add, delete, and modify tasks.
  * Provides methods for task management and retrieval.
+ * <p>
+ * Besides their one-based position, tasks are identified by a stable id, assigned in increasing order as
+ * they are added. A hash index finds the position of a task from its id. Deleting a task only invalidates
+ * the index entries of the tasks after it, which are rebuilt the next time an id is looked up; that costs
+ * the same order of work as shifting those tasks down in the list, which the delete does anyway.
+ * <p>
+ * Task lists {@linkplain #backedBy(List) backed by} an {@link IndexedTaskTree} delete in O(log n) instead,
+ * so deletes stay fast for very long lists, but the first id lookup after a delete still re-indexes the tasks
+ * after the deleted one.
+ * <p>
+ * Word searches use an inverted index from the words of descriptions to task ids, which is built on the first
+ * word search and then updated as tasks are added and deleted one at a time. Bulk deletes drop it instead,
+ * and it is rebuilt on the next word search. Fuzzy searches use the same index.
+ * <p>
+ * Substring searches work the same way with an index from the trigrams of lower case descriptions to task ids.
+ * Only the tasks that hold every trigram of the search term are checked, so the results are exactly those of
+ * checking every task. Search terms shorter than a trigram, or whose trigrams are so common that most tasks
+ * would be checked anyway, are still answered by checking every task, as are all searches of task lists backed by
+ * a {@link ColumnarTaskStore}, whose point is to save the memory such an index takes.
+ * <p>
+ * Every change to the task list increases its {@linkplain #getVersion() version}. Search results are kept in
+ * a small {@link QueryCache} until the next change, so repeating a search before anything changes returns
+ * the same results without searching again. Results holding many tasks are not kept.
  */
 public class TaskList {
-    private ArrayList<Task> tasks;
+    /** Substring searches check every task when the rarest trigram of the term is in more than 1/8 of them. */
+    private static final int MAX_CANDIDATE_FRACTION = 8;
+
+    /** Checks every task for the substring searches the trigram index cannot answer, in parallel for long lists. */
+    private static final ParallelTaskScan SCAN = new ParallelTaskScan();
+
+    /** Number of search results kept. */
+    private static final int RESULT_CACHE_CAPACITY = 32;
+
+    /**
+     * Number of tasks kept in all search results together. Results from lists that build tasks on demand hold
+     * tasks that would otherwise be dropped, so this stays close to the number of tasks such lists keep.
+     */
+    private static final int RESULT_CACHE_TASKS = 16 * 1024;
+
+    private List<Task> tasks;
+
+    /** Zero-based positions of tasks by id, correct for the first {@code indexedCount} tasks only. */
+    private final Map<Long, Integer> positionsById = new HashMap<>();
+    private int indexedCount;
+
+    /** The id the next added task gets, or 0 until the ids of existing tasks have been looked at. */
+    private long nextId;
+
+    /** Index of the words in task descriptions, built by the first word search and kept up to date after that. */
+    private TokenIndex tokenIndex;
+
+    /** Index of the trigrams in task descriptions, built by the first substring search and kept up to date. */
+    private TrigramIndex trigramIndex;
+
+    /** Increased by every change to the tasks, so that answers computed before it can be told apart. */
+    private long version;
+
+    private final QueryCache<List<Task>> resultCache =
+            new QueryCache<>(RESULT_CACHE_CAPACITY, RESULT_CACHE_TASKS, List::size);
     
     /**
      * Creates a new empty task list.
@@ -29,6 +91,50 @@ public class TaskList {
     public TaskList(List<Task> tasks) {
         assert tasks != null : "Tasks list cannot be null";
         this.tasks = new ArrayList<>(tasks);
+        // The task objects are held by this list, so tasks made before tasks had ids can be numbered in place
+        long next = 1;
+        for (Task task : this.tasks) {
+            if (task.getId() < next) {
+                task.setId(next);
+            }
+            next = task.getId() + 1;
+        }
+        nextId = next;
+    }
+
+    /**
+     * Creates a task list that holds its tasks in the given list instead of a copy of it.
+     * This lets a task list be backed by a list that builds its tasks lazily or stores them compactly.
+     * Changes to a task made through this task list are written back with {@link List#set(int, Object)},
+     * so the backing list may hand out a different task object on every call to {@link List#get(int)}.
+     * For the same reason, the tasks are not given ids here; the storage gives ids to every task it loads.
+     *
+     * @param tasks The list that holds the tasks
+     * @return A task list backed by the given list
+     */
+    public static TaskList backedBy(List<Task> tasks) {
+        assert tasks != null : "Tasks list cannot be null";
+        TaskList taskList = new TaskList();
+        taskList.tasks = tasks;
+        return taskList;
+    }
+
+    /**
+     * Gets the version of the task list, which increases whenever a task is added, deleted, marked or unmarked.
+     * An answer computed from the task list is up to date for as long as the version stays the same.
+     *
+     * @return The version of the task list
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Increases the version and drops the search results of the previous version, after a change to the tasks.
+     */
+    private void changed() {
+        version++;
+        resultCache.clear();
     }
     
     /**
@@ -38,7 +144,129 @@ public class TaskList {
      */
     public void addTask(Task task) {
         assert task != null : "Cannot add null task";
+        long id = task.getId();
+        if (id < getNextId()) {
+            // Keeps ids unique and increasing along the list
+            id = nextId;
+            task.setId(id);
+        }
+        nextId = id + 1;
         tasks.add(task);
+        changed();
+        if (indexedCount == tasks.size() - 1) {
+            positionsById.put(id, indexedCount);
+            indexedCount++;
+        }
+        if (tokenIndex != null) {
+            tokenIndex.add(task);
+        }
+        if (trigramIndex != null) {
+            if (TrigramIndex.canIndex(id)) {
+                trigramIndex.add(id, task.getDescription().toLowerCase());
+            } else {
+                trigramIndex = null;
+            }
+        }
+    }
+
+    /**
+     * Gets the one-based position of the task with the given id.
+     * Takes constant time unless tasks were deleted before the task since the last lookup.
+     *
+     * @param id The id of the task
+     * @return The one-based index of the task
+     * @throws BartholomewExceptions.UnknownTaskIdException If no task has the id
+     */
+    public int getTaskNumber(long id) throws BartholomewExceptions.UnknownTaskIdException {
+        int position = findPosition(id);
+        if (position < 0) {
+            throw new BartholomewExceptions.UnknownTaskIdException(id);
+        }
+        return position + 1;
+    }
+
+    /**
+     * Finds the zero-based position of the task with the given id.
+     *
+     * @return The position, or -1 if no task has the id
+     */
+    private int findPosition(long id) {
+        Integer position = positionsById.get(id);
+        if (position == null || position >= indexedCount) {
+            indexRemainingTasks();
+            position = positionsById.get(id);
+        }
+        return position == null ? -1 : position;
+    }
+
+    /**
+     * Gets a task by its id.
+     *
+     * @param id The id of the task
+     * @return The task
+     * @throws BartholomewExceptions.UnknownTaskIdException If no task has the id
+     */
+    public Task getTaskById(long id) throws BartholomewExceptions.UnknownTaskIdException {
+        return tasks.get(getTaskNumber(id) - 1);
+    }
+
+    private void indexRemainingTasks() {
+        ListIterator<Task> remaining = tasks.listIterator(indexedCount);
+        while (remaining.hasNext()) {
+            int position = remaining.nextIndex();
+            long id = remaining.next().getId();
+            if (id > 0) {
+                positionsById.put(id, position);
+            }
+        }
+        indexedCount = tasks.size();
+    }
+
+    /**
+     * Forgets the index entries of a removed task and of every task that was after it,
+     * and removes the task's words and trigrams from the search indexes. Also increases the version.
+     *
+     * @param position The zero-based position the task was removed from
+     * @param removed The removed task
+     */
+    private void unindex(int position, Task removed) {
+        changed();
+        positionsById.remove(removed.getId());
+        indexedCount = Math.min(indexedCount, position);
+        if (tokenIndex != null) {
+            tokenIndex.remove(removed);
+        }
+        if (trigramIndex != null) {
+            trigramIndex.remove(removed.getId(), removed.getDescription().toLowerCase());
+        }
+    }
+
+    private long getNextId() {
+        if (nextId == 0) {
+            nextId = findNextId();
+        }
+        return nextId;
+    }
+
+    /**
+     * Finds the id to give the next added task.
+     * Ids increase along the list, so that is the last task's id plus one. Only if the last task has no id,
+     * as after hand-editing the task file, is every task read to find the largest id. Ids are never written
+     * back into the tasks here, since that would make a list that builds tasks on demand keep every task.
+     */
+    private long findNextId() {
+        if (tasks.isEmpty()) {
+            return 1;
+        }
+        long lastId = tasks.get(tasks.size() - 1).getId();
+        if (lastId > 0) {
+            return lastId + 1;
+        }
+        long largestId = 0;
+        for (Task task : tasks) {
+            largestId = Math.max(largestId, task.getId());
+        }
+        return largestId + 1;
     }
     
     /**
@@ -52,7 +280,9 @@ public class TaskList {
         if (index < 1 || index > tasks.size()) {
             throw new BartholomewExceptions.InvalidTaskNumberException(index);
         }
-        return tasks.remove(index - 1);
+        Task removed = tasks.remove(index - 1);
+        unindex(index - 1, removed);
+        return removed;
     }
     
     public List<Task> deleteMultipleTasks(List<Integer> indices) throws BartholomewExceptions.InvalidTaskNumberException {
@@ -71,12 +301,61 @@ public class TaskList {
         Collections.sort(sortedIndices, Collections.reverseOrder());
         
         for (int index : sortedIndices) {
-            tasks.remove(index - 1);
+            unindex(index - 1, tasks.remove(index - 1));
         }
         
         return deletedTasks;
     }
 
+    /**
+     * Deletes every task in a range of positions.
+     * The tasks after the range are moved down in a single pass, rather than once per deleted task.
+     *
+     * @param from The one-based index of the first task to delete
+     * @param to The one-based index of the last task to delete
+     * @return The number of tasks deleted
+     * @throws BartholomewExceptions.InvalidTaskNumberException If either index is invalid
+     */
+    public int deleteTaskRange(int from, int to) throws BartholomewExceptions.InvalidTaskNumberException {
+        if (from < 1 || from > tasks.size()) {
+            throw new BartholomewExceptions.InvalidTaskNumberException(from);
+        }
+        if (to < from || to > tasks.size()) {
+            throw new BartholomewExceptions.InvalidTaskNumberException(to);
+        }
+        tasks.subList(from - 1, to).clear();
+        clearIndex();
+        return to - from + 1;
+    }
+
+    /**
+     * Deletes every task that matches the filter.
+     * The list is compacted in a single pass, so this takes O(n) time however many tasks are deleted.
+     *
+     * @param filter The filter selecting the tasks to delete
+     * @return The number of tasks deleted
+     */
+    public int deleteMatchingTasks(Predicate<Task> filter) {
+        int sizeBefore = tasks.size();
+        if (tasks.removeIf(filter)) {
+            clearIndex();
+        }
+        return sizeBefore - tasks.size();
+    }
+
+    /**
+     * Forgets every entry of the id index and drops the search indexes, which are rebuilt the next time
+     * they are needed, and increases the version. Used after deleting many tasks at once, where rebuilding costs
+     * no more than the delete did.
+     */
+    private void clearIndex() {
+        changed();
+        positionsById.clear();
+        indexedCount = 0;
+        tokenIndex = null;
+        trigramIndex = null;
+    }
+
     /**
      * Marks a task as completed.
      *
@@ -90,6 +369,8 @@ public class TaskList {
         }
         Task task = tasks.get(index - 1);
         task.markTask();
+        tasks.set(index - 1, task);
+        changed();
         return task;
     }
     
@@ -106,9 +387,103 @@ public class TaskList {
         }
         Task task = tasks.get(index - 1);
         task.unmarkTask();
+        tasks.set(index - 1, task);
+        changed();
         return task;
     }
     
+    /**
+     * Marks several tasks as completed or not completed.
+     * Every index is checked before any task is changed.
+     *
+     * @param indices The one-based indices of the tasks
+     * @param isDone Whether to mark the tasks as completed
+     * @return The number of tasks whose completion status changed
+     * @throws BartholomewExceptions.InvalidTaskNumberException If any index is invalid
+     */
+    public int markTasks(List<Integer> indices, boolean isDone)
+            throws BartholomewExceptions.InvalidTaskNumberException {
+        for (int index : indices) {
+            if (index < 1 || index > tasks.size()) {
+                throw new BartholomewExceptions.InvalidTaskNumberException(index);
+            }
+        }
+        int changedCount = 0;
+        for (int index : indices) {
+            ListIterator<Task> position = tasks.listIterator(index - 1);
+            if (setDone(position, position.next(), isDone)) {
+                changedCount++;
+            }
+        }
+        return changedCount;
+    }
+
+    /**
+     * Marks every task in a range of positions as completed or not completed, in one pass over the range.
+     *
+     * @param from The one-based index of the first task
+     * @param to The one-based index of the last task
+     * @param isDone Whether to mark the tasks as completed
+     * @return The number of tasks whose completion status changed
+     * @throws BartholomewExceptions.InvalidTaskNumberException If either index is invalid
+     */
+    public int markTaskRange(int from, int to, boolean isDone)
+            throws BartholomewExceptions.InvalidTaskNumberException {
+        if (from < 1 || from > tasks.size()) {
+            throw new BartholomewExceptions.InvalidTaskNumberException(from);
+        }
+        if (to < from || to > tasks.size()) {
+            throw new BartholomewExceptions.InvalidTaskNumberException(to);
+        }
+        int changedCount = 0;
+        ListIterator<Task> position = tasks.listIterator(from - 1);
+        for (int i = from; i <= to; i++) {
+            if (setDone(position, position.next(), isDone)) {
+                changedCount++;
+            }
+        }
+        return changedCount;
+    }
+
+    /**
+     * Marks every task that matches the filter as completed or not completed, in one pass over the list.
+     *
+     * @param filter The filter selecting the tasks
+     * @param isDone Whether to mark the tasks as completed
+     * @return The number of tasks whose completion status changed
+     */
+    public int markMatchingTasks(Predicate<Task> filter, boolean isDone) {
+        int changedCount = 0;
+        ListIterator<Task> position = tasks.listIterator();
+        while (position.hasNext()) {
+            Task task = position.next();
+            if (filter.test(task) && setDone(position, task, isDone)) {
+                changedCount++;
+            }
+        }
+        return changedCount;
+    }
+
+    /**
+     * Sets the completion status of the task last returned by the iterator, writing it back and increasing
+     * the version if it changed.
+     *
+     * @return true if the completion status changed, false if the task already had it
+     */
+    private boolean setDone(ListIterator<Task> position, Task task, boolean isDone) {
+        if (task.isDone() == isDone) {
+            return false;
+        }
+        changed();
+        if (isDone) {
+            task.markTask();
+        } else {
+            task.unmarkTask();
+        }
+        position.set(task);
+        return true;
+    }
+
     /**
      * Gets a task by its index.
      *
@@ -123,21 +498,170 @@ public class TaskList {
         return tasks.get(index - 1);
     }
 
+    /**
+     * Gets the tasks in a range of positions.
+     *
+     * @param from The one-based index of the first task in the range
+     * @param to The one-based index of the last task in the range
+     * @return A list containing the tasks in the range, in order
+     * @throws BartholomewExceptions.InvalidTaskNumberException If either index is invalid
+     */
+    public List<Task> getTasks(int from, int to) throws BartholomewExceptions.InvalidTaskNumberException {
+        if (from < 1 || from > tasks.size()) {
+            throw new BartholomewExceptions.InvalidTaskNumberException(from);
+        }
+        if (to < from || to > tasks.size()) {
+            throw new BartholomewExceptions.InvalidTaskNumberException(to);
+        }
+        return new ArrayList<>(tasks.subList(from - 1, to));
+    }
+
     /**
      * Searches for tasks containing the given search term in their description.
      * Case-insensitive search.
+     * Task lists backed by a {@link ColumnarTaskStore} are searched without building every task.
+     * Other task lists answer search terms of at least three characters from the trigram index, which is built
+     * on the first such search; only the tasks it finds are checked, unless they are a large part of the list.
+     * Otherwise every task is checked, in parallel chunks for long lists.
      * 
      * @param searchTerm The term to search for
-     * @return A list of tasks matching the search term
+     * @return An unmodifiable list of tasks matching the search term
      */
     public List<Task> findTasks(String searchTerm) {
+        return findCached("find " + searchTerm.toLowerCase(), () -> searchTasks(searchTerm));
+    }
+
+    private List<Task> searchTasks(String searchTerm) {
+        if (tasks instanceof ColumnarTaskStore) {
+            // The store is chosen to save memory, which the trigram index would spend again
+            return ((ColumnarTaskStore) tasks).findTasks(searchTerm);
+        }
         String searchTermLower = searchTerm.toLowerCase();
-        
-        return tasks.stream()
-            .filter(task -> task.getDescription().toLowerCase().contains(searchTermLower))
-            .collect(Collectors.toList());
+        if (searchTermLower.length() >= TrigramIndex.GRAM_LENGTH) {
+            if (trigramIndex == null) {
+                trigramIndex = buildTrigramIndex();
+            }
+            // Looking up many candidates by id costs more than checking every task in order
+            long[] candidateIds = trigramIndex == null
+                    ? null
+                    : trigramIndex.findCandidates(searchTermLower, tasks.size() / MAX_CANDIDATE_FRACTION);
+            if (candidateIds != null) {
+                List<Task> candidates = getTasksByIds(candidateIds);
+                candidates.removeIf(task -> !task.getDescription().toLowerCase().contains(searchTermLower));
+                return candidates;
+            }
+        }
+        return SCAN.findTasks(tasks, searchTerm);
     }
     
+    /**
+     * Searches for tasks whose descriptions contain every word of the query, ignoring case.
+     * Unlike {@link #findTasks(String)}, query words must match whole words of the description,
+     * except that a query word ending in "*" matches any word that starts with it, as in "team meet*".
+     * Answered from the word index, so it takes time in proportion to the matching tasks, not the whole list.
+     *
+     * @param query The words to search for
+     * @return An unmodifiable list of the matching tasks, in list order
+     */
+    public List<Task> findTasksByWords(String query) {
+        return findCached("find w/" + query.strip(), () -> {
+            if (tokenIndex == null) {
+                tokenIndex = buildTokenIndex();
+            }
+            return getTasksByIds(tokenIndex.find(query));
+        });
+    }
+
+    /**
+     * Searches for tasks whose descriptions contain, for every word of the query, a word within the given number
+     * of typos of it, ignoring case. A typo is one character inserted, deleted or replaced, so "meetng" is one
+     * typo away from "meeting". Words are looked up in the word index, so this does not compare the query with
+     * every task.
+     *
+     * @param query The words to search for
+     * @param maxEdits The largest number of typos allowed in each word
+     * @return An unmodifiable list of the matching tasks, in list order
+     */
+    public List<Task> findTasksFuzzy(String query, int maxEdits) {
+        assert maxEdits >= 0 : "Number of edits cannot be negative";
+        return findCached("find~" + maxEdits + " " + query.strip(), () -> {
+            if (tokenIndex == null) {
+                tokenIndex = buildTokenIndex();
+            }
+            return getTasksByIds(tokenIndex.findFuzzy(query, maxEdits));
+        });
+    }
+
+    /**
+     * Gets the results of a search from the result cache, or runs the search and caches its results
+     * if they are not there for the current version.
+     *
+     * @param query The normalized search, which tells apart every search that can have different results
+     * @param search Runs the search
+     * @return The results, which cannot be modified since they may be returned again
+     */
+    private List<Task> findCached(String query, Supplier<List<Task>> search) {
+        List<Task> found = resultCache.get(query, version);
+        if (found == null) {
+            found = Collections.unmodifiableList(search.get());
+            resultCache.put(query, version, found);
+        }
+        return found;
+    }
+
+    /**
+     * Gets the tasks with the given ids from one of the search indexes.
+     *
+     * @param ids The ids, all of tasks in the list
+     * @return The tasks, in list order
+     */
+    private List<Task> getTasksByIds(long[] ids) {
+        int[] positions = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            positions[i] = findPosition(ids[i]);
+            assert positions[i] >= 0 : "Search index holds a task that is not in the list";
+        }
+        // Ids follow list order unless a loaded file had them out of order
+        Arrays.sort(positions);
+        List<Task> matchingTasks = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            matchingTasks.add(tasks.get(position));
+        }
+        return matchingTasks;
+    }
+
+    private TokenIndex buildTokenIndex() {
+        TokenIndex index = new TokenIndex();
+        for (Task task : tasks) {
+            // Only a hand-edited file can leave a task without an id
+            if (task.getId() > 0) {
+                index.add(task);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Builds the trigram index of every task.
+     *
+     * @return The index, or null if some task has no id or one that does not fit in it,
+     *     in which case substring searches check every task
+     */
+    private TrigramIndex buildTrigramIndex() {
+        if (!TrigramIndex.canIndex(getNextId() - 1)) {
+            return null;
+        }
+        TrigramIndex index = new TrigramIndex();
+        for (Task task : tasks) {
+            // Skipping a task, as the word index does, would leave it out of the results
+            if (!TrigramIndex.canIndex(task.getId())) {
+                return null;
+            }
+            index.add(task.getId(), task.getDescription().toLowerCase());
+        }
+        return index;
+    }
+
     /**
      * Gets all tasks in the task list.
      * Returns a defensive copy to prevent external modification of the internal list.
@@ -147,6 +671,19 @@ public class TaskList {
     public List<Task> getTasks() {
         return new ArrayList<>(tasks);
     }
+
+    /**
+     * Gets a copy of all tasks that later changes to the task list do not affect, for saving it.
+     * Lists that build tasks on demand are copied without building every task, if they are {@link Snapshottable}.
+     *
+     * @return An unmodifiable copy of the tasks
+     */
+    public List<Task> snapshot() {
+        if (tasks instanceof Snapshottable) {
+            return ((Snapshottable) tasks).snapshot();
+        }
+        return Collections.unmodifiableList(new ArrayList<>(tasks));
+    }
     
     /**
      * Gets the number of tasks in the task list.
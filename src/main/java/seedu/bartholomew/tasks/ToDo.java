@@ -22,7 +22,7 @@ public class ToDo extends Task {
      * @return The string representation of the to-do task
      */
     @Override
-    public String toString() {
-        return "[T]" + super.toString();
+    protected String render() {
+        return "[T]" + super.render();
     }
 }
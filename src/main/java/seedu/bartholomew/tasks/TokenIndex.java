@@ -0,0 +1,336 @@
+package seedu.bartholomew.tasks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * An inverted index from the words in task descriptions to the ids of the tasks that contain them.
+ * A word is a run of letters and digits, folded to lower case, so "Team-meeting!" holds "team" and "meeting".
+ * <p>
+ * The ids of each word are kept sorted in a growable array. Since tasks are added with increasing ids,
+ * adding a task appends to the end of each of its words' arrays. A query looks up each of its words and
+ * intersects their arrays, so it costs about as much as the matching ids rather than the whole list.
+ * Words are kept in a sorted map, so a prefix query walks just the words that start with the prefix.
+ * <p>
+ * Fuzzy queries, which tolerate typos, run the edit distance table of each query word down the sorted words
+ * as if they were a trie, which amounts to running a Levenshtein automaton of the word over them. Words that
+ * share a prefix share the table rows for it, and every word under a prefix that is already too far from the
+ * query word is skipped at once. The sorted words are the keys of the index itself, so there is nothing
+ * extra to build or keep up to date.
+ */
+final class TokenIndex {
+    /** Marks a query word as a prefix, as in "meet*". */
+    private static final char PREFIX_MARKER = '*';
+
+    private static final long[] NO_IDS = new long[0];
+
+    private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+
+    /**
+     * Adds a task's words to the index. The task must already have an id.
+     *
+     * @param task The task to add
+     */
+    void add(Task task) {
+        assert task.getId() > 0 : "Only tasks with ids can be indexed";
+        for (String word : tokenize(task.getDescription())) {
+            postings.computeIfAbsent(word, key -> new PostingList()).add(task.getId());
+        }
+    }
+
+    /**
+     * Removes a task's words from the index.
+     *
+     * @param task The task to remove
+     */
+    void remove(Task task) {
+        for (String word : tokenize(task.getDescription())) {
+            PostingList ids = postings.get(word);
+            if (ids != null && ids.remove(task.getId()) && ids.size == 0) {
+                postings.remove(word);
+            }
+        }
+    }
+
+    /**
+     * Finds the tasks whose descriptions contain every word of the query.
+     * A query word ending in "*" matches any word that starts with it.
+     *
+     * @param query The words to look for, separated by spaces, e.g. "team meet*"
+     * @return The ids of the matching tasks, in increasing order
+     */
+    long[] find(String query) {
+        List<PostingList> matches = new ArrayList<>();
+        for (String part : query.trim().split("\\s+")) {
+            boolean isPrefix = part.endsWith(String.valueOf(PREFIX_MARKER));
+            List<String> words = tokenize(part);
+            for (int i = 0; i < words.size(); i++) {
+                String word = words.get(i);
+                PostingList ids = isPrefix && i == words.size() - 1 ? findPrefix(word) : postings.get(word);
+                if (ids == null || ids.size == 0) {
+                    return NO_IDS;
+                }
+                matches.add(ids);
+            }
+        }
+        return intersectAll(matches);
+    }
+
+    /**
+     * Finds the tasks whose descriptions contain, for every word of the query, a word that can be turned into it
+     * with at most the given number of single character insertions, deletions and substitutions.
+     *
+     * @param query The words to look for, separated by spaces, e.g. "team meetng"
+     * @param maxEdits The largest number of edits allowed for each word
+     * @return The ids of the matching tasks, in increasing order
+     */
+    long[] findFuzzy(String query, int maxEdits) {
+        List<PostingList> matches = new ArrayList<>();
+        for (String word : tokenize(query)) {
+            List<PostingList> similar = new ArrayList<>();
+            for (String match : findSimilarWords(word, maxEdits)) {
+                similar.add(postings.get(match));
+            }
+            if (similar.isEmpty()) {
+                return NO_IDS;
+            }
+            matches.add(union(similar));
+        }
+        return intersectAll(matches);
+    }
+
+    /**
+     * Gets the number of distinct words in the index.
+     *
+     * @return The number of words
+     */
+    int getWordCount() {
+        return postings.size();
+    }
+
+    /**
+     * Finds every indexed word within the given edit distance of a word, by walking the sorted words as a trie.
+     * Row {@code d} of the table holds the distances between the first {@code d} characters of the current
+     * word and each prefix of the query word. Once no entry of a row is within the distance, no word that
+     * starts with those {@code d} characters can be, so all of them are skipped.
+     *
+     * @param word The word to look for, in lower case
+     * @param maxEdits The largest number of single character insertions, deletions and substitutions
+     *     that may turn the word into a match
+     * @return The matching words, in sorted order
+     */
+    List<String> findSimilarWords(String word, int maxEdits) {
+        List<String> matches = new ArrayList<>();
+        int[][] rows = new int[word.length() + maxEdits + 1][];
+        rows[0] = new int[word.length() + 1];
+        for (int i = 0; i <= word.length(); i++) {
+            rows[0][i] = i;
+        }
+        String previous = "";
+        int validRows = 0;
+        String candidate = postings.isEmpty() ? null : postings.firstKey();
+        while (candidate != null) {
+            int depth = Math.min(commonPrefixLength(previous, candidate), validRows);
+            String next = null;
+            for (; depth < candidate.length(); depth++) {
+                if (depth + 1 >= rows.length) {
+                    // Longer than the word plus the allowed insertions, and so are all words that start the same
+                    next = postings.ceilingKey(candidate.substring(0, depth + 1) + Character.MAX_VALUE);
+                    break;
+                }
+                if (rows[depth + 1] == null) {
+                    rows[depth + 1] = new int[word.length() + 1];
+                }
+                int[] row = rows[depth + 1];
+                int[] above = rows[depth];
+                char c = candidate.charAt(depth);
+                row[0] = depth + 1;
+                int rowMin = row[0];
+                for (int i = 1; i <= word.length(); i++) {
+                    int substitution = above[i - 1] + (word.charAt(i - 1) == c ? 0 : 1);
+                    row[i] = Math.min(substitution, Math.min(above[i], row[i - 1]) + 1);
+                    rowMin = Math.min(rowMin, row[i]);
+                }
+                if (rowMin > maxEdits) {
+                    next = postings.ceilingKey(candidate.substring(0, depth + 1) + Character.MAX_VALUE);
+                    break;
+                }
+            }
+            if (depth == candidate.length()) {
+                if (rows[depth][word.length()] <= maxEdits) {
+                    matches.add(candidate);
+                }
+                next = postings.higherKey(candidate);
+            }
+            previous = candidate;
+            validRows = depth;
+            candidate = next;
+        }
+        return matches;
+    }
+
+    private static int commonPrefixLength(String first, String second) {
+        int length = Math.min(first.length(), second.length());
+        int i = 0;
+        while (i < length && first.charAt(i) == second.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Collects the ids of every word that starts with the prefix into one sorted list.
+     */
+    private PostingList findPrefix(String prefix) {
+        Collection<PostingList> lists = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+        return lists.isEmpty() ? null : union(lists);
+    }
+
+    /**
+     * Keeps the ids that are in every one of the lists.
+     *
+     * @return The ids, in increasing order
+     */
+    private static long[] intersectAll(List<PostingList> matches) {
+        if (matches.isEmpty()) {
+            return NO_IDS;
+        }
+        // Intersecting from the rarest word keeps every step as small as the final result
+        matches.sort((first, second) -> Integer.compare(first.size, second.size));
+        long[] result = matches.get(0).toArray();
+        int count = result.length;
+        for (int i = 1; i < matches.size() && count > 0; i++) {
+            count = intersect(result, count, matches.get(i));
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Merges the ids of several words into one sorted list, without repeats.
+     * A single list is returned as it is.
+     */
+    private static PostingList union(Collection<PostingList> lists) {
+        if (lists.size() == 1) {
+            return lists.iterator().next();
+        }
+        PostingList union = new PostingList();
+        int total = 0;
+        for (PostingList ids : lists) {
+            total += ids.size;
+        }
+        union.ids = new long[total];
+        for (PostingList ids : lists) {
+            System.arraycopy(ids.ids, 0, union.ids, union.size, ids.size);
+            union.size += ids.size;
+        }
+        Arrays.sort(union.ids);
+        int distinct = 0;
+        for (int i = 0; i < union.size; i++) {
+            if (distinct == 0 || union.ids[distinct - 1] != union.ids[i]) {
+                union.ids[distinct++] = union.ids[i];
+            }
+        }
+        union.size = distinct;
+        return union;
+    }
+
+    /**
+     * Keeps only the ids in the first {@code count} entries of {@code result} that are also in {@code other},
+     * looking each of them up in the other list.
+     *
+     * @return The number of ids kept, which are moved to the front of {@code result}
+     */
+    private static int intersect(long[] result, int count, PostingList other) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < count; i++) {
+            int found = Arrays.binarySearch(other.ids, from, other.size, result[i]);
+            if (found >= 0) {
+                result[kept++] = result[i];
+                from = found + 1;
+            } else {
+                from = -found - 1;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Splits text into its distinct words, folded to lower case.
+     *
+     * @param text The text to split
+     * @return The words, in the order they first appear
+     */
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (word.length() > 0) {
+                String token = word.toString();
+                if (!words.contains(token)) {
+                    words.add(token);
+                }
+                word.setLength(0);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * The sorted ids of the tasks that contain one word.
+     */
+    private static final class PostingList {
+        private long[] ids = new long[1];
+        private int size;
+
+        void add(long id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                insert(id);
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        /**
+         * Inserts an id that is not larger than every id already in the list, which only happens
+         * for tasks loaded from a file whose ids are out of order.
+         */
+        private void insert(long id) {
+            int found = Arrays.binarySearch(ids, 0, size, id);
+            if (found >= 0) {
+                return;
+            }
+            int position = -found - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int found = Arrays.binarySearch(ids, 0, size, id);
+            if (found < 0) {
+                return false;
+            }
+            System.arraycopy(ids, found + 1, ids, found, size - found - 1);
+            size--;
+            return true;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package seedu.bartholomew.tasks;
+
+import java.util.Arrays;
+
+/**
+ * An index from every run of three characters (trigram) in the lower case task descriptions to the ids of
+ * the tasks whose descriptions contain it. Any description that contains a search term contains every
+ * trigram of the term, so intersecting the ids of the term's trigrams gives a small set of candidates,
+ * which then only need the usual {@code contains} check instead of checking every task.
+ * <p>
+ * Trigrams are packed into longs and kept in an open addressing hash table, and the ids of each trigram
+ * in a sorted int array, so the index holds no object per trigram occurrence. Ids are therefore limited to
+ * {@link Integer#MAX_VALUE}; {@link #canIndex(long)} tells whether a task's id fits.
+ */
+final class TrigramIndex {
+    /** Number of characters in a trigram; shorter search terms cannot be looked up. */
+    static final int GRAM_LENGTH = 3;
+
+    /** Set in every packed trigram, so that a key of 0 marks an empty slot in the table. */
+    private static final long PRESENT = 1L << 48;
+
+    private static final long[] NO_IDS = new long[0];
+
+    private long[] keys = new long[1024];
+    private int[] postingIndices = new int[1024];
+    private int[][] postings = new int[256][];
+    private int[] postingSizes = new int[256];
+    private int gramCount;
+
+    /**
+     * Checks if a task id can be stored in the index.
+     *
+     * @param id The task id
+     * @return true if the id fits in the index, false otherwise
+     */
+    static boolean canIndex(long id) {
+        return id > 0 && id <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * Adds the trigrams of a task's description to the index.
+     *
+     * @param id The id of the task, which must fit in the index
+     * @param lowerCaseDescription The description of the task, in lower case
+     */
+    void add(long id, String lowerCaseDescription) {
+        assert canIndex(id) : "Task id does not fit in the index";
+        for (long gram : distinctGrams(lowerCaseDescription)) {
+            int slot = findSlot(gram, true);
+            append(postingIndices[slot], (int) id);
+        }
+    }
+
+    /**
+     * Removes the trigrams of a task's description from the index.
+     *
+     * @param id The id of the task
+     * @param lowerCaseDescription The description of the task, in lower case
+     */
+    void remove(long id, String lowerCaseDescription) {
+        if (!canIndex(id)) {
+            return;
+        }
+        for (long gram : distinctGrams(lowerCaseDescription)) {
+            int slot = findSlot(gram, false);
+            if (slot < 0) {
+                continue;
+            }
+            int posting = postingIndices[slot];
+            int size = postingSizes[posting];
+            int found = Arrays.binarySearch(postings[posting], 0, size, (int) id);
+            if (found >= 0) {
+                System.arraycopy(postings[posting], found + 1, postings[posting], found, size - found - 1);
+                postingSizes[posting]--;
+            }
+        }
+    }
+
+    /**
+     * Finds the tasks whose descriptions contain every trigram of the search term.
+     * Every task whose description contains the term is among them, but not every candidate contains it.
+     *
+     * @param lowerCaseTerm The search term, in lower case, at least {@link #GRAM_LENGTH} characters long
+     * @param limit The most candidates worth looking up
+     * @return The ids of the candidate tasks, in increasing order, or null if even the rarest trigram of the term
+     *     is in more than {@code limit} tasks
+     */
+    long[] findCandidates(String lowerCaseTerm, int limit) {
+        assert lowerCaseTerm.length() >= GRAM_LENGTH : "Search term is too short to look up";
+        long[] grams = distinctGrams(lowerCaseTerm);
+        int[] matches = new int[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            int slot = findSlot(grams[i], false);
+            if (slot < 0 || postingSizes[postingIndices[slot]] == 0) {
+                return NO_IDS;
+            }
+            matches[i] = postingIndices[slot];
+        }
+        // Intersecting from the rarest trigram keeps every step as small as the final result
+        Integer[] order = new Integer[matches.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = matches[i];
+        }
+        Arrays.sort(order, (first, second) -> Integer.compare(postingSizes[first], postingSizes[second]));
+
+        int rarest = order[0];
+        if (postingSizes[rarest] > limit) {
+            return null;
+        }
+        int[] result = Arrays.copyOf(postings[rarest], postingSizes[rarest]);
+        int count = result.length;
+        for (int i = 1; i < order.length && count > 0; i++) {
+            count = intersect(result, count, postings[order[i]], postingSizes[order[i]]);
+        }
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = result[i];
+        }
+        return ids;
+    }
+
+    /**
+     * Gets the number of distinct trigrams in the index.
+     *
+     * @return The number of trigrams
+     */
+    int getGramCount() {
+        return gramCount;
+    }
+
+    /**
+     * Keeps only the ids in the first {@code count} entries of {@code result} that are also in {@code other},
+     * looking each of them up in the other array.
+     *
+     * @return The number of ids kept, which are moved to the front of {@code result}
+     */
+    private static int intersect(int[] result, int count, int[] other, int otherSize) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < count; i++) {
+            int found = Arrays.binarySearch(other, from, otherSize, result[i]);
+            if (found >= 0) {
+                result[kept++] = result[i];
+                from = found + 1;
+            } else {
+                from = -found - 1;
+            }
+        }
+        return kept;
+    }
+
+    private void append(int posting, int id) {
+        int[] ids = postings[posting];
+        int size = postingSizes[posting];
+        if (size > 0 && ids[size - 1] >= id) {
+            // Only tasks loaded from a file with ids out of order are not added at the end
+            int found = Arrays.binarySearch(ids, 0, size, id);
+            if (found >= 0) {
+                return;
+            }
+            int position = -found - 1;
+            ids = ensureRoom(posting);
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+        } else {
+            ensureRoom(posting)[size] = id;
+        }
+        postingSizes[posting]++;
+    }
+
+    private int[] ensureRoom(int posting) {
+        int[] ids = postings[posting];
+        if (postingSizes[posting] == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+            postings[posting] = ids;
+        }
+        return ids;
+    }
+
+    /**
+     * Finds the table slot of a trigram.
+     *
+     * @param gram The packed trigram
+     * @param shouldCreate Whether to add the trigram, with no ids yet, if it is not in the table
+     * @return The slot, or -1 if the trigram is not in the table and is not to be created
+     */
+    private int findSlot(long gram, boolean shouldCreate) {
+        int mask = keys.length - 1;
+        int slot = hash(gram) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == gram) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (!shouldCreate) {
+            return -1;
+        }
+        if ((gramCount + 1) * 2 > keys.length) {
+            grow();
+            return findSlot(gram, true);
+        }
+        if (gramCount == postings.length) {
+            postings = Arrays.copyOf(postings, gramCount * 2);
+            postingSizes = Arrays.copyOf(postingSizes, gramCount * 2);
+        }
+        postings[gramCount] = new int[2];
+        keys[slot] = gram;
+        postingIndices[slot] = gramCount++;
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldIndices = postingIndices;
+        keys = new long[oldKeys.length * 2];
+        postingIndices = new int[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == 0) {
+                continue;
+            }
+            int slot = hash(oldKeys[i]) & mask;
+            while (keys[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            postingIndices[slot] = oldIndices[i];
+        }
+    }
+
+    private static int hash(long gram) {
+        long mixed = gram * 0x9E3779B97F4A7C15L;
+        return (int) (mixed >>> 32);
+    }
+
+    /**
+     * Packs every trigram of the text into a long, sorted and without repeats.
+     */
+    private static long[] distinctGrams(String text) {
+        int count = Math.max(0, text.length() - GRAM_LENGTH + 1);
+        long[] grams = new long[count];
+        for (int i = 0; i < count; i++) {
+            grams[i] = PRESENT | (long) text.charAt(i) << 32 | (long) text.charAt(i + 1) << 16 | text.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || grams[distinct - 1] != grams[i]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return distinct == count ? grams : Arrays.copyOf(grams, distinct);
+    }
+}
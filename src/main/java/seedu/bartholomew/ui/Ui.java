@@ -10,6 +10,8 @@ import seedu.bartholomew.tasks.Task;
  * Documentation for this class and its methods was generated using GitHub Copilot.
  */
 public class Ui {
+    /** Typical length of a rendered task line, used to size the buffer for long task lists. */
+    private static final int ESTIMATED_LINE_LENGTH = 80;
     
     /**
      * Constructs a Ui object.
@@ -46,7 +48,7 @@ public class Ui {
      * Documentation generated using GitHub Copilot.
      */
     public String showTaskList(List<Task> tasks) {
-        StringBuilder result = new StringBuilder();
+        StringBuilder result = new StringBuilder(64 + tasks.size() * ESTIMATED_LINE_LENGTH);
         
         if (tasks.isEmpty()) {
             result.append("You have no tasks in your list.\n");
@@ -60,6 +62,24 @@ public class Ui {
         return result.toString();
     }
     
+    /**
+     * Returns a formatted page of the task list.
+     * @param tasks Tasks on the page.
+     * @param firstTaskNo The task number of the first task on the page.
+     * @param page The page number.
+     * @param totalPages The number of pages.
+     * @return Formatted task page string.
+     */
+    public String showTaskPage(List<Task> tasks, int firstTaskNo, int page, int totalPages) {
+        StringBuilder result = new StringBuilder();
+        result.append("Here are the tasks on page ").append(page).append(" of ")
+            .append(totalPages).append(":\n");
+        for (int i = 0; i < tasks.size(); i++) {
+            result.append(firstTaskNo + i).append(". ").append(tasks.get(i).toString()).append("\n");
+        }
+        return result.toString();
+    }
+    
     /**
      * Returns a message indicating a task was added.
      * @param task The task added.
@@ -70,6 +90,7 @@ public class Ui {
     public String showTaskAdded(Task task, int taskCount) {
         String message = "Got it. I've added this task:\n"
                 + "  " + task.toString() + "\n"
+                + (task.getId() > 0 ? "Its id is #" + task.getId() + ".\n" : "")
                 + "Now you have " + taskCount + " task"
                 + (taskCount == 1 ? "" : "s") + " in the list.\n";
         return message;
@@ -112,6 +133,35 @@ public class Ui {
         return message.toString();
     }
     
+    /**
+     * Returns a message counting the tasks removed by a bulk delete, without listing them.
+     * @param removedCount Number of tasks removed.
+     * @param remainingTaskCount Number of tasks remaining.
+     * @return Tasks removed message string.
+     */
+    public String showTasksDeletedCount(int removedCount, int remainingTaskCount) {
+        String message = (removedCount == 0 ? "There were no matching tasks to remove.\n"
+                : "Noted. I've removed " + removedCount + (removedCount == 1 ? " task" : " tasks") + ".\n")
+                + "Now you have " + remainingTaskCount + " task"
+                + (remainingTaskCount == 1 ? "" : "s") + " in the list.\n";
+        return message;
+    }
+
+    /**
+     * Returns a message counting the tasks changed by a bulk mark or unmark, without listing them.
+     * @param changedCount Number of tasks whose completion status changed.
+     * @param isDone Whether the tasks were marked as done.
+     * @return Tasks marked message string.
+     */
+    public String showTasksMarkedCount(int changedCount, boolean isDone) {
+        String status = isDone ? "done" : "not done yet";
+        if (changedCount == 0) {
+            return "All of those tasks were already marked as " + status + ".\n";
+        }
+        return (isDone ? "Nice! " : "OK, ") + "I've marked " + changedCount
+                + (changedCount == 1 ? " task" : " tasks") + " as " + status + ".\n";
+    }
+
     /**
      * Returns a message indicating a task was marked as done.
      * @param task The task marked as done.
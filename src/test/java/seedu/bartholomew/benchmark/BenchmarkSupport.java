@@ -0,0 +1,78 @@
+package seedu.bartholomew.benchmark;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measurements shared by the benchmarks, and the plain edit distance that fuzzy search results are checked against.
+ */
+public final class BenchmarkSupport {
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Runs an action a number of times and returns the fastest run, which is the least disturbed by
+     * garbage collection and compilation.
+     *
+     * @param rounds The number of times to run the action
+     * @param action The action to time
+     * @return The time the fastest run took, in nanoseconds
+     */
+    static long bestNanos(int rounds, Runnable action) {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < rounds; round++) {
+            long start = System.nanoTime();
+            action.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    /**
+     * Collects garbage a few times and returns the heap memory still in use.
+     *
+     * @return The used heap memory in bytes
+     */
+    static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Gets the number of bytes the current thread has allocated so far.
+     *
+     * @return The allocated bytes
+     */
+    static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Computes the number of single character insertions, deletions and substitutions that turn one word
+     * into another, one row of the table at a time.
+     *
+     * @param word The first word
+     * @param other The second word
+     * @return The edit distance between the words
+     */
+    public static int editDistance(String word, String other) {
+        int[] previousRow = new int[other.length() + 1];
+        int[] currentRow = new int[other.length() + 1];
+        for (int j = 0; j <= other.length(); j++) {
+            previousRow[j] = j;
+        }
+        for (int i = 1; i <= word.length(); i++) {
+            currentRow[0] = i;
+            for (int j = 1; j <= other.length(); j++) {
+                int substitution = previousRow[j - 1] + (word.charAt(i - 1) == other.charAt(j - 1) ? 0 : 1);
+                currentRow[j] = Math.min(substitution, Math.min(previousRow[j], currentRow[j - 1]) + 1);
+            }
+            int[] row = previousRow;
+            previousRow = currentRow;
+            currentRow = row;
+        }
+        return previousRow[other.length()];
+    }
+}
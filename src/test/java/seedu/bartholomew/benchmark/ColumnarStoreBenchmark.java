@@ -0,0 +1,58 @@
+package seedu.bartholomew.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import seedu.bartholomew.tasks.ColumnarTaskStore;
+import seedu.bartholomew.tasks.Task;
+import seedu.bartholomew.tasks.TaskList;
+
+/**
+ * Compares keeping a task list as separate task objects in an {@link ArrayList} with keeping it in a
+ * {@link ColumnarTaskStore} with descriptions on and off the heap. For each layout, reports the heap it takes,
+ * how long a full garbage collection takes with it alive, and how long a full scan and a find take.
+ * Heap use is measured as the difference in used memory after garbage collection, so run it with a large heap.
+ * Run with: ./gradlew benchmark -Pbench=ColumnarStoreBenchmark [-Pargs=TASK_COUNT]
+ */
+public class ColumnarStoreBenchmark {
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        System.out.println("Storing " + taskCount + " tasks");
+
+        long baseline = BenchmarkSupport.usedHeap();
+        List<Task> objects = new ArrayList<>(StorageFormatBenchmark.createTasks(taskCount));
+        report("objects", objects, baseline, 0);
+
+        ColumnarTaskStore columns = ColumnarTaskStore.copyOf(objects, false);
+        objects = null;
+        report("columnar", columns, baseline, 0);
+
+        ColumnarTaskStore offHeap = ColumnarTaskStore.copyOf(columns, true);
+        columns = null;
+        report("off-heap", offHeap, baseline, offHeap.getDescriptionBytes());
+    }
+
+    private static void report(String label, List<Task> tasks, long baseline, long offHeapBytes) {
+        long heapBytes = BenchmarkSupport.usedHeap() - baseline;
+        long gcNanos = BenchmarkSupport.bestNanos(ROUNDS, () -> System.gc());
+        long scanNanos = BenchmarkSupport.bestNanos(ROUNDS, () -> scan(tasks));
+        TaskList taskList = TaskList.backedBy(tasks);
+        long findNanos = BenchmarkSupport.bestNanos(ROUNDS, () -> taskList.findTasks("Report 12345"));
+        System.out.printf("%-10s heap %6.1f B/task  off-heap %6.1f B/task  full gc %7.1f ms  "
+                        + "scan %7.1f ms  find %7.1f ms%n",
+                label, (double) heapBytes / tasks.size(), (double) offHeapBytes / tasks.size(),
+                gcNanos / 1e6, scanNanos / 1e6, findNanos / 1e6);
+    }
+
+    private static int scan(List<Task> tasks) {
+        int done = 0;
+        for (Task task : tasks) {
+            if (task.isDone() && task.getDescription().contains("report")) {
+                done++;
+            }
+        }
+        return done;
+    }
+}
@@ -0,0 +1,50 @@
+package seedu.bartholomew.benchmark;
+
+import java.time.LocalDateTime;
+
+import seedu.bartholomew.tasks.EpochMinutes;
+
+/**
+ * Compares the throughput of parsing "d/M/yyyy HHmm" dates with the hand-written fast path
+ * in {@link EpochMinutes#parse(CharSequence)} against parsing them with the DateTimeFormatter,
+ * and how many bytes each parse allocates.
+ * Run with: ./gradlew benchmark -Pbench=DateParseBenchmark [-Pargs=DATE_COUNT]
+ */
+public class DateParseBenchmark {
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        String[] inputs = new String[count];
+        for (int i = 0; i < count; i++) {
+            inputs[i] = (i % 28 + 1) + "/" + (i % 12 + 1) + "/" + (2000 + i % 50) + " "
+                    + String.format("%02d%02d", i % 24, i % 60);
+        }
+
+        System.out.println("Parsing " + count + " dates, timing the last of " + ROUNDS + " rounds");
+        long checksum = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            checksum += run("formatter", inputs, round == ROUNDS - 1, true);
+            checksum += run("fast path", inputs, round == ROUNDS - 1, false);
+        }
+        System.out.println("(checksum " + checksum + ")");
+    }
+
+    private static long run(String label, String[] inputs, boolean shouldPrint, boolean useFormatter) {
+        long allocatedBefore = BenchmarkSupport.allocatedBytes();
+        long start = System.nanoTime();
+        long sum = 0;
+        for (String input : inputs) {
+            sum += useFormatter
+                    ? EpochMinutes.of(LocalDateTime.parse(input, EpochMinutes.INPUT_FORMAT))
+                    : EpochMinutes.parse(input);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = BenchmarkSupport.allocatedBytes() - allocatedBefore;
+        if (shouldPrint) {
+            System.out.printf("%-10s %,12.0f parses/s   %,8.1f bytes allocated per parse%n",
+                    label, inputs.length / (elapsed / 1e9), (double) allocated / inputs.length);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,48 @@
+package seedu.bartholomew.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import seedu.bartholomew.tasks.DescriptionPool;
+import seedu.bartholomew.tasks.Task;
+import seedu.bartholomew.tasks.ToDo;
+
+/**
+ * Measures the heap kept by tasks whose descriptions repeat, as they would after being parsed from a file,
+ * with every description a separate string and with descriptions shared through a {@link DescriptionPool}.
+ * Run with: ./gradlew benchmark -Pbench=DescriptionPoolBenchmark [-Pargs="TASK_COUNT DISTINCT_DESCRIPTIONS"]
+ */
+public class DescriptionPoolBenchmark {
+
+    public static void main(String[] args) {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int distinct = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        System.out.println("Creating " + taskCount + " tasks with " + distinct + " distinct descriptions");
+
+        long baseline = BenchmarkSupport.usedHeap();
+        List<Task> separate = createTasks(taskCount, distinct, null);
+        long separateBytes = BenchmarkSupport.usedHeap() - baseline;
+        separate = null;
+
+        DescriptionPool pool = new DescriptionPool(DescriptionPool.DEFAULT_CAPACITY);
+        baseline = BenchmarkSupport.usedHeap();
+        long start = System.nanoTime();
+        List<Task> pooled = createTasks(taskCount, distinct, pool);
+        long pooledNanos = System.nanoTime() - start;
+        long pooledBytes = BenchmarkSupport.usedHeap() - baseline;
+
+        System.out.printf("%-10s %,14d bytes%n", "separate", separateBytes);
+        System.out.printf("%-10s %,14d bytes  (%.1f ms creating)%n", "pooled", pooledBytes, pooledNanos / 1e6);
+        System.out.println("Pool: " + pool.getReport() + ", " + pooled.size() + " tasks");
+    }
+
+    private static List<Task> createTasks(int count, int distinct, DescriptionPool pool) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // A fresh string each time, like a description read from a file
+            String description = "recurring chore number " + (i % distinct);
+            tasks.add(new ToDo(pool != null ? pool.intern(description) : description));
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,77 @@
+package seedu.bartholomew.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import seedu.bartholomew.tasks.Task;
+import seedu.bartholomew.tasks.TaskList;
+import seedu.bartholomew.tasks.ToDo;
+
+/**
+ * Compares fuzzy searches answered from the word index with comparing the query against every word of
+ * every task, on a list with hundreds of thousands of distinct words.
+ * Also reports how long the first fuzzy search takes, which builds the word index.
+ * Run with: ./gradlew benchmark -Pbench=FuzzySearchBenchmark [-Pargs=TASK_COUNT]
+ */
+public class FuzzySearchBenchmark {
+    private static final String[] COMMON_WORDS = {"call", "email", "review", "meeting", "report", "plan"};
+
+    public static void main(String[] args) {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        Random random = new Random(42);
+        List<Task> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(new ToDo(COMMON_WORDS[i % COMMON_WORDS.length] + " " + randomWord(random)));
+        }
+        TaskList taskList = new TaskList(tasks);
+        String typo = tasks.get(taskCount / 2).getDescription().split(" ")[1].substring(1);
+        System.out.println("Searching " + taskCount + " tasks");
+
+        long start = System.nanoTime();
+        taskList.findTasksFuzzy("meetng", 1);
+        System.out.printf("first search         %9.1f ms (builds the word index)%n", (System.nanoTime() - start) / 1e6);
+
+        for (String query : new String[] {"meetng", "revew call", typo}) {
+            for (int maxEdits = 1; maxEdits <= 2; maxEdits++) {
+                int edits = maxEdits;
+                int matches = taskList.findTasksFuzzy(query, edits).size();
+                long treeNanos = BenchmarkSupport.bestNanos(3, () -> taskList.findTasksFuzzy(query, edits));
+                long bruteNanos = BenchmarkSupport.bestNanos(3, () -> bruteForce(tasks, query, edits));
+                System.out.printf("%-12s ~%d %9.2f ms  every word %9.1f ms  (%d matches)%n",
+                        "\"" + query + "\"", edits, treeNanos / 1e6, bruteNanos / 1e6, matches);
+            }
+        }
+    }
+
+    /**
+     * Makes a word of 5 to 9 random letters, so almost every task has a word no other task has.
+     */
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        int length = 5 + random.nextInt(5);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+
+    private static int bruteForce(List<Task> tasks, String query, int maxEdits) {
+        String[] queryWords = query.split(" ");
+        int matches = 0;
+        for (Task task : tasks) {
+            boolean isMatch = true;
+            for (String queryWord : queryWords) {
+                boolean hasCloseWord = false;
+                for (String word : task.getDescription().split(" ")) {
+                    hasCloseWord |= BenchmarkSupport.editDistance(queryWord, word) <= maxEdits;
+                }
+                isMatch &= hasCloseWord;
+            }
+            if (isMatch) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
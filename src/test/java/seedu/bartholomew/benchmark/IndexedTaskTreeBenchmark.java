@@ -0,0 +1,77 @@
+package seedu.bartholomew.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import seedu.bartholomew.exceptions.BartholomewExceptions;
+import seedu.bartholomew.tasks.IndexedTaskTree;
+import seedu.bartholomew.tasks.Task;
+import seedu.bartholomew.tasks.TaskList;
+
+/**
+ * Compares deleting tasks at random positions from a task list backed by an {@link ArrayList}
+ * with one backed by an {@link IndexedTaskTree}, one task at a time and in batches.
+ * Both lists see the same positions, so the surviving tasks are checked to be the same.
+ * Run with: ./gradlew benchmark -Pbench=IndexedTaskTreeBenchmark [-Pargs="TASK_COUNT DELETE_COUNT"]
+ */
+public class IndexedTaskTreeBenchmark {
+    private static final int BATCH_SIZE = 100;
+
+    public static void main(String[] args) throws BartholomewExceptions.InvalidTaskNumberException {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int deleteCount = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        List<Task> tasks = StorageFormatBenchmark.createTasks(taskCount);
+        System.out.println("Deleting " + deleteCount + " of " + taskCount + " tasks at random positions");
+
+        TaskList arrayList = TaskList.backedBy(new ArrayList<>(tasks));
+        TaskList tree = TaskList.backedBy(new IndexedTaskTree(tasks));
+        report("array list", "single", deleteSingly(arrayList, deleteCount), deleteCount);
+        report("tree", "single", deleteSingly(tree, deleteCount), deleteCount);
+        check(arrayList, tree);
+
+        arrayList = TaskList.backedBy(new ArrayList<>(tasks));
+        tree = TaskList.backedBy(new IndexedTaskTree(tasks));
+        report("array list", "batches", deleteInBatches(arrayList, deleteCount), deleteCount);
+        report("tree", "batches", deleteInBatches(tree, deleteCount), deleteCount);
+        check(arrayList, tree);
+    }
+
+    private static long deleteSingly(TaskList taskList, int deleteCount)
+            throws BartholomewExceptions.InvalidTaskNumberException {
+        Random random = new Random(1);
+        long start = System.nanoTime();
+        for (int i = 0; i < deleteCount; i++) {
+            taskList.deleteTask(random.nextInt(taskList.size()) + 1);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long deleteInBatches(TaskList taskList, int deleteCount)
+            throws BartholomewExceptions.InvalidTaskNumberException {
+        Random random = new Random(2);
+        long start = System.nanoTime();
+        for (int deleted = 0; deleted < deleteCount; deleted += BATCH_SIZE) {
+            List<Integer> indices = new ArrayList<>();
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                int index = random.nextInt(taskList.size()) + 1;
+                if (!indices.contains(index)) {
+                    indices.add(index);
+                }
+            }
+            taskList.deleteMultipleTasks(indices);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static void report(String label, String mode, long nanos, int deleteCount) {
+        System.out.printf("%-10s %-8s %8.1f ms  %8.2f us/delete%n",
+                label, mode, nanos / 1e6, nanos / 1e3 / deleteCount);
+    }
+
+    private static void check(TaskList expected, TaskList actual) {
+        if (!expected.getTasks().equals(actual.getTasks())) {
+            throw new AssertionError("Lists differ after deleting");
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package seedu.bartholomew.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import seedu.bartholomew.tasks.ParallelTaskScan;
+import seedu.bartholomew.tasks.Task;
+
+/**
+ * Measures how substring searches that check every task scale with the number of worker threads,
+ * compared with the sequential stream that lowercases every description.
+ * Run with: ./gradlew benchmark -Pbench=ParallelScanBenchmark [-Pargs=TASK_COUNT]
+ */
+public class ParallelScanBenchmark {
+    private static final String[] TERMS = {"ook", "12", "no such task"};
+
+    public static void main(String[] args) {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<Task> tasks = StorageFormatBenchmark.createTasks(taskCount);
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.println("Scanning " + taskCount + " tasks on up to " + cores + " cores, best of 10 rounds");
+
+        for (String term : TERMS) {
+            List<Task> expected = lowercaseScan(tasks, term);
+            long sequentialNanos = BenchmarkSupport.bestNanos(10, () -> lowercaseScan(tasks, term));
+            System.out.printf("%-16s lowercase stream %8.1f ms (%d matches)%n",
+                    "\"" + term + "\"", sequentialNanos / 1e6, expected.size());
+
+            for (int threads = 1; threads <= cores; threads *= 2) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                ParallelTaskScan scan = new ParallelTaskScan(pool);
+                if (!scan.findTasks(tasks, term).equals(expected)) {
+                    throw new AssertionError("Parallel scan found different tasks for \"" + term + "\"");
+                }
+                long nanos = BenchmarkSupport.bestNanos(10, () -> scan.findTasks(tasks, term));
+                System.out.printf("%-16s %2d threads       %8.1f ms  (%.1fx)%n",
+                        "", threads, nanos / 1e6, (double) sequentialNanos / nanos);
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static List<Task> lowercaseScan(List<Task> tasks, String term) {
+        String termLower = term.toLowerCase();
+        return tasks.stream()
+                .filter(task -> task.getDescription().toLowerCase().contains(termLower))
+                .collect(Collectors.toList());
+    }
+}
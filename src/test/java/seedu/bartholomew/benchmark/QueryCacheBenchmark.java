@@ -0,0 +1,43 @@
+package seedu.bartholomew.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import seedu.bartholomew.exceptions.BartholomewExceptions;
+import seedu.bartholomew.tasks.Task;
+import seedu.bartholomew.tasks.TaskList;
+import seedu.bartholomew.tasks.ToDo;
+
+/**
+ * Compares repeating a search on an unchanged task list, which is answered from the result cache,
+ * with repeating it after every change to the task list, which has to search again.
+ * Searches matching more tasks than the result cache keeps are searched again either way.
+ * Run with: ./gradlew benchmark -Pbench=QueryCacheBenchmark [-Pargs=TASK_COUNT]
+ */
+public class QueryCacheBenchmark {
+    private static final String[] DESCRIPTIONS = {"Read book", "Team meeting", "Submit report", "Call mum"};
+
+    public static void main(String[] args) throws BartholomewExceptions {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        List<Task> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(new ToDo(DESCRIPTIONS[i % DESCRIPTIONS.length] + " " + i));
+        }
+        TaskList taskList = new TaskList(tasks);
+        System.out.println("Searching " + taskCount + " tasks");
+
+        for (String searchTerm : new String[] {"e", "meeting", "99"}) {
+            int matches = taskList.findTasks(searchTerm).size();
+            long cachedNanos = BenchmarkSupport.bestNanos(3, () -> taskList.findTasks(searchTerm));
+            long changedNanos = Long.MAX_VALUE;
+            for (int i = 0; i < 3; i++) {
+                taskList.markTaskAsDone(1 + i);
+                long start = System.nanoTime();
+                taskList.findTasks(searchTerm);
+                changedNanos = Math.min(changedNanos, System.nanoTime() - start);
+            }
+            System.out.printf("%-10s unchanged %9.4f ms  after a change %9.2f ms  (%d matches)%n",
+                    "\"" + searchTerm + "\"", cachedNanos / 1e6, changedNanos / 1e6, matches);
+        }
+    }
+}
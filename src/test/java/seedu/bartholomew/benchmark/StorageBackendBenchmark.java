@@ -0,0 +1,55 @@
+package seedu.bartholomew.benchmark;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import seedu.bartholomew.storage.InMemoryStorage;
+import seedu.bartholomew.storage.Mutation;
+import seedu.bartholomew.storage.Storage;
+import seedu.bartholomew.storage.StorageBackend;
+import seedu.bartholomew.storage.StorageMode;
+import seedu.bartholomew.tasks.Task;
+import seedu.bartholomew.tasks.TaskList;
+
+/**
+ * Measures how long each storage backend takes to persist a single mark command on a list of tasks,
+ * which is the cost every command pays on top of command handling.
+ * Run with: ./gradlew benchmark -Pbench=StorageBackendBenchmark [-Pargs="TASK_COUNT COMMANDS"]
+ */
+public class StorageBackendBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int commandCount = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        List<Task> tasks = StorageFormatBenchmark.createTasks(taskCount);
+        Path directory = Files.createTempDirectory("bartholomew-benchmark");
+
+        System.out.println("Persisting " + commandCount + " mark commands on " + taskCount + " tasks");
+        for (StorageMode mode : StorageMode.values()) {
+            File file = directory.resolve(mode + ".txt").toFile();
+            StorageBackend storage = mode == StorageMode.MEMORY
+                    ? new InMemoryStorage()
+                    : new Storage(file.getPath(), mode);
+            storage.save(tasks);
+            TaskList taskList = TaskList.backedBy(new ArrayList<>(tasks));
+
+            long start = System.nanoTime();
+            for (int i = 0; i < commandCount; i++) {
+                int taskNo = i % taskCount + 1;
+                taskList.markTaskAsDone(taskNo);
+                storage.append(Mutation.mark(taskNo), taskList);
+            }
+            storage.flush();
+            long elapsed = System.nanoTime() - start;
+            storage.close();
+
+            System.out.printf("%-8s %10.3f ms per command%n", mode, elapsed / 1e6 / commandCount);
+            new File(file.getPath() + ".journal").delete();
+            file.delete();
+        }
+        Files.deleteIfExists(directory);
+    }
+}
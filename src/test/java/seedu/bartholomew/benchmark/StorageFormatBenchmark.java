@@ -0,0 +1,94 @@
+package seedu.bartholomew.benchmark;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import seedu.bartholomew.storage.CompressionStats;
+import seedu.bartholomew.storage.Storage;
+import seedu.bartholomew.storage.StorageFormat;
+import seedu.bartholomew.tasks.Deadline;
+import seedu.bartholomew.tasks.Event;
+import seedu.bartholomew.tasks.Task;
+import seedu.bartholomew.tasks.ToDo;
+
+/**
+ * Compares how long the text and binary storage formats take to save and load the same tasks,
+ * with and without GZIP compression, and how large the resulting files are.
+ * Run with: ./gradlew benchmark -Pbench=StorageFormatBenchmark [-Pargs=TASK_COUNT]
+ */
+public class StorageFormatBenchmark {
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<Task> tasks = createTasks(taskCount);
+        Path directory = Files.createTempDirectory("bartholomew-benchmark");
+
+        System.out.println("Saving and loading " + taskCount + " tasks, best of " + ROUNDS + " rounds");
+        for (boolean isCompressed : new boolean[] {false, true}) {
+            for (StorageFormat format : StorageFormat.values()) {
+                String name = format + (isCompressed ? "+gzip" : "");
+                File file = directory.resolve(name + ".txt").toFile();
+                Storage storage = new Storage(file.getPath());
+                storage.setFormat(format);
+                storage.setCompressed(isCompressed);
+
+                long bestSave = Long.MAX_VALUE;
+                long bestLoad = Long.MAX_VALUE;
+                CompressionStats saveStats = null;
+                CompressionStats loadStats = null;
+                for (int round = 0; round < ROUNDS; round++) {
+                    long start = System.nanoTime();
+                    storage.save(tasks);
+                    bestSave = Math.min(bestSave, System.nanoTime() - start);
+                    saveStats = storage.getCompressionStats();
+
+                    start = System.nanoTime();
+                    List<Task> loaded = storage.load();
+                    bestLoad = Math.min(bestLoad, System.nanoTime() - start);
+                    loadStats = storage.getCompressionStats();
+                    if (loaded.size() != taskCount) {
+                        throw new IllegalStateException("Loaded " + loaded.size() + " tasks");
+                    }
+                }
+
+                System.out.printf("%-11s save %8.1f ms   load %8.1f ms   size %,12d bytes%n",
+                        name, bestSave / 1e6, bestLoad / 1e6, file.length());
+                if (isCompressed) {
+                    System.out.println("            last " + saveStats);
+                    System.out.println("            last " + loadStats);
+                }
+                file.delete();
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    static List<Task> createTasks(int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task task;
+            int day = i % 28 + 1;
+            int month = i % 12 + 1;
+            switch (i % 3) {
+            case 0:
+                task = new ToDo("read chapter " + i + " of the book");
+                break;
+            case 1:
+                task = new Deadline("submit report " + i, day + "/" + month + "/2030 1800");
+                break;
+            default:
+                task = new Event("team meeting " + i, day + "/" + month + "/2030 1400", day + "/" + month + "/2030 1600");
+                break;
+            }
+            if (i % 4 == 0) {
+                task.markTask();
+            }
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,49 @@
+package seedu.bartholomew.benchmark;
+
+import java.util.List;
+
+import seedu.bartholomew.tasks.Task;
+import seedu.bartholomew.ui.Ui;
+
+/**
+ * Measures how long the list command takes to render every task when the tasks were never rendered before,
+ * and when listing the same tasks again, which reuses the lines cached in each task.
+ * Also reports how many bytes a single listing of each kind allocates.
+ * Run with: ./gradlew benchmark -Pbench=TaskRenderBenchmark [-Pargs=TASK_COUNT]
+ */
+public class TaskRenderBenchmark {
+    private static final int ROUNDS = 10;
+
+    public static void main(String[] args) {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        Ui ui = new Ui();
+        List<Task> tasks = StorageFormatBenchmark.createTasks(taskCount);
+
+        System.out.println("Listing " + taskCount + " tasks, best of " + ROUNDS + " rounds");
+        long bestUncached = Long.MAX_VALUE;
+        long uncachedBytes = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            tasks = StorageFormatBenchmark.createTasks(taskCount);
+            long allocatedBefore = BenchmarkSupport.allocatedBytes();
+            long start = System.nanoTime();
+            ui.showTaskList(tasks);
+            bestUncached = Math.min(bestUncached, System.nanoTime() - start);
+            uncachedBytes = BenchmarkSupport.allocatedBytes() - allocatedBefore;
+        }
+
+        long bestCached = Long.MAX_VALUE;
+        long cachedBytes = 0;
+        int outputLength = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long allocatedBefore = BenchmarkSupport.allocatedBytes();
+            long start = System.nanoTime();
+            outputLength = ui.showTaskList(tasks).length();
+            bestCached = Math.min(bestCached, System.nanoTime() - start);
+            cachedBytes = BenchmarkSupport.allocatedBytes() - allocatedBefore;
+        }
+
+        System.out.printf("%-10s %8.1f ms   %,14d bytes allocated%n", "uncached", bestUncached / 1e6, uncachedBytes);
+        System.out.printf("%-10s %8.1f ms   %,14d bytes allocated%n", "cached", bestCached / 1e6, cachedBytes);
+        System.out.printf("(each listing is %,d characters long)%n", outputLength);
+    }
+}
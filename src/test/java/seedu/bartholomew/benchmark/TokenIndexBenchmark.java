@@ -0,0 +1,47 @@
+package seedu.bartholomew.benchmark;
+
+import java.util.List;
+
+import seedu.bartholomew.tasks.Task;
+import seedu.bartholomew.tasks.TaskList;
+import seedu.bartholomew.tasks.ToDo;
+
+/**
+ * Compares word searches answered from the word index of a {@link TaskList} with substring searches
+ * for the same text, on the same list. Also reports how long the index takes to build,
+ * and how long adding and deleting a task takes once it is built.
+ * Run with: ./gradlew benchmark -Pbench=TokenIndexBenchmark [-Pargs=TASK_COUNT]
+ */
+public class TokenIndexBenchmark {
+    private static final int ROUNDS = 200;
+
+    public static void main(String[] args) throws Exception {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        TaskList taskList = new TaskList(StorageFormatBenchmark.createTasks(taskCount));
+        System.out.println("Searching " + taskCount + " tasks");
+
+        long start = System.nanoTime();
+        taskList.findTasksByWords("report");
+        System.out.printf("index build        %9.1f ms%n", (System.nanoTime() - start) / 1e6);
+
+        compare(taskList, "report 12346", "report 12346");
+        compare(taskList, "meeting 5000*", "meeting 5000");
+        compare(taskList, "chapter 99999*", "chapter 99999");
+
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            taskList.addTask(new ToDo("benchmark task " + i));
+            taskList.deleteTask(taskList.size());
+        }
+        System.out.printf("add and delete     %9.1f us%n", (System.nanoTime() - start) / 1e3 / ROUNDS);
+    }
+
+    private static void compare(TaskList taskList, String words, String substring) {
+        List<Task> byWords = taskList.findTasksByWords(words);
+        List<Task> bySubstring = taskList.findTasks(substring);
+        long wordNanos = BenchmarkSupport.bestNanos(5, () -> taskList.findTasksByWords(words));
+        long substringNanos = BenchmarkSupport.bestNanos(5, () -> taskList.findTasks(substring));
+        System.out.printf("%-18s %9.3f ms (%d matches)  substring %9.1f ms (%d matches)%n",
+                "\"" + words + "\"", wordNanos / 1e6, byWords.size(), substringNanos / 1e6, bySubstring.size());
+    }
+}
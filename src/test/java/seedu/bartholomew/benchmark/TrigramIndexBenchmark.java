@@ -0,0 +1,68 @@
+package seedu.bartholomew.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import seedu.bartholomew.tasks.Task;
+import seedu.bartholomew.tasks.TaskList;
+import seedu.bartholomew.tasks.ToDo;
+
+/**
+ * Compares substring searches answered from the trigram index of a {@link TaskList} with a scan that checks
+ * every description, and checks that both find the same tasks. Also reports how long the index takes to build,
+ * roughly how much memory it takes, and how long adding and deleting a task takes once it is built.
+ * Run with: ./gradlew benchmark -Pbench=TrigramIndexBenchmark [-Pargs=TASK_COUNT]
+ */
+public class TrigramIndexBenchmark {
+    private static final int ROUNDS = 200;
+
+    public static void main(String[] args) throws Exception {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        TaskList taskList = new TaskList(StorageFormatBenchmark.createTasks(taskCount));
+        List<Task> allTasks = taskList.getTasks();
+        System.out.println("Searching " + taskCount + " tasks");
+
+        long heapBefore = BenchmarkSupport.usedHeap();
+        long start = System.nanoTime();
+        taskList.findTasks("report");
+        System.out.printf("index build        %9.1f ms, about %d MB%n",
+                (System.nanoTime() - start) / 1e6, (BenchmarkSupport.usedHeap() - heapBefore) >> 20);
+
+        compare(taskList, allTasks, "port 12346");
+        compare(taskList, allTasks, "eting 5000");
+        compare(taskList, allTasks, "ter 99999");
+        compare(taskList, allTasks, "ook");
+        compare(taskList, allTasks, "report");
+        compare(taskList, allTasks, "no such task");
+
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            taskList.addTask(new ToDo("benchmark task " + i));
+            taskList.deleteTask(taskList.size());
+        }
+        System.out.printf("add and delete     %9.1f us%n", (System.nanoTime() - start) / 1e3 / ROUNDS);
+    }
+
+    private static void compare(TaskList taskList, List<Task> allTasks, String term) {
+        List<Task> indexed = taskList.findTasks(term);
+        List<Task> scanned = scan(allTasks, term);
+        if (!indexed.equals(scanned)) {
+            throw new AssertionError("Indexed and scanned results differ for \"" + term + "\"");
+        }
+        long indexedNanos = BenchmarkSupport.bestNanos(5, () -> taskList.findTasks(term));
+        long scanNanos = BenchmarkSupport.bestNanos(5, () -> scan(allTasks, term));
+        System.out.printf("%-18s %9.3f ms  scan %9.1f ms  (%d matches)%n",
+                "\"" + term + "\"", indexedNanos / 1e6, scanNanos / 1e6, indexed.size());
+    }
+
+    private static List<Task> scan(List<Task> tasks, String term) {
+        String termLower = term.toLowerCase();
+        List<Task> matches = new ArrayList<>();
+        for (Task task : tasks) {
+            if (task.getDescription().toLowerCase().contains(termLower)) {
+                matches.add(task);
+            }
+        }
+        return matches;
+    }
+}
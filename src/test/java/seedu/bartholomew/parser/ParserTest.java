@@ -1,8 +1,11 @@
 package seedu.bartholomew.parser;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.time.format.DateTimeParseException;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import seedu.bartholomew.command.CommandType;
 import seedu.bartholomew.exceptions.BartholomewExceptions;
 import seedu.bartholomew.tasks.Deadline;
+import seedu.bartholomew.tasks.EpochMinutes;
 import seedu.bartholomew.tasks.Event;
 import seedu.bartholomew.tasks.ToDo;
 import seedu.bartholomew.tasks.Task;
@@ -214,4 +218,122 @@ public class ParserTest {
             parser.parseTaskNumber(input, CommandType.LIST, totalTasks);
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    public void parsePageNumber_validPage_returnsPage() throws BartholomewExceptions {
+        assertEquals(2, parser.parsePageNumber("list 2", 3));
+    }
+
+    @Test
+    public void parsePageNumber_pageOutOfRange_throwsInvalidPageNumberException() {
+        assertThrows(BartholomewExceptions.InvalidPageNumberException.class, () -> {
+            parser.parsePageNumber("list 4", 3);
+        });
+        assertThrows(BartholomewExceptions.InvalidPageNumberException.class, () -> {
+            parser.parsePageNumber("list two", 3);
+        });
+    }
+
+    @Test
+    public void parseTaskId_hashReference_returnsId() throws BartholomewExceptions {
+        assertEquals(true, parser.isTaskIdReference("mark #1234", CommandType.MARK));
+        assertEquals(false, parser.isTaskIdReference("delete 3", CommandType.DELETE));
+        assertEquals(1234L, parser.parseTaskId("unmark  #1234 ", CommandType.UNMARK));
+    }
+
+    @Test
+    public void parseTaskId_invalidId_throwsInvalidTaskNumberException() {
+        assertThrows(BartholomewExceptions.InvalidTaskNumberException.class,
+                () -> parser.parseTaskId("delete #abc", CommandType.DELETE));
+        assertThrows(BartholomewExceptions.InvalidTaskNumberException.class,
+                () -> parser.parseTaskId("delete #0", CommandType.DELETE));
+    }
+
+    @Test
+    public void parseTaskRange_validRange_returnsBounds() throws BartholomewExceptions {
+        assertEquals(true, parser.isTaskRange("delete 100 - 500", CommandType.DELETE));
+        assertEquals(false, parser.isTaskRange("delete 3, 5", CommandType.DELETE));
+        int[] range = parser.parseTaskRange("delete 100-500", CommandType.DELETE, 1000);
+        assertEquals(100, range[0]);
+        assertEquals(500, range[1]);
+    }
+
+    @Test
+    public void parseTaskRange_backwardsOrOutOfRange_throwsInvalidTaskNumberException() {
+        assertThrows(BartholomewExceptions.InvalidTaskNumberException.class,
+                () -> parser.parseTaskRange("delete 5-3", CommandType.DELETE, 10));
+        assertThrows(BartholomewExceptions.InvalidTaskNumberException.class,
+                () -> parser.parseTaskRange("delete 5-11", CommandType.DELETE, 10));
+        assertThrows(BartholomewExceptions.InvalidTaskNumberException.class,
+                () -> parser.parseTaskRange("delete 0-3", CommandType.DELETE, 10));
+    }
+
+    @Test
+    public void parseDeleteFilter_doneAndBefore_returnsFilters() {
+        assertEquals("done", parser.parseDeleteFilter("delete done").toString());
+        assertEquals("before " + EpochMinutes.parse("1/1/2024 0000"),
+                parser.parseDeleteFilter("delete before 1/1/2024").toString());
+        assertEquals("before " + EpochMinutes.parse("1/1/2024 1200"),
+                parser.parseDeleteFilter("delete before 1/1/2024 1200").toString());
+        assertNull(parser.parseDeleteFilter("delete 3"));
+        assertThrows(DateTimeParseException.class, () -> parser.parseDeleteFilter("delete before tomorrow"));
+    }
+
+    @Test
+    public void isTaskSelection_bulkForms_returnsTrue() {
+        assertEquals(true, parser.isTaskSelection("mark 1-500", CommandType.MARK));
+        assertEquals(true, parser.isTaskSelection("mark 3,7,9", CommandType.MARK));
+        assertEquals(true, parser.isTaskSelection("mark find:report", CommandType.MARK));
+        assertEquals(true, parser.isTaskSelection("unmark all", CommandType.UNMARK));
+        assertEquals(false, parser.isTaskSelection("unmark 3", CommandType.UNMARK));
+        assertEquals(false, parser.isTaskSelection("mark #12", CommandType.MARK));
+    }
+
+    @Test
+    public void parseSelectionFilter_allAndFind_returnsFilters() throws BartholomewExceptions {
+        assertEquals("all", parser.parseSelectionFilter("unmark all", CommandType.UNMARK).toString());
+        assertEquals("find weekly report",
+                parser.parseSelectionFilter("mark find: Weekly Report", CommandType.MARK).toString());
+        assertNull(parser.parseSelectionFilter("mark 3,7,9", CommandType.MARK));
+        assertThrows(BartholomewExceptions.EmptySearchTermException.class,
+                () -> parser.parseSelectionFilter("mark find: ", CommandType.MARK));
+    }
+
+    @Test
+    public void parseMultipleTaskNumbers_markCommand_returnsNumbers() throws BartholomewExceptions {
+        assertEquals(List.of(3, 7, 9), parser.parseMultipleTaskNumbers("mark 3, 7,9", CommandType.MARK, 10));
+    }
+
+    @Test
+    public void parseWordSearchTerm_wordSearch_returnsWords() throws BartholomewExceptions {
+        assertEquals(true, parser.isWordSearch("find w/team meet*"));
+        assertEquals(false, parser.isWordSearch("find team"));
+        assertEquals("team meet*", parser.parseWordSearchTerm("find  w/ team meet* "));
+        assertThrows(BartholomewExceptions.EmptySearchTermException.class,
+                () -> parser.parseWordSearchTerm("find w/ "));
+    }
+
+    @Test
+    public void parseFuzzySearch_withAndWithoutEditCount_returnsEditsAndWords() throws BartholomewExceptions {
+        assertEquals(true, parser.isFuzzySearch("find~ meetng"));
+        assertEquals(false, parser.isFuzzySearch("find meetng"));
+
+        assertEquals(1, parser.parseFuzzyEdits("find~ team meetng"));
+        assertEquals("team meetng", parser.parseFuzzySearchTerm("find~ team meetng"));
+        assertEquals(2, parser.parseFuzzyEdits("find~2  meetng "));
+        assertEquals("meetng", parser.parseFuzzySearchTerm("find~2  meetng "));
+        assertEquals(1, parser.parseFuzzyEdits("find~meetng"));
+        assertEquals("meetng", parser.parseFuzzySearchTerm("find~meetng"));
+        assertEquals("2024", parser.parseFuzzySearchTerm("find~ 2024"));
+    }
+
+    @Test
+    public void parseFuzzySearch_invalidEditCountOrNoWords_throwsException() {
+        assertThrows(BartholomewExceptions.InvalidEditCountException.class,
+                () -> parser.parseFuzzyEdits("find~4 meetng"));
+        assertThrows(BartholomewExceptions.EmptySearchTermException.class,
+                () -> parser.parseFuzzySearchTerm("find~2"));
+        assertThrows(BartholomewExceptions.EmptySearchTermException.class,
+                () -> parser.parseFuzzySearchTerm("find~ "));
+    }
+}
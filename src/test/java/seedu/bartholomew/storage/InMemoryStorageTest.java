@@ -0,0 +1,38 @@
+package seedu.bartholomew.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import seedu.bartholomew.tasks.Task;
+import seedu.bartholomew.tasks.TaskList;
+import seedu.bartholomew.tasks.ToDo;
+
+public class InMemoryStorageTest {
+
+    @Test
+    public void load_afterSave_returnsCopyOfSavedTasks() {
+        InMemoryStorage storage = new InMemoryStorage();
+        storage.save(List.of(new ToDo("read book"), new ToDo("return book")));
+
+        List<Task> loaded = storage.load();
+        loaded.clear();
+        assertEquals(2, storage.load().size());
+    }
+
+    @Test
+    public void load_afterAppend_reflectsLatestTaskList() {
+        InMemoryStorage storage = new InMemoryStorage();
+        TaskList tasks = TaskList.backedBy(storage.load());
+        assertTrue(tasks.isEmpty());
+
+        tasks.addTask(new ToDo("read book"));
+        storage.append(Mutation.add(new ToDo("read book")), tasks);
+
+        assertEquals(1, storage.load().size());
+        assertEquals(1, storage.getAppendCount());
+    }
+}
@@ -0,0 +1,166 @@
+package seedu.bartholomew.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import seedu.bartholomew.exceptions.BartholomewExceptions;
+import seedu.bartholomew.tasks.Task;
+import seedu.bartholomew.tasks.TaskList;
+import seedu.bartholomew.tasks.ToDo;
+
+public class LazyTaskListTest {
+
+    @TempDir
+    Path tempDir;
+
+    private File writeTasks(int count) throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 1; i <= count; i++) {
+            content.append("T | 0 | task ").append(i).append("\n");
+        }
+        File file = tempDir.resolve("bartholomew.txt").toFile();
+        Files.writeString(file.toPath(), content);
+        return file;
+    }
+
+    @Test
+    public void open_buildsNoTasksUntilAsked() throws Exception {
+        LazyTaskList tasks = LazyTaskList.open(writeTasks(1000), 10);
+        assertEquals(1000, tasks.size());
+        assertEquals(0, tasks.getMaterializedCount());
+
+        assertEquals("[T][ ] task 500", tasks.get(499).toString());
+        assertEquals(1, tasks.getMaterializedCount());
+        tasks.close();
+    }
+
+    @Test
+    public void get_manyTasks_cacheStaysBounded() throws Exception {
+        LazyTaskList tasks = LazyTaskList.open(writeTasks(1000), 10);
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals("[T][ ] task " + (i + 1), tasks.get(i).toString());
+        }
+        assertEquals(10, tasks.getMaterializedCount());
+        tasks.close();
+    }
+
+    @Test
+    public void markTaskAsDone_evictedFromCache_staysMarked() throws Exception {
+        LazyTaskList lazyTasks = LazyTaskList.open(writeTasks(100), 2);
+        TaskList taskList = TaskList.backedBy(lazyTasks);
+
+        taskList.markTaskAsDone(5);
+        for (int i = 1; i <= 100; i++) {
+            taskList.getTask(i);
+        }
+        assertTrue(taskList.getTask(5).isDone());
+        lazyTasks.close();
+    }
+
+    @Test
+    public void snapshot_buildsNoTasksAndIgnoresLaterChanges() throws Exception {
+        LazyTaskList lazyTasks = LazyTaskList.open(writeTasks(1000), 10);
+        TaskList taskList = TaskList.backedBy(lazyTasks);
+        taskList.addTask(new ToDo("task 1001"));
+        int materialized = lazyTasks.getMaterializedCount();
+
+        List<Task> snapshot = taskList.snapshot();
+        assertEquals(materialized, lazyTasks.getMaterializedCount());
+
+        taskList.deleteTask(1);
+        taskList.addTask(new ToDo("task 1002"));
+        assertEquals(1001, snapshot.size());
+        assertEquals("[T][ ] task 1", snapshot.get(0).toString());
+        assertEquals("[T][ ] task 1001", snapshot.get(1000).toString());
+        lazyTasks.close();
+    }
+
+    @Test
+    public void addAndDelete_shiftPositions() throws Exception {
+        LazyTaskList lazyTasks = LazyTaskList.open(writeTasks(3), 10);
+        TaskList taskList = TaskList.backedBy(lazyTasks);
+
+        taskList.addTask(new ToDo("task 4"));
+        taskList.deleteTask(1);
+        taskList.deleteMultipleTasks(List.of(1, 3));
+        assertEquals(1, taskList.size());
+        assertEquals("[T][ ] task 3", taskList.getTask(1).toString());
+        lazyTasks.close();
+    }
+
+    @Test
+    public void load_malformedDeadline_skippedLikeEagerLoad() throws Exception {
+        File file = tempDir.resolve("bartholomew.txt").toFile();
+        Files.writeString(file.toPath(), "T | 0 | one | #1\nD | 0 | bad | notadate | #2\nT | 0 | three | #3\n");
+
+        List<Task> eagerTasks = new Storage(file.getPath()).load();
+        Storage lazyStorage = new Storage(file.getPath());
+        lazyStorage.setLazyLoading(10);
+        List<Task> lazyTasks = lazyStorage.load();
+
+        assertEquals(2, lazyTasks.size());
+        for (int i = 0; i < eagerTasks.size(); i++) {
+            assertEquals(eagerTasks.get(i).toString(), lazyTasks.get(i).toString());
+            assertEquals(eagerTasks.get(i).getId(), lazyTasks.get(i).getId());
+        }
+        ((LazyTaskList) lazyTasks).close();
+    }
+
+    @Test
+    public void storageClose_releasesLazyListsItLoaded() throws Exception {
+        File file = writeTasks(100);
+        Storage storage = new Storage(file.getPath());
+        storage.setLazyLoading(10);
+
+        List<Task> first = storage.load();
+        List<Task> second = storage.load();
+        assertThrows(IllegalStateException.class, () -> first.get(50));
+        assertEquals("[T][ ] task 51", second.get(50).toString());
+
+        storage.close();
+        assertThrows(IllegalStateException.class, () -> second.get(60));
+    }
+
+    @Test
+    public void loadLazily_journalMode_replaysJournal() throws BartholomewExceptions {
+        String path = tempDir.resolve("bartholomew.txt").toString();
+        Storage storage = new Storage(path, StorageMode.JOURNAL);
+        storage.save(List.of(new ToDo("read book"), new ToDo("sleep"), new ToDo("run")));
+        storage.append(Mutation.mark(3));
+        storage.append(Mutation.delete(1));
+        storage.close();
+
+        List<Task> tasks = new Storage(path, StorageMode.JOURNAL).loadLazily(10);
+        assertEquals(2, tasks.size());
+        assertEquals("[T][X] run", tasks.get(1).toString());
+        ((LazyTaskList) tasks).close();
+    }
+
+    @Test
+    public void load_fileWithoutIds_savesIdsOnceAndStaysUnbuiltAfterAdd() throws Exception {
+        File file = writeTasks(1000);
+        Storage storage = new Storage(file.getPath(), StorageMode.JOURNAL);
+        storage.setLazyLoading(10);
+
+        LazyTaskList lazyTasks = (LazyTaskList) storage.load();
+        TaskList taskList = TaskList.backedBy(lazyTasks);
+        taskList.addTask(new ToDo("task 1001"));
+        assertTrue(lazyTasks.getMaterializedCount() <= 11);
+        assertEquals(1001, taskList.getTask(1001).getId());
+        assertEquals(500, taskList.getTaskById(500).getId());
+        assertTrue(lazyTasks.getMaterializedCount() <= 11);
+        lazyTasks.close();
+        storage.close();
+
+        assertTrue(Files.readAllLines(file.toPath()).get(1000).endsWith("task 1000 | #1000"));
+    }
+}
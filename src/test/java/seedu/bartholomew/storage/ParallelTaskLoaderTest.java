@@ -0,0 +1,84 @@
+package seedu.bartholomew.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import seedu.bartholomew.exceptions.BartholomewExceptions;
+import seedu.bartholomew.tasks.Task;
+
+public class ParallelTaskLoaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void load_multipleChunks_matchesSequentialLoad() throws Exception {
+        StringBuilder content = new StringBuilder("# generation 3\n");
+        for (int i = 0; i < 60_000; i++) {
+            if (i % 3 == 0) {
+                content.append("T | ").append(i % 2).append(" | todo ").append(i).append("\n");
+            } else if (i % 3 == 1) {
+                content.append("D | 0 | deadline ").append(i).append(" | 1/2/2030 0930\r\n");
+            } else {
+                content.append("E | 1 | event ").append(i).append(" | 1/2/2030 0930 | 1/2/2030 1130\n");
+            }
+            if (i % 10_000 == 0) {
+                content.append("X | 0 | broken line\n");
+            }
+        }
+        content.append("T | 0 | no trailing newline");
+        File file = tempDir.resolve("bartholomew.txt").toFile();
+        Files.writeString(file.toPath(), content);
+
+        List<List<Task>> results = new ArrayList<>();
+        String sequentialWarnings = captureOutput(() -> results.add(new Storage(file.getPath()).load()));
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        String parallelWarnings = captureOutput(() -> results.add(new ParallelTaskLoader(pool).load(file)));
+        pool.shutdown();
+
+        List<Task> sequential = results.get(0);
+        List<Task> parallel = results.get(1);
+
+        assertEquals(sequential.size(), parallel.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertEquals(sequential.get(i).toString(), parallel.get(i).toString());
+        }
+        assertEquals(sequentialWarnings, parallelWarnings);
+    }
+
+    @Test
+    public void splitFields_matchesRegexSplit() {
+        String[] lines = {"T | 1 | read book", "E | 0 | a | b | c", "T | 0 | ", "", " | x", "D | 1 | d |  | "};
+        for (String line : lines) {
+            assertEquals(List.of(line.split(" \\| ")), List.of(Storage.splitFields(line)));
+        }
+    }
+
+    private interface Loading {
+        void run() throws BartholomewExceptions;
+    }
+
+    private static String captureOutput(Loading loading) throws BartholomewExceptions {
+        PrintStream original = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output));
+        try {
+            loading.run();
+        } finally {
+            System.setOut(original);
+        }
+        return output.toString();
+    }
+}
@@ -0,0 +1,490 @@
+package seedu.bartholomew.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import seedu.bartholomew.exceptions.BartholomewExceptions;
+import seedu.bartholomew.tasks.Deadline;
+import seedu.bartholomew.tasks.Event;
+import seedu.bartholomew.tasks.Task;
+import seedu.bartholomew.tasks.TaskFilter;
+import seedu.bartholomew.tasks.TaskList;
+import seedu.bartholomew.tasks.ToDo;
+
+public class StorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    private String dataPath() {
+        return tempDir.resolve("bartholomew.txt").toString();
+    }
+
+    private List<Task> sampleTasks() {
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new ToDo("read book"));
+        tasks.add(new Deadline("return book", "6/6/2030 1234"));
+        tasks.add(new Event("project meeting", "6/8/2030 1444", "6/8/2030 1628"));
+        return tasks;
+    }
+
+    @Test
+    public void save_thenLoad_roundTripsTasks() throws BartholomewExceptions {
+        Storage storage = new Storage(dataPath());
+        List<Task> tasks = sampleTasks();
+        tasks.get(1).markTask();
+        storage.save(tasks);
+
+        List<Task> loaded = new Storage(dataPath()).load();
+        assertEquals(3, loaded.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).toString(), loaded.get(i).toString());
+        }
+    }
+
+    @Test
+    public void load_repeatedDescriptions_sharesOneString() throws BartholomewExceptions {
+        Storage storage = new Storage(dataPath());
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new ToDo("standup"));
+        tasks.add(new Deadline("standup", "6/6/2030 0900"));
+        tasks.add(new ToDo("standup"));
+        storage.save(tasks);
+
+        List<Task> loaded = new Storage(dataPath()).load();
+        assertSame(loaded.get(0).getDescription(), loaded.get(1).getDescription());
+        assertSame(loaded.get(0).getDescription(), loaded.get(2).getDescription());
+    }
+
+    @Test
+    public void save_tasksWithIds_roundTripsIdsInTextAndBinary() throws BartholomewExceptions {
+        for (StorageMode mode : new StorageMode[] {StorageMode.TEXT, StorageMode.BINARY}) {
+            Storage storage = new Storage(dataPath(), mode);
+            TaskList tasks = new TaskList();
+            for (Task task : sampleTasks()) {
+                tasks.addTask(task);
+            }
+            tasks.deleteTask(1);
+            storage.save(tasks.getTasks());
+
+            List<Task> loaded = new Storage(dataPath(), mode).load();
+            assertEquals(2, loaded.get(0).getId());
+            assertEquals(3, loaded.get(1).getId());
+        }
+    }
+
+    @Test
+    public void load_linesWithoutIds_numbersTasksInOrder() throws Exception {
+        Files.writeString(Path.of(dataPath()), "T | 0 | read book\nD | 1 | return book | 6/6/2030 1234 | #7\n");
+
+        List<Task> loaded = new Storage(dataPath()).load();
+        assertEquals(1, loaded.get(0).getId());
+        assertEquals(7, loaded.get(1).getId());
+        assertTrue(loaded.get(1).isDone());
+    }
+
+    @Test
+    public void load_columnarLinesWithoutIds_savesIdsOnce() throws Exception {
+        Files.writeString(Path.of(dataPath()), "T | 0 | read book\nD | 1 | return book | 6/6/2030 1234 | #7\n");
+        Storage storage = new Storage(dataPath());
+        storage.setColumnar(true);
+
+        List<Task> loaded = storage.load();
+        assertEquals(1, loaded.get(0).getId());
+        assertEquals(7, loaded.get(1).getId());
+        assertEquals(List.of("T | 0 | read book | #1", "D | 1 | return book | 6/6/2030 1234 | #7"),
+                Files.readAllLines(Path.of(dataPath())));
+    }
+
+    @Test
+    public void load_middleLineWithoutId_numbersTasksInOrder() throws Exception {
+        Files.writeString(Path.of(dataPath()),
+                "T | 0 | read book | #1\nT | 0 | return book\nT | 0 | write essay | #3\nT | 0 | sleep | #2\n");
+
+        List<Task> loaded = new Storage(dataPath()).load();
+        assertEquals(1, loaded.get(0).getId());
+        assertEquals(2, loaded.get(1).getId());
+        assertEquals(3, loaded.get(2).getId());
+        assertEquals(4, loaded.get(3).getId());
+    }
+
+    @Test
+    public void load_lazyMiddleLineWithoutId_savesIdsOnce() throws Exception {
+        Files.writeString(Path.of(dataPath()), "T | 0 | read book | #1\nT | 0 | return book\nT | 0 | sleep | #3\n");
+        Storage storage = new Storage(dataPath());
+        storage.setLazyLoading(10);
+
+        List<Task> loaded = storage.load();
+        assertEquals(2, loaded.get(1).getId());
+        assertEquals("T | 0 | return book | #2", Files.readAllLines(Path.of(dataPath())).get(1));
+        storage.close();
+    }
+
+    @Test
+    public void appendWithTaskList_textMode_savesWholeList() throws BartholomewExceptions {
+        Storage storage = new Storage(dataPath());
+        TaskList tasks = TaskList.backedBy(sampleTasks());
+        storage.append(Mutation.add(tasks.getTask(3)), tasks);
+
+        assertFalse(new File(dataPath() + ".journal").exists());
+        assertEquals(3, new Storage(dataPath()).load().size());
+    }
+
+    @Test
+    public void appendWithTaskList_journalMode_onlyAppendsMutation() throws BartholomewExceptions {
+        Storage storage = new Storage(dataPath(), StorageMode.JOURNAL);
+        TaskList tasks = TaskList.backedBy(sampleTasks());
+        storage.append(Mutation.add(new ToDo("sleep")), tasks);
+        storage.flush();
+
+        assertEquals(0, new File(dataPath()).length());
+        assertEquals(1, new Storage(dataPath(), StorageMode.JOURNAL).load().size());
+    }
+
+    @Test
+    public void save_binaryMode_writesBinaryOverTextFile() throws BartholomewExceptions {
+        new Storage(dataPath()).save(sampleTasks());
+
+        Storage storage = new Storage(dataPath(), StorageMode.BINARY);
+        assertEquals(StorageFormat.BINARY, storage.getFormat());
+        List<Task> loaded = storage.load();
+        storage.save(loaded);
+
+        assertTrue(BinaryTaskFormat.isBinary(new File(dataPath())));
+        assertEquals(3, new Storage(dataPath()).load().size());
+    }
+
+    @Test
+    public void load_journalMode_replaysMutationsOnTopOfFile() throws BartholomewExceptions {
+        Storage storage = new Storage(dataPath(), StorageMode.JOURNAL);
+        storage.save(sampleTasks());
+
+        storage.append(Mutation.add(new ToDo("join sports club")));
+        storage.append(Mutation.mark(4));
+        storage.append(Mutation.delete(List.of(1, 3)));
+        storage.append(Mutation.unmark(1));
+        storage.close();
+
+        List<Task> loaded = new Storage(dataPath(), StorageMode.JOURNAL).load();
+        assertEquals(2, loaded.size());
+        assertEquals("[D][ ] return book (by: 6 June 2030, 12:34PM)", loaded.get(0).toString());
+        assertEquals("[T][X] join sports club", loaded.get(1).toString());
+    }
+
+    @Test
+    public void save_journalMode_clearsJournal() throws BartholomewExceptions {
+        Storage storage = new Storage(dataPath(), StorageMode.JOURNAL);
+        storage.append(Mutation.add(new ToDo("sleep")));
+        File journalFile = new File(dataPath() + ".journal");
+        assertTrue(journalFile.length() > 0);
+
+        storage.save(sampleTasks());
+        assertEquals(0, journalFile.length());
+        assertEquals(3, new Storage(dataPath(), StorageMode.JOURNAL).load().size());
+    }
+
+    @Test
+    public void load_textMode_ignoresJournal() throws BartholomewExceptions {
+        Storage journaled = new Storage(dataPath(), StorageMode.JOURNAL);
+        journaled.append(Mutation.add(new ToDo("sleep")));
+        journaled.close();
+
+        Storage plain = new Storage(dataPath());
+        assertFalse(plain.isJournaled());
+        assertTrue(plain.load().isEmpty());
+    }
+
+    @Test
+    public void compactInBackground_foldsJournalIntoSnapshot() throws BartholomewExceptions {
+        Storage storage = new Storage(dataPath(), StorageMode.JOURNAL);
+        storage.setCompactionThresholds(3, Long.MAX_VALUE);
+        List<Task> tasks = storage.load();
+
+        for (Task task : sampleTasks()) {
+            tasks.add(task);
+            storage.append(Mutation.add(task));
+        }
+        assertTrue(storage.isCompactionDue());
+        storage.compactInBackground(new ArrayList<>(tasks));
+
+        tasks.get(0).markTask();
+        storage.append(Mutation.mark(1));
+        storage.close();
+
+        assertFalse(new File(dataPath() + ".journal.compacting").exists());
+        List<Task> loaded = new Storage(dataPath(), StorageMode.JOURNAL).load();
+        assertEquals(3, loaded.size());
+        assertEquals("[T][X] read book", loaded.get(0).toString());
+    }
+
+    @Test
+    public void load_unfinishedCompaction_replaysBothJournals() throws Exception {
+        Storage storage = new Storage(dataPath(), StorageMode.JOURNAL);
+        storage.save(sampleTasks());
+        storage.append(Mutation.add(new ToDo("sleep")));
+        storage.close();
+
+        // Simulate a crash after the journal was moved aside but before the snapshot replaced the file
+        File journalFile = new File(dataPath() + ".journal");
+        File compactingFile = new File(dataPath() + ".journal.compacting");
+        assertTrue(journalFile.renameTo(compactingFile));
+        Files.writeString(journalFile.toPath(), "# generation 2\nX | 1\n");
+
+        List<Task> loaded = new Storage(dataPath(), StorageMode.JOURNAL).load();
+        assertEquals(3, loaded.size());
+        assertEquals("[T][ ] sleep", loaded.get(2).toString());
+        assertFalse(compactingFile.exists());
+
+        List<Task> reloaded = new Storage(dataPath(), StorageMode.JOURNAL).load();
+        assertEquals(3, reloaded.size());
+    }
+
+    @Test
+    public void save_leavesNoTemporaryFile() throws BartholomewExceptions {
+        Storage storage = new Storage(dataPath());
+        storage.setDurability(Durability.perCommand());
+        storage.save(sampleTasks());
+
+        assertFalse(new File(dataPath() + ".tmp").exists());
+        assertEquals(3, new Storage(dataPath()).load().size());
+    }
+
+    @Test
+    public void append_groupCommit_recordsReadableAfterClose() throws BartholomewExceptions {
+        Storage storage = new Storage(dataPath(), StorageMode.JOURNAL);
+        storage.setDurability(Durability.groupCommit(1000, 8));
+        for (int i = 0; i < 20; i++) {
+            storage.append(Mutation.add(new ToDo("task " + i)));
+        }
+        storage.close();
+
+        assertEquals(20, new Storage(dataPath(), StorageMode.JOURNAL).load().size());
+    }
+
+    @Test
+    public void durabilityFromString_parsesSettings() {
+        assertEquals(Durability.Level.NONE, Durability.fromString("none").getLevel());
+        assertEquals(Durability.Level.PER_COMMAND, Durability.fromString("SYNC").getLevel());
+        Durability group = Durability.fromString("group:100:32");
+        assertEquals(Durability.Level.GROUP_COMMIT, group.getLevel());
+        assertEquals(100, group.getGroupCommitMillis());
+        assertEquals(32, group.getGroupCommitRecords());
+        assertNull(Durability.fromString("group:0:32"));
+        assertNull(Durability.fromString("sometimes"));
+    }
+
+    @Test
+    public void save_binaryFormat_roundTripsAndIsDetected() throws BartholomewExceptions {
+        Storage storage = new Storage(dataPath());
+        storage.setFormat(StorageFormat.BINARY);
+        List<Task> tasks = sampleTasks();
+        tasks.add(new ToDo("caf\u00e9 \u4f1a\u8bae"));
+        tasks.get(2).markTask();
+        storage.save(tasks);
+
+        assertTrue(BinaryTaskFormat.isBinary(new File(dataPath())));
+        Storage reloaded = new Storage(dataPath());
+        List<Task> loaded = reloaded.load();
+        assertEquals(StorageFormat.BINARY, reloaded.getFormat());
+        assertEquals(4, loaded.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).toString(), loaded.get(i).toString());
+        }
+    }
+
+    @Test
+    public void load_binaryWithCorruptedCount_throwsFileReadException() throws Exception {
+        Storage storage = new Storage(dataPath());
+        storage.setFormat(StorageFormat.BINARY);
+        storage.save(sampleTasks());
+        byte[] bytes = Files.readAllBytes(Path.of(dataPath()));
+
+        // The task count is the int after the magic bytes, the version byte and the generation
+        for (byte first : new byte[] {(byte) 0xff, 0x7f}) {
+            bytes[9] = first;
+            Files.write(Path.of(dataPath()), bytes);
+            assertThrows(BartholomewExceptions.FileReadException.class, () -> new Storage(dataPath()).load());
+        }
+    }
+
+    @Test
+    public void convertTo_bothDirections_keepsTasks() throws BartholomewExceptions {
+        Storage storage = new Storage(dataPath(), StorageMode.JOURNAL);
+        storage.save(sampleTasks());
+        storage.append(Mutation.mark(2));
+
+        storage.convertTo(StorageFormat.BINARY);
+        assertTrue(BinaryTaskFormat.isBinary(new File(dataPath())));
+        storage.convertTo(StorageFormat.TEXT);
+        assertFalse(BinaryTaskFormat.isBinary(new File(dataPath())));
+
+        List<Task> loaded = new Storage(dataPath(), StorageMode.JOURNAL).load();
+        assertEquals(3, loaded.size());
+        assertTrue(loaded.get(1).isDone());
+    }
+
+    @Test
+    public void save_compressed_roundTripsTextAndBinary() throws BartholomewExceptions {
+        for (StorageFormat format : StorageFormat.values()) {
+            Storage storage = new Storage(dataPath(), StorageMode.JOURNAL);
+            storage.setFormat(format);
+            storage.setCompressed(true);
+            storage.save(sampleTasks());
+            storage.append(Mutation.mark(3));
+            storage.close();
+
+            assertTrue(MeteredGzipInputStream.isCompressed(new File(dataPath())));
+            Storage reloaded = new Storage(dataPath(), StorageMode.JOURNAL);
+            assertTrue(reloaded.isCompressed());
+            List<Task> loaded = reloaded.load();
+            assertEquals(format, reloaded.getFormat());
+            assertEquals(3, loaded.size());
+            assertTrue(loaded.get(2).isDone());
+            assertEquals(sampleTasks().get(1).toString(), loaded.get(1).toString());
+            reloaded.close();
+        }
+    }
+
+    @Test
+    public void getCompressionStats_afterSaveAndLoad_reportsBytesAndRatio() throws BartholomewExceptions {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            tasks.add(new ToDo("read chapter " + i + " of the book"));
+        }
+        Storage storage = new Storage(dataPath());
+        assertNull(storage.getCompressionStats());
+        storage.setCompressed(true);
+        storage.save(tasks);
+
+        CompressionStats saved = storage.getCompressionStats();
+        assertEquals("save", saved.getOperation());
+        assertEquals(new File(dataPath()).length(), saved.getCompressedBytes());
+        assertTrue(saved.getRatio() > 2);
+
+        storage.load();
+        CompressionStats loaded = storage.getCompressionStats();
+        assertEquals("load", loaded.getOperation());
+        assertEquals(saved.getUncompressedBytes(), loaded.getUncompressedBytes());
+    }
+
+    @Test
+    public void convertTo_uncompressed_writesPlainText() throws BartholomewExceptions {
+        Storage storage = new Storage(dataPath());
+        storage.setCompressed(true);
+        storage.save(sampleTasks());
+
+        storage.convertTo(StorageFormat.TEXT, false);
+        assertFalse(MeteredGzipInputStream.isCompressed(new File(dataPath())));
+        assertEquals(3, new Storage(dataPath()).load().size());
+    }
+
+    @Test
+    public void readExternalAppends_watching_readsOnlyCompleteNewLines() throws Exception {
+        new Storage(dataPath()).save(sampleTasks());
+        Storage storage = new Storage(dataPath());
+        storage.setWatching(true);
+        assertEquals(3, storage.load().size());
+        assertEquals(0, storage.readExternalAppends().size());
+
+        Files.writeString(Path.of(dataPath()), "T | 0 | water plants\nT | 1 | feed c",
+                StandardOpenOption.APPEND);
+        List<Task> appended = storage.readExternalAppends();
+        assertEquals(1, appended.size());
+        assertEquals("[T][ ] water plants", appended.get(0).toString());
+
+        Files.writeString(Path.of(dataPath()), "at\n", StandardOpenOption.APPEND);
+        appended = storage.readExternalAppends();
+        assertEquals(1, appended.size());
+        assertEquals("[T][X] feed cat", appended.get(0).toString());
+    }
+
+    @Test
+    public void readExternalAppends_afterOwnSave_readsFromNewEnd() throws Exception {
+        Storage storage = new Storage(dataPath());
+        storage.setWatching(true);
+        storage.load();
+        storage.save(sampleTasks());
+        assertEquals(0, storage.readExternalAppends().size());
+
+        Files.writeString(Path.of(dataPath()), "T | 0 | water plants\n", StandardOpenOption.APPEND);
+        assertEquals(1, storage.readExternalAppends().size());
+    }
+
+    @Test
+    public void save_watchingWithUnreadAppends_refusesToOverwrite() throws Exception {
+        Storage storage = new Storage(dataPath());
+        storage.setWatching(true);
+        storage.load();
+        storage.save(sampleTasks());
+        Files.writeString(Path.of(dataPath()), "T | 0 | water plants\n", StandardOpenOption.APPEND);
+
+        assertThrows(BartholomewExceptions.FileConflictException.class, () -> storage.save(sampleTasks()));
+        assertEquals(4, new Storage(dataPath()).load().size());
+
+        List<Task> tasks = sampleTasks();
+        tasks.addAll(storage.readExternalAppends());
+        storage.save(tasks);
+        assertEquals(4, new Storage(dataPath()).load().size());
+    }
+
+    @Test
+    public void readExternalAppends_fileRewritten_throwsConflict() throws Exception {
+        Storage storage = new Storage(dataPath());
+        storage.setWatching(true);
+        storage.load();
+        storage.save(sampleTasks());
+
+        Files.writeString(Path.of(dataPath()), "T | 0 | something else entirely\n");
+        assertThrows(BartholomewExceptions.FileConflictException.class, storage::readExternalAppends);
+        assertThrows(BartholomewExceptions.FileConflictException.class, () -> storage.save(sampleTasks()));
+    }
+
+    @Test
+    public void load_journalMode_replaysRangeAndFilterDeletes() throws BartholomewExceptions {
+        Storage storage = new Storage(dataPath(), StorageMode.JOURNAL);
+        List<Task> tasks = sampleTasks();
+        tasks.add(new ToDo("join sports club"));
+        tasks.add(new ToDo("buy bread"));
+        storage.save(tasks);
+
+        storage.append(Mutation.deleteRange(2, 3));
+        storage.append(Mutation.mark(2));
+        storage.append(Mutation.deleteMatching(TaskFilter.done()));
+        storage.close();
+
+        List<Task> loaded = new Storage(dataPath(), StorageMode.JOURNAL).load();
+        assertEquals(2, loaded.size());
+        assertEquals("[T][ ] read book", loaded.get(0).toString());
+        assertEquals("[T][ ] buy bread", loaded.get(1).toString());
+    }
+
+    @Test
+    public void load_journalMode_replaysBulkMarks() throws BartholomewExceptions {
+        Storage storage = new Storage(dataPath(), StorageMode.JOURNAL);
+        storage.save(sampleTasks());
+
+        storage.append(Mutation.setDoneInRange(1, 3, true));
+        storage.append(Mutation.setDone(List.of(1, 3), false));
+        storage.append(Mutation.setDoneMatching(TaskFilter.containing("meeting"), true));
+        storage.close();
+
+        List<Task> loaded = new Storage(dataPath(), StorageMode.JOURNAL).load();
+        assertFalse(loaded.get(0).isDone());
+        assertTrue(loaded.get(1).isDone());
+        assertTrue(loaded.get(2).isDone());
+    }
+}
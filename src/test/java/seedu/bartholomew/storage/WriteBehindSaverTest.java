@@ -0,0 +1,85 @@
+package seedu.bartholomew.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import seedu.bartholomew.exceptions.BartholomewExceptions;
+import seedu.bartholomew.tasks.Task;
+import seedu.bartholomew.tasks.ToDo;
+
+public class WriteBehindSaverTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void markDirty_burstOfChanges_coalescedIntoOneSave() throws BartholomewExceptions {
+        String path = tempDir.resolve("bartholomew.txt").toString();
+        Storage storage = new Storage(path);
+        List<Task> tasks = new ArrayList<>();
+        AtomicInteger snapshots = new AtomicInteger();
+        WriteBehindSaver saver = new WriteBehindSaver(storage, () -> {
+            snapshots.incrementAndGet();
+            return new ArrayList<>(tasks);
+        }, 60_000);
+
+        for (int i = 0; i < 100; i++) {
+            tasks.add(new ToDo("task " + i));
+            saver.markDirty();
+        }
+        assertTrue(saver.isDirty());
+        assertEquals(0, snapshots.get());
+
+        saver.close();
+        assertFalse(saver.isDirty());
+        assertEquals(1, snapshots.get());
+        assertEquals(100, new Storage(path).load().size());
+    }
+
+    @Test
+    public void flush_nothingChanged_doesNotSave() throws BartholomewExceptions {
+        Storage storage = new Storage(tempDir.resolve("bartholomew.txt").toString());
+        AtomicInteger snapshots = new AtomicInteger();
+        WriteBehindSaver saver = new WriteBehindSaver(storage, () -> {
+            snapshots.incrementAndGet();
+            return new ArrayList<>();
+        }, 10);
+
+        saver.flush();
+        saver.close();
+        assertEquals(0, snapshots.get());
+    }
+
+    @Test
+    public void callBetweenSaves_duringSave_runsAfterFileIsReplaced() throws Exception {
+        File file = tempDir.resolve("bartholomew.txt").toFile();
+        Storage storage = new Storage(file.getPath());
+        CountDownLatch snapshotting = new CountDownLatch(1);
+        WriteBehindSaver saver = new WriteBehindSaver(storage, () -> {
+            snapshotting.countDown();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of(new ToDo("read book"));
+        }, 0);
+
+        saver.markDirty();
+        snapshotting.await();
+        long savedLength = saver.callBetweenSaves(file::length);
+        saver.close();
+        assertTrue(savedLength > 0);
+    }
+}
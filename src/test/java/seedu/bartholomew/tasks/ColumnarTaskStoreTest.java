@@ -0,0 +1,169 @@
+package seedu.bartholomew.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import seedu.bartholomew.exceptions.BartholomewExceptions;
+
+public class ColumnarTaskStoreTest {
+
+    private static List<Task> sampleTasks() {
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new ToDo("Buy groceries"));
+        tasks.add(new Deadline("Submit report", "15/09/2023 1800"));
+        tasks.add(new Event("Team meeting", "20/09/2023 1400", "20/09/2023 1600"));
+        tasks.add(new ToDo("Caf\u00e9 visit \u2615"));
+        tasks.get(1).markTask();
+        return tasks;
+    }
+
+    private static List<String> lines(List<Task> tasks) {
+        List<String> lines = new ArrayList<>();
+        for (Task task : tasks) {
+            lines.add(task.toString());
+        }
+        return lines;
+    }
+
+    @Test
+    public void copyOf_mixedTasks_rendersSameLines() {
+        List<Task> tasks = sampleTasks();
+        ColumnarTaskStore store = ColumnarTaskStore.copyOf(tasks);
+
+        assertEquals(4, store.size());
+        assertEquals(lines(tasks), lines(store));
+        assertTrue(store.isDone(1));
+        assertFalse(store.isDone(2));
+        assertEquals("Caf\u00e9 visit \u2615", store.getDescription(3));
+    }
+
+    @Test
+    public void addAndRemove_middleRows_keepsDoneFlagsAligned() {
+        List<Task> expected = sampleTasks();
+        ColumnarTaskStore store = ColumnarTaskStore.copyOf(expected);
+
+        Task inserted = new ToDo("Inserted");
+        inserted.markTask();
+        expected.add(1, inserted);
+        store.add(1, inserted);
+        assertEquals(lines(expected), lines(store));
+
+        expected.remove(0);
+        store.remove(0);
+        expected.remove(2);
+        store.remove(2);
+        assertEquals(lines(expected), lines(store));
+    }
+
+    @Test
+    public void snapshot_laterChanges_leaveCopyUnchanged() {
+        List<Task> expected = sampleTasks();
+        ColumnarTaskStore store = ColumnarTaskStore.copyOf(expected);
+        List<Task> snapshot = store.snapshot();
+
+        store.remove(0);
+        store.add(new ToDo("Added later"));
+        store.set(0, new ToDo("Replaced later with a much longer description"));
+        assertEquals(lines(expected), lines(snapshot));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(new ToDo("Not allowed")));
+    }
+
+    @Test
+    public void set_longerAndShorterDescriptions_storesNewDescriptions() {
+        ColumnarTaskStore store = ColumnarTaskStore.copyOf(sampleTasks());
+
+        store.set(0, new ToDo("A much longer description than before"));
+        store.set(2, new Deadline("Short", "1/1/2024 0900"));
+
+        assertEquals("[T][ ] A much longer description than before", store.get(0).toString());
+        assertEquals("[D][ ] Short (by: 1 January 2024, 9:00AM)", store.get(2).toString());
+        assertEquals("[D][X] Submit report (by: 15 September 2023, 6:00PM)", store.get(1).toString());
+    }
+
+    @Test
+    public void removeMany_afterManyAdds_compactsAndKeepsRemainingTasks() {
+        ColumnarTaskStore store = new ColumnarTaskStore();
+        List<Task> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Task task = new ToDo("Task number " + i);
+            expected.add(task);
+            store.add(task);
+        }
+        store.subList(0, 900).clear();
+        expected.subList(0, 900).clear();
+        store.add(new ToDo("After compaction"));
+        expected.add(new ToDo("After compaction"));
+
+        assertEquals(lines(expected), lines(store));
+    }
+
+    @Test
+    public void get_outOfRange_throwsIndexOutOfBoundsException() {
+        ColumnarTaskStore store = ColumnarTaskStore.copyOf(sampleTasks());
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(-1));
+    }
+
+    @Test
+    public void taskList_backedByStore_writesMarksBack() throws BartholomewExceptions.InvalidTaskNumberException {
+        ColumnarTaskStore store = ColumnarTaskStore.copyOf(sampleTasks());
+        TaskList taskList = TaskList.backedBy(store);
+
+        taskList.markTaskAsDone(1);
+        taskList.markTaskAsNotDone(2);
+
+        assertTrue(store.isDone(0));
+        assertFalse(store.isDone(1));
+        assertEquals("Buy groceries", store.getDescription(0));
+    }
+
+    @Test
+    public void offHeap_addSetAndRemove_behavesLikeHeapStore() {
+        ColumnarTaskStore heap = ColumnarTaskStore.copyOf(sampleTasks(), false);
+        ColumnarTaskStore offHeap = ColumnarTaskStore.copyOf(sampleTasks(), true);
+        for (ColumnarTaskStore store : List.of(heap, offHeap)) {
+            store.set(1, new ToDo("Replaced with a longer description"));
+            store.remove(0);
+            store.add(new Deadline("Appended", "2/2/2024 1000"));
+        }
+
+        assertTrue(offHeap.isOffHeap());
+        assertFalse(heap.isOffHeap());
+        assertEquals(lines(heap), lines(offHeap));
+    }
+
+    @Test
+    public void findTasks_asciiAndUnicodeTerms_matchesTaskListSearch() {
+        List<Task> tasks = sampleTasks();
+        tasks.add(new ToDo("REPORT review"));
+        tasks.add(new ToDo("\u00c9COLE visit"));
+        TaskList plain = new TaskList(tasks);
+        TaskList offHeap = TaskList.backedBy(ColumnarTaskStore.copyOf(tasks, true));
+
+        for (String term : List.of("report", "VISIT", "caf\u00e9", "\u00e9cole", "\u2615", "", "missing")) {
+            assertEquals(lines(plain.findTasks(term)), lines(offHeap.findTasks(term)), term);
+        }
+    }
+
+    @Test
+    public void removeIf_doneTasks_keepsOtherRowsInOrder() {
+        List<Task> tasks = sampleTasks();
+        tasks.get(3).markTask();
+        ColumnarTaskStore store = ColumnarTaskStore.copyOf(tasks);
+
+        assertTrue(store.removeIf(TaskFilter.done()));
+
+        assertEquals(2, store.size());
+        assertEquals(lines(List.of(tasks.get(0), tasks.get(2))), lines(store));
+        assertFalse(store.isDone(0));
+        assertFalse(store.isDone(1));
+        assertFalse(store.removeIf(TaskFilter.done()));
+    }
+}
@@ -0,0 +1,59 @@
+package seedu.bartholomew.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class DescriptionPoolTest {
+
+    @Test
+    public void intern_equalDescriptions_returnsFirstInstance() {
+        DescriptionPool pool = new DescriptionPool(16);
+        String first = new String("pay rent");
+        String second = new String("pay rent");
+
+        assertSame(first, pool.intern(first));
+        assertSame(first, pool.intern(second));
+
+        DescriptionPool.Report report = pool.getReport();
+        assertEquals(2, report.getLookups());
+        assertEquals(1, report.getHits());
+        assertEquals(1, report.getSize());
+        assertEquals(DescriptionPool.estimateBytes(second), report.getSavedBytes());
+    }
+
+    @Test
+    public void intern_moreDescriptionsThanCapacity_forgetsLeastRecentlyUsed() {
+        DescriptionPool pool = new DescriptionPool(64);
+        String standup = pool.intern(new String("standup"));
+        for (int i = 0; i < 1000; i++) {
+            pool.intern("task " + i);
+            pool.intern(new String("standup"));
+        }
+        assertSame(standup, pool.intern(new String("standup")));
+        assertTrue(pool.getReport().getSize() <= 64);
+
+        String task = new String("task 0");
+        assertSame(task, pool.intern(task));
+    }
+
+    @Test
+    public void intern_zeroCapacity_sharesNothing() {
+        DescriptionPool pool = new DescriptionPool(0);
+        pool.intern(new String("review PR"));
+        String second = new String("review PR");
+
+        assertSame(second, pool.intern(second));
+        assertNotSame(second, pool.intern(new String("review PR")));
+        assertEquals(0, pool.getReport().getHits());
+    }
+
+    @Test
+    public void estimateBytes_latin1AndWideText_countsBackingArray() {
+        assertEquals(24 + 24, DescriptionPool.estimateBytes("standup"));
+        assertEquals(24 + 24, DescriptionPool.estimateBytes("\u2615\u2615\u2615\u2615"));
+    }
+}
@@ -0,0 +1,72 @@
+package seedu.bartholomew.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+import org.junit.jupiter.api.Test;
+
+public class EpochMinutesTest {
+
+    @Test
+    public void formatAndParse_manyDates_matchInputFormatter() {
+        LocalDateTime dateTime = LocalDateTime.of(1, 1, 1, 0, 0);
+        while (dateTime.getYear() < 12_000) {
+            long epochMinute = EpochMinutes.of(dateTime);
+            assertEquals(dateTime.format(EpochMinutes.INPUT_FORMAT), EpochMinutes.format(epochMinute));
+            assertEquals(dateTime, EpochMinutes.toDateTime(epochMinute));
+            assertEquals(epochMinute, EpochMinutes.parse(EpochMinutes.format(epochMinute)));
+            dateTime = dateTime.plusDays(13).plusMinutes(97);
+        }
+    }
+
+    @Test
+    public void parse_validInput_roundTrips() {
+        long epochMinute = EpochMinutes.parse("29/2/2024 0905");
+        assertEquals("29/2/2024 0905", EpochMinutes.format(epochMinute));
+        assertEquals("29 February 2024, 9:05AM", EpochMinutes.formatForDisplay(epochMinute));
+        assertEquals(0, EpochMinutes.parse("1/1/1970 0000"));
+    }
+
+    @Test
+    public void parse_invalidInput_throwsException() {
+        assertThrows(DateTimeParseException.class, () -> EpochMinutes.parse("32/1/2023 1200"));
+        assertThrows(DateTimeParseException.class, () -> EpochMinutes.parse("tomorrow"));
+    }
+
+    @Test
+    public void epochMinutes_laterTimes_compareGreater() {
+        Deadline earlier = new Deadline("a", "31/12/2023 2359");
+        Deadline later = new Deadline("b", "1/1/2024 0000");
+        assertTrue(earlier.getDueEpochMinute() < later.getDueEpochMinute());
+        assertEquals(1, later.getDueEpochMinute() - earlier.getDueEpochMinute());
+    }
+
+    @Test
+    public void parse_unusualInput_matchesFormatter() {
+        String[] inputs = {
+            "1/1/2023 0000", "01/01/2023 0000", "31/12/9999 2359", "29/2/2023 1200", "30/2/2024 1200",
+            "31/4/2023 1200", "0/1/2023 1200", "1/0/2023 1200", "1/13/2023 1200", "1/1/0000 1200",
+            "1/1/2023 2400", "1/1/2023 1260", "1/1/12023 1200", "001/1/2023 1200", "1/1/23 1200",
+            "1/1/2023 120", "1/1/2023  1200", " 1/1/2023 1200", "1/1/2023 1200 ", "1-1-2023 1200",
+            "", "/", "1//2023 1200", "\uFF11/1/2023 1200",
+        };
+        for (String input : inputs) {
+            Long expected;
+            try {
+                expected = EpochMinutes.of(LocalDateTime.parse(input, EpochMinutes.INPUT_FORMAT));
+            } catch (DateTimeParseException e) {
+                expected = null;
+            }
+
+            if (expected == null) {
+                assertThrows(DateTimeParseException.class, () -> EpochMinutes.parse(input), input);
+            } else {
+                assertEquals(expected.longValue(), EpochMinutes.parse(input), input);
+            }
+        }
+    }
+}
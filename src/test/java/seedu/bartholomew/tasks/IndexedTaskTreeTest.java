@@ -0,0 +1,127 @@
+package seedu.bartholomew.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import seedu.bartholomew.exceptions.BartholomewExceptions;
+
+public class IndexedTaskTreeTest {
+
+    private static List<Task> createTasks(int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(new ToDo("Task " + i));
+        }
+        return tasks;
+    }
+
+    @Test
+    public void randomOperations_matchArrayList() {
+        Random random = new Random(42);
+        List<Task> expected = new ArrayList<>();
+        IndexedTaskTree tree = new IndexedTaskTree();
+
+        for (int i = 0; i < 5000; i++) {
+            int operation = random.nextInt(4);
+            if (operation < 2 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                Task task = new ToDo("Task " + i);
+                expected.add(index, task);
+                tree.add(index, task);
+            } else if (operation == 2) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), tree.remove(index));
+            } else {
+                int index = random.nextInt(expected.size());
+                Task task = new ToDo("Replacement " + i);
+                assertEquals(expected.set(index, task), tree.set(index, task));
+            }
+            assertEquals(expected.size(), tree.size());
+        }
+
+        assertEquals(expected, tree);
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), tree.get(i));
+        }
+    }
+
+    @Test
+    public void constructor_copiesTasksInOrder() {
+        List<Task> tasks = createTasks(1000);
+        IndexedTaskTree tree = new IndexedTaskTree(tasks);
+
+        assertEquals(tasks, tree);
+        assertEquals(tasks.get(500), tree.get(500));
+    }
+
+    @Test
+    public void removeIf_removesMatchingTasksAndKeepsOrder() {
+        List<Task> tasks = createTasks(100);
+        IndexedTaskTree tree = new IndexedTaskTree(tasks);
+
+        assertTrue(tree.removeIf(task -> task.getDescription().endsWith("0")));
+        tasks.removeIf(task -> task.getDescription().endsWith("0"));
+
+        assertEquals(tasks, tree);
+        assertFalse(tree.removeIf(task -> false));
+    }
+
+    @Test
+    public void subListClear_removesSmallAndLargeRanges() {
+        List<Task> tasks = createTasks(100);
+        IndexedTaskTree tree = new IndexedTaskTree(tasks);
+
+        tree.subList(10, 15).clear();
+        tasks.subList(10, 15).clear();
+        assertEquals(tasks, tree);
+
+        tree.subList(0, tree.size()).clear();
+        assertTrue(tree.isEmpty());
+    }
+
+    @Test
+    public void get_outOfRange_throwsException() {
+        IndexedTaskTree tree = new IndexedTaskTree(createTasks(3));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.get(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.get(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.add(5, new ToDo("Too far")));
+    }
+
+    @Test
+    public void iterator_afterModification_throwsException() {
+        IndexedTaskTree tree = new IndexedTaskTree(createTasks(3));
+        Iterator<Task> iterator = tree.iterator();
+        iterator.next();
+
+        tree.remove(0);
+
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+
+    @Test
+    public void taskList_backedByTree_deletesByPositionAndId() throws Exception {
+        TaskList taskList = TaskList.backedBy(new IndexedTaskTree());
+        for (int i = 1; i <= 10; i++) {
+            taskList.addTask(new ToDo("Task " + i));
+        }
+
+        List<Task> deleted = taskList.deleteMultipleTasks(List.of(2, 9, 5));
+
+        assertEquals("Task 2", deleted.get(0).getDescription());
+        assertEquals(7, taskList.size());
+        assertEquals("Task 6", taskList.getTask(4).getDescription());
+        assertEquals(7, taskList.getTaskNumber(10));
+        assertThrows(BartholomewExceptions.UnknownTaskIdException.class, () -> taskList.getTaskNumber(5));
+    }
+}
@@ -0,0 +1,59 @@
+package seedu.bartholomew.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+public class ParallelTaskScanTest {
+
+    private static List<Task> scan(List<Task> tasks, String searchTerm) {
+        List<Task> found = new ArrayList<>();
+        for (Task task : tasks) {
+            if (task.getDescription().toLowerCase().contains(searchTerm.toLowerCase())) {
+                found.add(task);
+            }
+        }
+        return found;
+    }
+
+    @Test
+    public void findTasks_multipleChunks_matchesSequentialScanInOrder() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            String description;
+            switch (i % 4) {
+            case 0:
+                description = "Read BOOK " + i;
+                break;
+            case 1:
+                description = "Boo\u212a club " + i;
+                break;
+            case 2:
+                description = "\u0130stanbul trip " + i;
+                break;
+            default:
+                description = "caf\u00e9 " + i;
+                break;
+            }
+            tasks.add(new ToDo(description));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ParallelTaskScan parallelScan = new ParallelTaskScan(pool);
+        for (String searchTerm : new String[] {"book", "99", "ISTANBUL", "\u00c9 1", "", "no match"}) {
+            assertEquals(scan(tasks, searchTerm), parallelScan.findTasks(tasks, searchTerm));
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    public void findTasks_shortList_matchesSequentialScan() {
+        List<Task> tasks = List.of(new ToDo("Read a book"), new ToDo("Team meeting"), new ToDo("Book flights"));
+
+        assertEquals(scan(tasks, "BOOK"), new ParallelTaskScan().findTasks(tasks, "BOOK"));
+    }
+}
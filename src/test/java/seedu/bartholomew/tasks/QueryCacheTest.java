@@ -0,0 +1,69 @@
+package seedu.bartholomew.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+public class QueryCacheTest {
+
+    @Test
+    public void get_sameVersion_returnsCachedValue() {
+        QueryCache<String> cache = new QueryCache<>(4, 100, String::length);
+        cache.put("find book", 3, "1 match");
+
+        assertEquals("1 match", cache.get("find book", 3));
+        assertNull(cache.get("find meeting", 3));
+    }
+
+    @Test
+    public void get_otherVersion_dropsEveryValue() {
+        QueryCache<String> cache = new QueryCache<>(4, 100, String::length);
+        cache.put("find book", 3, "1 match");
+        cache.put("list", 3, "all tasks");
+
+        assertNull(cache.get("find book", 4));
+        assertEquals(0, cache.size());
+        assertNull(cache.get("list", 3));
+    }
+
+    @Test
+    public void put_overCapacity_evictsLeastRecentlyUsed() {
+        QueryCache<String> cache = new QueryCache<>(2, 100, String::length);
+        cache.put("list", 0, "all tasks");
+        cache.put("find book", 0, "1 match");
+        cache.get("list", 0);
+        cache.put("find meeting", 0, "2 matches");
+
+        assertEquals(2, cache.size());
+        assertEquals("all tasks", cache.get("list", 0));
+        assertNull(cache.get("find book", 0));
+        assertEquals("2 matches", cache.get("find meeting", 0));
+    }
+
+    @Test
+    public void put_overTotalSize_evictsUntilValuesFit() {
+        QueryCache<String> cache = new QueryCache<>(8, 20, String::length);
+        cache.put("find a", 0, "0123456789");
+        cache.put("find b", 0, "0123456789");
+        cache.put("find c", 0, "01234");
+
+        assertNull(cache.get("find a", 0));
+        assertEquals(2, cache.size());
+
+        cache.put("list", 0, "this answer is too long to keep");
+        assertNull(cache.get("list", 0));
+        assertEquals("01234", cache.get("find c", 0));
+    }
+
+    @Test
+    public void clear_dropsEveryValue() {
+        QueryCache<String> cache = new QueryCache<>(4, 100, String::length);
+        cache.put("find book", 0, "1 match");
+        cache.clear();
+
+        assertNull(cache.get("find book", 0));
+        cache.put("find book", 0, "1 match");
+        assertEquals(1, cache.size());
+    }
+}
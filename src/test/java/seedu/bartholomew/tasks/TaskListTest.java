@@ -2,6 +2,7 @@ package seedu.bartholomew.tasks;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -176,4 +177,267 @@ public class TaskListTest {
     public void isEmpty_populatedList_returnsFalse() {
         assertFalse(populatedTaskList.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void addTask_legacyTasksWithoutIds_numbersExistingTasksFirst() {
+        populatedTaskList.addTask(new ToDo("New task"));
+
+        assertEquals(1, todoTask.getId());
+        assertEquals(2, deadlineTask.getId());
+        assertEquals(3, eventTask.getId());
+        assertEquals(4, populatedTaskList.getTasks().get(3).getId());
+    }
+
+    @Test
+    public void getTaskNumber_afterDeletingEarlierTasks_findsShiftedPosition()
+            throws BartholomewExceptions {
+        for (int i = 0; i < 10; i++) {
+            emptyTaskList.addTask(new ToDo("Task " + i));
+        }
+        assertEquals(8, emptyTaskList.getTaskNumber(8));
+
+        emptyTaskList.deleteTask(2);
+        emptyTaskList.deleteMultipleTasks(List.of(1, 4));
+        assertEquals(5, emptyTaskList.getTaskNumber(8));
+        assertEquals("Task 7", emptyTaskList.getTaskById(8).getDescription());
+
+        emptyTaskList.addTask(new ToDo("Task 10"));
+        assertEquals(8, emptyTaskList.getTaskNumber(11));
+    }
+
+    @Test
+    public void getTaskNumber_deletedOrUnknownId_throwsUnknownTaskIdException()
+            throws BartholomewExceptions {
+        emptyTaskList.addTask(new ToDo("First"));
+        emptyTaskList.addTask(new ToDo("Second"));
+        emptyTaskList.deleteTask(1);
+
+        assertThrows(BartholomewExceptions.UnknownTaskIdException.class, () -> emptyTaskList.getTaskNumber(1));
+        assertThrows(BartholomewExceptions.UnknownTaskIdException.class, () -> emptyTaskList.getTaskNumber(3));
+        assertEquals(1, emptyTaskList.getTaskNumber(2));
+    }
+
+    @Test
+    public void addTask_idNotAboveExistingIds_reassignsId() {
+        Task loaded = new ToDo("Loaded");
+        loaded.setId(40);
+        TaskList taskList = new TaskList(List.of(loaded));
+
+        Task duplicate = new ToDo("Duplicate");
+        duplicate.setId(40);
+        taskList.addTask(duplicate);
+        Task appended = new ToDo("Appended");
+        appended.setId(100);
+        taskList.addTask(appended);
+
+        assertEquals(41, duplicate.getId());
+        assertEquals(100, appended.getId());
+    }
+
+    @Test
+    public void deleteTaskRange_validRange_removesRangeAndKeepsIdsFindable()
+            throws BartholomewExceptions {
+        for (int i = 1; i <= 10; i++) {
+            emptyTaskList.addTask(new ToDo("Task " + i));
+        }
+
+        assertEquals(4, emptyTaskList.deleteTaskRange(3, 6));
+
+        assertEquals(6, emptyTaskList.size());
+        assertEquals("Task 7", emptyTaskList.getTask(3).getDescription());
+        assertEquals(3, emptyTaskList.getTaskNumber(7));
+        assertThrows(BartholomewExceptions.UnknownTaskIdException.class, () -> emptyTaskList.getTaskNumber(4));
+        assertThrows(BartholomewExceptions.InvalidTaskNumberException.class,
+                () -> emptyTaskList.deleteTaskRange(5, 7));
+    }
+
+    @Test
+    public void deleteMatchingTasks_doneAndBefore_removesMatchingTasksOnly() throws BartholomewExceptions {
+        populatedTaskList.markTaskAsDone(1);
+
+        assertEquals(1, populatedTaskList.deleteMatchingTasks(TaskFilter.done()));
+        assertEquals(2, populatedTaskList.size());
+
+        TaskFilter beforeMeetingEnds = TaskFilter.before(EpochMinutes.parse("20/09/2023 1500"));
+        assertEquals(1, populatedTaskList.deleteMatchingTasks(beforeMeetingEnds));
+        assertEquals(eventTask, populatedTaskList.getTask(1));
+
+        assertEquals(1, populatedTaskList.deleteMatchingTasks(TaskFilter.before(Long.MAX_VALUE)));
+        assertTrue(populatedTaskList.isEmpty());
+    }
+
+    @Test
+    public void markTaskRange_validRange_marksRangeAndCountsChanges() throws BartholomewExceptions {
+        for (int i = 1; i <= 10; i++) {
+            emptyTaskList.addTask(new ToDo("Task " + i));
+        }
+        emptyTaskList.markTaskAsDone(4);
+
+        assertEquals(4, emptyTaskList.markTaskRange(3, 7, true));
+        assertFalse(emptyTaskList.getTask(2).isDone());
+        assertTrue(emptyTaskList.getTask(7).isDone());
+        assertFalse(emptyTaskList.getTask(8).isDone());
+
+        assertEquals(5, emptyTaskList.markTaskRange(1, 10, false));
+        assertEquals(0, emptyTaskList.markTaskRange(1, 10, false));
+    }
+
+    @Test
+    public void markTasks_invalidIndex_changesNothing() {
+        assertThrows(BartholomewExceptions.InvalidTaskNumberException.class,
+                () -> populatedTaskList.markTasks(List.of(1, 4), true));
+        assertFalse(todoTask.isDone());
+    }
+
+    @Test
+    public void markMatchingTasks_searchTermAndAll_marksMatchingTasks() throws BartholomewExceptions {
+        assertEquals(2, populatedTaskList.markTasks(List.of(1, 3), true));
+        assertEquals(1, populatedTaskList.markMatchingTasks(TaskFilter.containing("REPORT"), true));
+        assertTrue(deadlineTask.isDone());
+
+        assertEquals(3, populatedTaskList.markMatchingTasks(TaskFilter.all(), false));
+        assertFalse(eventTask.isDone());
+    }
+
+    @Test
+    public void findTasksByWords_afterAddsAndDeletes_staysUpToDate() throws BartholomewExceptions {
+        populatedTaskList.addTask(new ToDo("Write weekly report"));
+        assertEquals(List.of(deadlineTask), populatedTaskList.findTasksByWords("submit rep*"));
+
+        populatedTaskList.deleteTask(2);
+        Task review = new ToDo("Review report");
+        populatedTaskList.addTask(review);
+
+        assertEquals("Write weekly report", populatedTaskList.findTasksByWords("report").get(0).getDescription());
+        assertEquals(review, populatedTaskList.findTasksByWords("report").get(1));
+        assertTrue(populatedTaskList.findTasksByWords("submit").isEmpty());
+
+        populatedTaskList.deleteMatchingTasks(TaskFilter.containing("weekly"));
+        assertEquals(List.of(review), populatedTaskList.findTasksByWords("report"));
+    }
+
+    @Test
+    public void findTasks_afterAddsAndDeletes_matchesCheckingEveryTask() throws BartholomewExceptions {
+        populatedTaskList.addTask(new ToDo("Book flights"));
+        populatedTaskList.addTask(new ToDo("Cook dinner"));
+        assertEquals(List.of("Read a book", "Book flights", "Cook dinner"),
+                descriptions(populatedTaskList.findTasks("OOK")));
+        assertEquals(List.of(deadlineTask), populatedTaskList.findTasks("t rep"));
+
+        populatedTaskList.deleteTask(1);
+        populatedTaskList.addTask(new ToDo("Look up books"));
+        assertEquals(List.of("Book flights", "Look up books"), descriptions(populatedTaskList.findTasks("book")));
+
+        populatedTaskList.deleteMultipleTasks(List.of(1, 3));
+        assertEquals(List.of("Cook dinner", "Look up books"), descriptions(populatedTaskList.findTasks("ook")));
+        assertTrue(populatedTaskList.findTasks("flight").isEmpty());
+
+        populatedTaskList.deleteMatchingTasks(TaskFilter.containing("dinner"));
+        assertEquals(List.of("Look up books"), descriptions(populatedTaskList.findTasks("ook")));
+    }
+
+    @Test
+    public void findTasks_shortTermAndTrigramsApart_onlyReturnsSubstringMatches() {
+        populatedTaskList.addTask(new ToDo("abcd bcde"));
+
+        assertTrue(populatedTaskList.findTasks("abcde").isEmpty());
+        assertEquals(List.of("Read a book", "Team meeting", "abcd bcde"),
+                descriptions(populatedTaskList.findTasks("A")));
+        assertEquals(List.of("Team meeting"), descriptions(populatedTaskList.findTasks("ee")));
+    }
+
+    private static List<String> descriptions(List<Task> tasks) {
+        List<String> descriptions = new ArrayList<>();
+        for (Task task : tasks) {
+            descriptions.add(task.getDescription());
+        }
+        return descriptions;
+    }
+
+    @Test
+    public void findTasksFuzzy_typos_returnsTasksInListOrder() throws BartholomewExceptions {
+        populatedTaskList.addTask(new ToDo("Plan team meetings"));
+
+        assertEquals(List.of(eventTask), populatedTaskList.findTasksFuzzy("meetng", 1));
+        assertEquals(List.of("Team meeting", "Plan team meetings"),
+                descriptions(populatedTaskList.findTasksFuzzy("Teem meetng", 2)));
+
+        populatedTaskList.deleteTask(3);
+        assertEquals(List.of("Plan team meetings"), descriptions(populatedTaskList.findTasksFuzzy("meetngs", 1)));
+        assertTrue(populatedTaskList.findTasksFuzzy("meetng", 0).isEmpty());
+    }
+
+    @Test
+    public void getVersion_everyChange_bumpsVersion() throws BartholomewExceptions {
+        long version = populatedTaskList.getVersion();
+
+        populatedTaskList.addTask(new ToDo("Buy milk"));
+        assertTrue(populatedTaskList.getVersion() > version);
+        version = populatedTaskList.getVersion();
+
+        populatedTaskList.markTaskAsDone(1);
+        assertTrue(populatedTaskList.getVersion() > version);
+        version = populatedTaskList.getVersion();
+
+        populatedTaskList.markTaskAsNotDone(1);
+        assertTrue(populatedTaskList.getVersion() > version);
+        version = populatedTaskList.getVersion();
+
+        populatedTaskList.deleteTask(4);
+        assertTrue(populatedTaskList.getVersion() > version);
+        version = populatedTaskList.getVersion();
+
+        populatedTaskList.markTaskRange(1, 3, true);
+        assertTrue(populatedTaskList.getVersion() > version);
+        version = populatedTaskList.getVersion();
+
+        populatedTaskList.deleteTaskRange(2, 3);
+        assertTrue(populatedTaskList.getVersion() > version);
+        version = populatedTaskList.getVersion();
+
+        populatedTaskList.findTasks("book");
+        populatedTaskList.getTasks();
+        assertEquals(version, populatedTaskList.getVersion());
+    }
+
+    @Test
+    public void findTasks_repeatedWithoutChanges_returnsCachedResult() {
+        List<Task> found = populatedTaskList.findTasks("BOOK");
+
+        assertSame(found, populatedTaskList.findTasks("book"));
+        assertSame(populatedTaskList.findTasksByWords("team"), populatedTaskList.findTasksByWords(" team "));
+        assertThrows(UnsupportedOperationException.class, () -> found.add(eventTask));
+    }
+
+    @Test
+    public void findTasks_afterChanges_doesNotReturnStaleResults() throws BartholomewExceptions {
+        assertEquals(List.of(todoTask), populatedTaskList.findTasks("book"));
+        assertEquals(List.of(eventTask), populatedTaskList.findTasksByWords("team"));
+        assertEquals(List.of(eventTask), populatedTaskList.findTasksFuzzy("meetng", 1));
+
+        Task bookTask = new ToDo("Book team meeting room");
+        populatedTaskList.addTask(bookTask);
+        assertEquals(List.of(todoTask, bookTask), populatedTaskList.findTasks("book"));
+        assertEquals(List.of(eventTask, bookTask), populatedTaskList.findTasksByWords("team"));
+        assertEquals(List.of(eventTask, bookTask), populatedTaskList.findTasksFuzzy("meetng", 1));
+
+        populatedTaskList.deleteTask(1);
+        assertEquals(List.of(bookTask), populatedTaskList.findTasks("book"));
+
+        populatedTaskList.markTaskAsDone(3);
+        assertTrue(populatedTaskList.findTasks("book").get(0).isDone());
+    }
+
+    @Test
+    public void findTasks_manyMatches_doesNotKeepResult() {
+        TaskList taskList = new TaskList();
+        for (int i = 0; i < 20_000; i++) {
+            taskList.addTask(new ToDo("Task " + i));
+        }
+
+        List<Task> found = taskList.findTasks("task");
+        assertEquals(20_000, found.size());
+        assertFalse(found == taskList.findTasks("task"));
+        assertSame(taskList.findTasks("task 1999"), taskList.findTasks("task 1999"));
+    }
+}
@@ -0,0 +1,30 @@
+package seedu.bartholomew.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+public class TaskTest {
+
+    @Test
+    public void toString_calledTwice_reusesRenderedLine() {
+        Task deadline = new Deadline("Submit report", "15/09/2023 1800");
+        String first = deadline.toString();
+        assertEquals("[D][ ] Submit report (by: 15 September 2023, 6:00PM)", first);
+        assertSame(first, deadline.toString());
+    }
+
+    @Test
+    public void toString_afterMarkAndUnmark_reflectsStatus() {
+        Task event = new Event("Team meeting", "20/09/2023 1400", "20/09/2023 1600");
+        event.toString();
+
+        event.markTask();
+        assertEquals("[E][X] Team meeting (from: 20 September 2023, 2:00PM to: 20 September 2023, 4:00PM)",
+                event.toString());
+        event.unmarkTask();
+        assertEquals("[E][ ] Team meeting (from: 20 September 2023, 2:00PM to: 20 September 2023, 4:00PM)",
+                event.toString());
+    }
+}
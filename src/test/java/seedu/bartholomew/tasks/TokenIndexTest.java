@@ -0,0 +1,129 @@
+package seedu.bartholomew.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+import seedu.bartholomew.benchmark.BenchmarkSupport;
+
+public class TokenIndexTest {
+
+    private static Task task(long id, String description) {
+        Task task = new ToDo(description);
+        task.setId(id);
+        return task;
+    }
+
+    private static TokenIndex sampleIndex() {
+        TokenIndex index = new TokenIndex();
+        index.add(task(1, "Team meeting"));
+        index.add(task(2, "Submit report to the team"));
+        index.add(task(3, "Meet the new team-mates!"));
+        index.add(task(4, "Read report"));
+        return index;
+    }
+
+    @Test
+    public void tokenize_punctuationAndCase_returnsDistinctLowerCaseWords() {
+        assertEquals(List.of("meet", "the", "new", "team", "mates"),
+                TokenIndex.tokenize("Meet the NEW team-mates, the team!"));
+    }
+
+    @Test
+    public void find_words_returnsTasksWithEveryWord() {
+        TokenIndex index = sampleIndex();
+
+        assertArrayEquals(new long[] {1, 2, 3}, index.find("team"));
+        assertArrayEquals(new long[] {2}, index.find("REPORT team"));
+        assertArrayEquals(new long[0], index.find("meet report"));
+        assertArrayEquals(new long[0], index.find("eeting"));
+    }
+
+    @Test
+    public void find_prefix_returnsTasksWithAWordStartingWithIt() {
+        TokenIndex index = sampleIndex();
+
+        assertArrayEquals(new long[] {1, 3}, index.find("meet*"));
+        assertArrayEquals(new long[] {1, 2, 3}, index.find("te*"));
+        assertArrayEquals(new long[] {3}, index.find("team ma*"));
+        assertArrayEquals(new long[0], index.find("x*"));
+    }
+
+    @Test
+    public void remove_task_isNoLongerFound() {
+        TokenIndex index = sampleIndex();
+
+        index.remove(task(2, "Submit report to the team"));
+
+        assertArrayEquals(new long[] {1, 3}, index.find("team"));
+        assertArrayEquals(new long[] {4}, index.find("report"));
+        assertArrayEquals(new long[0], index.find("submit"));
+    }
+
+    @Test
+    public void add_idsOutOfOrder_keepsResultsSorted() {
+        TokenIndex index = new TokenIndex();
+        index.add(task(5, "Water plants"));
+        index.add(task(2, "Water lawn"));
+
+        assertArrayEquals(new long[] {2, 5}, index.find("water"));
+    }
+
+    @Test
+    public void findFuzzy_typos_returnsTasksWithCloseWords() {
+        TokenIndex index = sampleIndex();
+
+        assertArrayEquals(new long[] {1}, index.findFuzzy("meetng", 1));
+        assertArrayEquals(new long[] {1, 3}, index.findFuzzy("meetng", 3));
+        assertArrayEquals(new long[] {2}, index.findFuzzy("taem reprot", 2));
+        assertArrayEquals(new long[0], index.findFuzzy("taem reprot", 1));
+        assertArrayEquals(new long[] {1, 2, 3}, index.findFuzzy("team", 0));
+    }
+
+    @Test
+    public void findFuzzy_afterAddsAndRemoves_staysUpToDate() {
+        TokenIndex index = sampleIndex();
+        assertArrayEquals(new long[] {2, 4}, index.findFuzzy("reportt", 1));
+
+        index.add(task(5, "Reports due"));
+        index.remove(task(2, "Submit report to the team"));
+        index.remove(task(4, "Read report"));
+
+        assertArrayEquals(new long[] {5}, index.findFuzzy("reportt", 1));
+        assertArrayEquals(new long[0], index.findFuzzy("submt", 1));
+    }
+
+    @Test
+    public void findSimilarWords_randomWords_matchesComparingWithEveryWord() {
+        Random random = new Random(7);
+        TokenIndex index = new TokenIndex();
+        TreeSet<String> words = new TreeSet<>();
+        for (int id = 1; id <= 2000; id++) {
+            StringBuilder word = new StringBuilder();
+            int length = 1 + random.nextInt(8);
+            for (int i = 0; i < length; i++) {
+                word.append((char) ('a' + random.nextInt(4)));
+            }
+            words.add(word.toString());
+            index.add(task(id, word.toString()));
+        }
+
+        for (String query : new String[] {"abc", "dddd", "abcdabcd", "a", "ba"}) {
+            for (int maxEdits = 0; maxEdits <= 3; maxEdits++) {
+                List<String> expected = new ArrayList<>();
+                for (String word : words) {
+                    if (BenchmarkSupport.editDistance(query, word) <= maxEdits) {
+                        expected.add(word);
+                    }
+                }
+                assertEquals(expected, index.findSimilarWords(query, maxEdits));
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package seedu.bartholomew.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class TrigramIndexTest {
+
+    private static TrigramIndex sampleIndex() {
+        TrigramIndex index = new TrigramIndex();
+        index.add(1, "read a book");
+        index.add(2, "book flights");
+        index.add(3, "cook dinner");
+        index.add(4, "look up bookings");
+        return index;
+    }
+
+    @Test
+    public void findCandidates_substring_returnsTasksWithEveryTrigram() {
+        TrigramIndex index = sampleIndex();
+
+        assertArrayEquals(new long[] {1, 2, 3, 4}, index.findCandidates("ook", Integer.MAX_VALUE));
+        assertArrayEquals(new long[] {1, 2, 4}, index.findCandidates("book", Integer.MAX_VALUE));
+        assertArrayEquals(new long[] {4}, index.findCandidates("bookings", Integer.MAX_VALUE));
+        assertArrayEquals(new long[0], index.findCandidates("books", Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void findCandidates_trigramsInDifferentPlaces_returnsCandidateWithoutMatch() {
+        TrigramIndex index = new TrigramIndex();
+        index.add(1, "abcd bcde");
+
+        // Holds "abc", "bcd" and "cde" but not "abcde", so the candidate still needs checking
+        assertArrayEquals(new long[] {1}, index.findCandidates("abcde", Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void findCandidates_rarestTrigramOverLimit_returnsNull() {
+        TrigramIndex index = sampleIndex();
+
+        assertNull(index.findCandidates("ook", 3));
+        assertArrayEquals(new long[] {1, 2, 4}, index.findCandidates("book", 3));
+    }
+
+    @Test
+    public void remove_task_isNoLongerFound() {
+        TrigramIndex index = sampleIndex();
+
+        index.remove(2, "book flights");
+
+        assertArrayEquals(new long[] {1, 4}, index.findCandidates("book", Integer.MAX_VALUE));
+        assertArrayEquals(new long[0], index.findCandidates("flight", Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void add_idsOutOfOrderAndManyTrigrams_keepsResultsSorted() {
+        TrigramIndex index = new TrigramIndex();
+        for (int id = 3000; id > 0; id--) {
+            index.add(id, "task number " + id);
+        }
+
+        assertArrayEquals(new long[] {300, 3000}, index.findCandidates("r 300", Integer.MAX_VALUE));
+        assertArrayEquals(new long[] {1201}, index.findCandidates("r 1201", Integer.MAX_VALUE));
+        assertEquals(3000, index.findCandidates("task", Integer.MAX_VALUE).length);
+        assertTrue(index.getGramCount() > 1000);
+    }
+
+    @Test
+    public void canIndex_idOutOfRange_returnsFalse() {
+        assertTrue(TrigramIndex.canIndex(1));
+        assertTrue(TrigramIndex.canIndex(Integer.MAX_VALUE));
+        assertFalse(TrigramIndex.canIndex(0));
+        assertFalse(TrigramIndex.canIndex(Integer.MAX_VALUE + 1L));
+    }
+}